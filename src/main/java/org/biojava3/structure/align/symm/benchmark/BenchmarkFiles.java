@@ -0,0 +1,149 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+/**
+ * Reads and writes benchmark files directly from and to streams. Output is written to a temporary file beside the
+ * target and renamed over it only once complete, so an interrupted write never leaves a truncated file behind. Input
+ * and output may optionally be gzipped.
+ *
+ * @author dmyerstu
+ */
+public class BenchmarkFiles {
+
+	/**
+	 * An OutputStream to a temporary file that replaces its target when closed. Call {@link #abort()} instead of
+	 * {@link #close()} to discard the output.
+	 */
+	public static class AtomicFileOutputStream extends FilterOutputStream {
+
+		private boolean closed = false;
+		private final File target;
+		private final File temp;
+
+		public AtomicFileOutputStream(File target) throws IOException {
+			this(target, File.createTempFile(target.getName() + ".", ".tmp", target.getAbsoluteFile().getParentFile()));
+		}
+
+		private AtomicFileOutputStream(File target, File temp) throws IOException {
+			super(new BufferedOutputStream(new FileOutputStream(temp)));
+			this.target = target;
+			this.temp = temp;
+		}
+
+		/**
+		 * Closes the stream and deletes the temporary file, leaving the target untouched.
+		 */
+		public void abort() {
+			if (closed) return;
+			closed = true;
+			try {
+				out.close();
+			} catch (IOException e) {
+				// we're discarding it anyway
+			}
+			temp.delete();
+		}
+
+		@Override
+		public void close() throws IOException {
+			if (closed) return;
+			closed = true;
+			try {
+				out.close();
+			} catch (IOException e) {
+				temp.delete();
+				throw e;
+			}
+			if (!temp.renameTo(target)) {
+				// some platforms won't rename over an existing file
+				target.delete();
+				if (!temp.renameTo(target)) {
+					temp.delete();
+					throw new IOException("Could not move " + temp + " to " + target);
+				}
+			}
+		}
+
+		@Override
+		public void write(byte[] b, int off, int len) throws IOException {
+			out.write(b, off, len); // FilterOutputStream writes byte-by-byte otherwise
+		}
+
+	}
+
+	private static final int GZIP_MAGIC = 0x8b1f;
+
+	public static final String GZIP_EXTENSION = ".gz";
+
+	/**
+	 * @return Whether {@code file} should be written gzipped, according to its extension
+	 */
+	public static boolean isGzipName(File file) {
+		return file.getName().endsWith(GZIP_EXTENSION);
+	}
+
+	/**
+	 * Marshals {@code object} directly to {@code file}, via a temporary file.
+	 *
+	 * @param gzip
+	 *            Whether to gzip the output
+	 */
+	public static void marshal(Marshaller marshaller, Object object, File file, boolean gzip) throws IOException {
+		AtomicFileOutputStream afos = new AtomicFileOutputStream(file);
+		boolean done = false;
+		try {
+			OutputStream os = gzip ? new GZIPOutputStream(afos) : afos;
+			marshaller.marshal(object, os);
+			os.close();
+			done = true;
+		} catch (JAXBException e) {
+			throw new IOException("Could not write " + file.getPath(), e);
+		} finally {
+			if (!done) afos.abort();
+		}
+	}
+
+	/**
+	 * Opens a file for reading, transparently decompressing it if it's gzipped (regardless of its name).
+	 */
+	public static InputStream openInput(File file) throws IOException {
+		BufferedInputStream bis = new BufferedInputStream(new FileInputStream(file));
+		bis.mark(2);
+		int magic = bis.read() | bis.read() << 8;
+		bis.reset();
+		if (magic == GZIP_MAGIC) return new GZIPInputStream(bis);
+		return bis;
+	}
+
+}
@@ -0,0 +1,170 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava3.structure.align.symm.benchmark.BenchmarkFiles.AtomicFileOutputStream;
+
+/**
+ * Writes a {@link Sample} in a compact binary columnar format, which {@link MappedSample} reads without parsing XML or
+ * building {@link Case} objects. All values are big-endian. The layout is:
+ * <ol>
+ * <li>The int {@link #MAGIC}, the int {@link #VERSION}, the number of cases <em>n</em>, and the number of score
+ * columns <em>k</em></li>
+ * <li><em>k</em> column names (see {@link ScoreColumn})</li>
+ * <li>The number of distinct known groups, followed by each group</li>
+ * <li><em>n</em>+1 int offsets into the SCOP Id bytes, followed by the UTF-8 bytes of every SCOP Id</li>
+ * <li><em>n</em> short indices into the known groups (-1 if unknown)</li>
+ * <li><em>n</em> int predicted orders (0 if unknown)</li>
+ * <li><em>k</em> columns of <em>n</em> floats each (NaN if missing)</li>
+ * </ol>
+ * Each string is written as a short length followed by its UTF-8 bytes.
+ *
+ * @author dmyerstu
+ */
+public class BinarySample {
+
+	private static final Logger logger = LogManager.getLogger(BinarySample.class.getName());
+
+	static final Charset UTF8 = Charset.forName("UTF-8");
+
+	public static final int MAGIC = 0x53594d42; // "SYMB"
+
+	public static final int VERSION = 1;
+
+	public static void main(String[] args) throws IOException {
+		if (args.length != 2) {
+			System.err.println("Usage: " + BinarySample.class.getSimpleName() + " input-sample-file output-binary-file");
+			return;
+		}
+		int n = write(Sample.iterateXML(new File(args[0])), new File(args[1]));
+		logger.info("Wrote " + n + " cases to " + args[1]);
+	}
+
+	/**
+	 * Writes the cases to {@code output}, replacing it only once the write succeeds.
+	 *
+	 * @param cases
+	 *            Any Cases, such as from {@link Sample#iterateXML(File)}; iterated over exactly once
+	 * @return The number of cases written
+	 */
+	public static int write(Iterable<Case> cases, File output) throws IOException {
+
+		final ScoreColumn[] columns = ScoreColumn.values();
+
+		/*
+		 * We need the number of cases before we can write any column, so buffer the values as primitives.
+		 */
+		List<String> groups = new ArrayList<String>();
+		Map<String, Short> groupIndices = new HashMap<String, Short>();
+		List<byte[]> scopIds = new ArrayList<byte[]>();
+		short[] groupIndex = new short[1024];
+		int[] orders = new int[1024];
+		float[][] values = new float[columns.length][1024];
+		int n = 0;
+		for (Case c : cases) {
+			if (n == orders.length) {
+				groupIndex = Arrays.copyOf(groupIndex, 2 * n);
+				orders = Arrays.copyOf(orders, 2 * n);
+				for (int j = 0; j < columns.length; j++) {
+					values[j] = Arrays.copyOf(values[j], 2 * n);
+				}
+			}
+			scopIds.add(c.getScopId().getBytes(UTF8));
+			short index = -1;
+			if (c.getKnownInfo() != null) {
+				String group = c.getKnownGroup();
+				Short existing = groupIndices.get(group);
+				if (existing == null) {
+					if (groups.size() == Short.MAX_VALUE) throw new IOException("Too many distinct known groups");
+					existing = (short) groups.size();
+					groups.add(group);
+					groupIndices.put(group, existing);
+				}
+				index = existing;
+			}
+			groupIndex[n] = index;
+			Integer order = c.getOrder();
+			orders[n] = order == null ? 0 : order;
+			for (int j = 0; j < columns.length; j++) {
+				values[j][n] = (float) columns[j].get(c.getResult());
+			}
+			n++;
+		}
+
+		AtomicFileOutputStream afos = new AtomicFileOutputStream(output);
+		boolean done = false;
+		try {
+			DataOutputStream dos = new DataOutputStream(afos);
+			dos.writeInt(MAGIC);
+			dos.writeInt(VERSION);
+			dos.writeInt(n);
+			dos.writeInt(columns.length);
+			for (ScoreColumn column : columns) {
+				writeString(dos, column.name());
+			}
+			dos.writeInt(groups.size());
+			for (String group : groups) {
+				writeString(dos, group);
+			}
+			int offset = 0;
+			dos.writeInt(offset);
+			for (byte[] scopId : scopIds) {
+				offset += scopId.length;
+				dos.writeInt(offset);
+			}
+			for (byte[] scopId : scopIds) {
+				dos.write(scopId);
+			}
+			for (int i = 0; i < n; i++) {
+				dos.writeShort(groupIndex[i]);
+			}
+			for (int i = 0; i < n; i++) {
+				dos.writeInt(orders[i]);
+			}
+			for (int j = 0; j < columns.length; j++) {
+				for (int i = 0; i < n; i++) {
+					dos.writeFloat(values[j][i]);
+				}
+			}
+			dos.close();
+			done = true;
+		} finally {
+			if (!done) afos.abort();
+		}
+		return n;
+	}
+
+	private static void writeString(DataOutputStream dos, String string) throws IOException {
+		byte[] bytes = string.getBytes(UTF8);
+		dos.writeShort(bytes.length);
+		dos.write(bytes);
+	}
+
+}
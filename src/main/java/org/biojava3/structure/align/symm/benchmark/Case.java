@@ -24,6 +24,8 @@ package org.biojava3.structure.align.symm.benchmark;
 
 import java.io.Serializable;
 
+import javax.xml.bind.Unmarshaller;
+
 import org.biojava3.structure.align.symm.census2.Result;
 import org.biojava3.structure.align.symm.census3.CensusAxis;
 import org.biojava3.structure.align.symm.census3.CensusResult;
@@ -51,8 +53,20 @@ public class Case implements Serializable {
 	public KnownInfo getKnownInfo() {
 		return knownInfo;
 	}
+	/**
+	 * Uses the shared instance for the group of {@code knownInfo} if it has one.
+	 */
 	public void setKnownInfo(KnownInfo knownInfo) {
-		this.knownInfo = knownInfo;
+		this.knownInfo = knownInfo == null || knownInfo.getGroup() == null ? knownInfo : KnownInfo.valueOf(knownInfo.getGroup());
+	}
+
+	/**
+	 * Called by JAXB. Swaps in the shared {@link KnownInfo} instance, which JAXB may not have filled in when it called
+	 * {@link #setKnownInfo(KnownInfo)}.
+	 */
+	@SuppressWarnings("unused")
+	private void afterUnmarshal(Unmarshaller unmarshaller, Object parent) {
+		setKnownInfo(knownInfo);
 	}
 	public CensusResult getResult() {
 		return result;
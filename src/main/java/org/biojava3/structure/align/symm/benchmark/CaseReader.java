@@ -0,0 +1,155 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.Closeable;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.stream.XMLInputFactory;
+import javax.xml.stream.XMLStreamException;
+import javax.xml.stream.XMLStreamReader;
+
+/**
+ * Reads the {@link Case Cases} of a benchmark XML file one at a time using StAX, so that the whole {@link Sample} never
+ * needs to be held in memory. Each {@code data} element is unmarshalled on its own.
+ * <p>
+ * Gzipped files are read transparently. The underlying file is closed once the last Case has been read, if
+ * there are none, or if reading one fails; call {@link #close()} to stop early.
+ *
+ * @author dmyerstu
+ * @see Sample#iterateXML(File)
+ */
+public class CaseReader implements Iterator<Case>, Closeable {
+
+	private static final String DATA_ELEMENT = "data";
+
+	private static final XMLInputFactory inputFactory = XMLInputFactory.newInstance();
+
+	private Case next;
+	private final XMLStreamReader reader;
+	private final String source;
+	private final InputStream stream;
+	private final Unmarshaller unmarshaller;
+
+	public CaseReader(File file) throws IOException {
+		this(BenchmarkFiles.openInput(file), file.getPath());
+	}
+
+	/**
+	 * @param stream
+	 *            A stream of benchmark XML; will be closed by this reader
+	 * @param source
+	 *            A description of the stream, used only in error messages
+	 */
+	public CaseReader(InputStream stream, String source) throws IOException {
+		this.stream = stream;
+		this.source = source;
+		try {
+			synchronized (inputFactory) {
+				reader = inputFactory.createXMLStreamReader(stream);
+			}
+			unmarshaller = JaxbPool.getContext(Sample.class).createUnmarshaller(); // not pooled: a reader may change threads
+			next = readNext();
+		} catch (XMLStreamException e) {
+			stream.close();
+			throw new IOException("Could not read " + source, e);
+		} catch (JAXBException e) {
+			stream.close();
+			throw new IOException("Could not read " + source, e);
+		}
+		if (next == null) close(); // no Cases at all
+	}
+
+	@Override
+	public void close() throws IOException {
+		next = null;
+		try {
+			reader.close();
+		} catch (XMLStreamException e) {
+			throw new IOException(e);
+		} finally {
+			stream.close();
+		}
+	}
+
+	@Override
+	public boolean hasNext() {
+		return next != null;
+	}
+
+	@Override
+	public Case next() {
+		if (next == null) throw new NoSuchElementException();
+		Case current = next;
+		try {
+			next = readNext();
+			if (next == null) close();
+		} catch (XMLStreamException e) {
+			closeQuietly();
+			throw new RuntimeException("Could not read " + source, e);
+		} catch (JAXBException e) {
+			closeQuietly();
+			throw new RuntimeException("Could not read " + source, e);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not close " + source, e);
+		}
+		return current;
+	}
+
+	@Override
+	public void remove() {
+		throw new UnsupportedOperationException();
+	}
+
+	/**
+	 * Closes after a failed read, since a caller in a for-each loop has no way to.
+	 */
+	private void closeQuietly() {
+		try {
+			close();
+		} catch (IOException e) {
+			// the read error is the one to report
+		}
+	}
+
+	/**
+	 * Advances to the next {@code data} element and unmarshals it.
+	 *
+	 * @return The next Case, or null if there are no more
+	 */
+	private Case readNext() throws XMLStreamException, JAXBException {
+		while (true) {
+			if (reader.isStartElement() && DATA_ELEMENT.equals(reader.getLocalName())) {
+				// this leaves the cursor on the event after the end element, so don't advance afterward
+				JAXBElement<Case> element = unmarshaller.unmarshal(reader, Case.class);
+				if (element.getValue() != null) return element.getValue();
+				continue;
+			}
+			if (!reader.hasNext()) return null;
+			reader.next();
+		}
+	}
+
+}
@@ -0,0 +1,67 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.InterruptedIOException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Future;
+
+/**
+ * Waits for {@link Future Futures} without swallowing interrupts. If the waiting thread is interrupted, its interrupt
+ * flag is restored and the wait is abandoned with an exception, so that whoever interrupted it can cancel the work.
+ *
+ * @author dmyerstu
+ */
+public class Futures {
+
+	/**
+	 * Waits for {@code future}, for callers that can throw IOException.
+	 *
+	 * @throws InterruptedIOException
+	 *             If interrupted while waiting; the interrupt flag is set again
+	 */
+	public static <T> T get(Future<T> future) throws ExecutionException, InterruptedIOException {
+		try {
+			return future.get();
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+			InterruptedIOException e2 = new InterruptedIOException("Interrupted while waiting for a task");
+			e2.initCause(e);
+			throw e2;
+		}
+	}
+
+	/**
+	 * Waits for {@code future}, for callers that can't throw IOException.
+	 *
+	 * @throws RuntimeException
+	 *             If interrupted while waiting, with the InterruptedException as its cause; the interrupt flag is set
+	 *             again
+	 */
+	public static <T> T getUnchecked(Future<T> future) throws ExecutionException {
+		try {
+			return get(future);
+		} catch (InterruptedIOException e) {
+			throw new RuntimeException("Interrupted while waiting for a task", e.getCause());
+		}
+	}
+
+	private Futures() {
+	}
+
+}
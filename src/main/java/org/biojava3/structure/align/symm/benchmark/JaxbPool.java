@@ -0,0 +1,141 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+
+/**
+ * Hands out {@link Marshaller Marshallers} and {@link Unmarshaller Unmarshallers} for the benchmark XML types
+ * ({@link Sample}, SymDResults, CensusResultList, etc.). Creating these is expensive, and they're not thread-safe, so
+ * each thread keeps its own. One {@link JAXBContext} is shared per type.
+ * <p>
+ * <em>Never pass an instance obtained here to another thread.</em>
+ *
+ * @author dmyerstu
+ */
+public class JaxbPool {
+
+	private static final ConcurrentMap<Class<?>, JAXBContext> contexts = new ConcurrentHashMap<Class<?>, JAXBContext>();
+
+	private static final ThreadLocal<Map<Class<?>, Marshaller>> compactMarshallers = new ThreadLocal<Map<Class<?>, Marshaller>>() {
+		@Override
+		protected Map<Class<?>, Marshaller> initialValue() {
+			return new HashMap<Class<?>, Marshaller>();
+		}
+	};
+
+	private static final ThreadLocal<Map<Class<?>, Marshaller>> formattedMarshallers = new ThreadLocal<Map<Class<?>, Marshaller>>() {
+		@Override
+		protected Map<Class<?>, Marshaller> initialValue() {
+			return new HashMap<Class<?>, Marshaller>();
+		}
+	};
+
+	private static final ThreadLocal<Map<Class<?>, Unmarshaller>> unmarshallers = new ThreadLocal<Map<Class<?>, Unmarshaller>>() {
+		@Override
+		protected Map<Class<?>, Unmarshaller> initialValue() {
+			return new HashMap<Class<?>, Unmarshaller>();
+		}
+	};
+
+	public static JAXBContext getContext(Class<?> clazz) throws JAXBException {
+		JAXBContext context = contexts.get(clazz);
+		if (context == null) {
+			context = JAXBContext.newInstance(clazz);
+			JAXBContext existing = contexts.putIfAbsent(clazz, context);
+			if (existing != null) context = existing;
+		}
+		return context;
+	}
+
+	/**
+	 * @param formatted
+	 *            Whether the output should be indented; compact output is considerably smaller
+	 * @return This thread's Marshaller for {@code clazz}
+	 */
+	public static Marshaller getMarshaller(Class<?> clazz, boolean formatted) throws JAXBException {
+		Map<Class<?>, Marshaller> map = formatted ? formattedMarshallers.get() : compactMarshallers.get();
+		Marshaller marshaller = map.get(clazz);
+		if (marshaller == null) {
+			marshaller = getContext(clazz).createMarshaller();
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, formatted);
+			map.put(clazz, marshaller);
+		}
+		return marshaller;
+	}
+
+	/**
+	 * @return This thread's Unmarshaller for {@code clazz}
+	 */
+	public static Unmarshaller getUnmarshaller(Class<?> clazz) throws JAXBException {
+		Map<Class<?>, Unmarshaller> map = unmarshallers.get();
+		Unmarshaller unmarshaller = map.get(clazz);
+		if (unmarshaller == null) {
+			unmarshaller = getContext(clazz).createUnmarshaller();
+			map.put(clazz, unmarshaller);
+		}
+		return unmarshaller;
+	}
+
+	/**
+	 * Marshals {@code object} directly to {@code file}, replacing it only once the write succeeds.
+	 *
+	 * @see BenchmarkFiles#marshal(Marshaller, Object, File, boolean)
+	 */
+	public static void marshal(Object object, File file, boolean gzip, boolean formatted) throws IOException {
+		try {
+			BenchmarkFiles.marshal(getMarshaller(object.getClass(), formatted), object, file, gzip);
+		} catch (JAXBException e) {
+			throw new IOException(e);
+		}
+	}
+
+	/**
+	 * Unmarshals a (possibly gzipped) file.
+	 */
+	public static <T> T unmarshal(File file, Class<T> clazz) throws IOException {
+		return unmarshal(file, clazz, clazz);
+	}
+
+	/**
+	 * Unmarshals a (possibly gzipped) file using the context for {@code contextClass}, which may produce an instance of
+	 * a superclass.
+	 */
+	public static <T> T unmarshal(File file, Class<?> contextClass, Class<T> resultClass) throws IOException {
+		InputStream is = BenchmarkFiles.openInput(file);
+		try {
+			return resultClass.cast(getUnmarshaller(contextClass).unmarshal(is));
+		} catch (JAXBException e) {
+			throw new IOException("Could not read " + file.getPath(), e);
+		} finally {
+			is.close();
+		}
+	}
+
+}
@@ -18,44 +18,98 @@
 package org.biojava3.structure.align.symm.benchmark;
 
 import java.io.Serializable;
-import java.util.regex.Matcher;
-import java.util.regex.Pattern;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A known (true) space group and corresponding order of symmetry. Can differentiate between different types of
  * symmetry.
+ * <p>
+ * Use {@link #valueOf(String)} to get the shared instance for a group. The order and type of symmetry are worked out
+ * once, when the group is set, and the group can't be changed after that.
  * 
  * @author dmyerstu
  */
 public class KnownInfo implements Serializable, Comparable<KnownInfo> {
+
+	public static final int ASYMMETRIC = 1;
+	public static final int CYCLIC = 2;
+	public static final int DIHEDRAL = 4;
+	public static final int HELICAL = 8;
+	public static final int NON_INTEGRAL = 128;
+	public static final int ROTATIONAL = CYCLIC | DIHEDRAL;
+	public static final int SUPERHELICAL = 32;
+	public static final int TRANSLATIONAL = 64;
+	public static final int TRUE_HELICAL = 16;
+
+	private static final ConcurrentMap<String, KnownInfo> instances = new ConcurrentHashMap<String, KnownInfo>();
+
 	private static final long serialVersionUID = -2667699023747790086L;
-	private String group;
 
+	/**
+	 * @return The digit at the end of {@code string}, or 1 if it doesn't end in one
+	 */
 	public static int getOrderFromGroup(String string) {
-		int order = 1;
-		Pattern pattern = Pattern.compile("([\\d])$");
-		Matcher matcher = pattern.matcher(string);
-		boolean found = matcher.find();
-		if (found && matcher.groupCount() == 1) {
-			order = Integer.parseInt(matcher.group(1));
+		if (string.length() == 0) return 1;
+		char last = string.charAt(string.length() - 1);
+		if (last >= '0' && last <= '9') return last - '0';
+		return 1;
+	}
+
+	/**
+	 * @return The shared instance for {@code group}
+	 */
+	public static KnownInfo valueOf(String group) {
+		if (group == null) throw new IllegalArgumentException("The group can't be null");
+		KnownInfo info = instances.get(group);
+		if (info == null) {
+			info = new KnownInfo(group);
+			KnownInfo existing = instances.putIfAbsent(group, info);
+			if (existing != null) info = existing;
 		}
-		return order;
+		return info;
 	}
 
+	private static byte getFlags(String group) {
+		final boolean asymmetric = group.equals("C1");
+		int flags = 0;
+		if (asymmetric) flags |= ASYMMETRIC;
+		if (!asymmetric && group.contains("C")) flags |= CYCLIC;
+		if (group.contains("D")) flags |= DIHEDRAL; // C1 doesn't contain a D
+		if (!asymmetric && group.contains("H")) flags |= HELICAL;
+		if (group.startsWith("H")) flags |= TRUE_HELICAL;
+		if (group.startsWith("SH")) flags |= SUPERHELICAL;
+		if (!asymmetric && group.contains("R")) flags |= TRANSLATIONAL;
+		if (group.equals("NIH")) flags |= NON_INTEGRAL;
+		return (byte) flags;
+	}
+
+	private transient byte flags;
+
+	private String group;
+
+	private transient int order;
+
+	/**
+	 * For JAXB. Prefer {@link #valueOf(String)}.
+	 */
 	public KnownInfo() {
 
 	}
 
+	/**
+	 * Prefer {@link #valueOf(String)}.
+	 */
 	public KnownInfo(String group) {
 		super();
-		this.group = group;
+		setGroup(group);
 	}
 
 	@Override
 	public int compareTo(KnownInfo o) {
 		if (equals(o)) return 0;
-		if (getOrder() < o.getOrder()) return -1;
-		if (getOrder() > o.getOrder()) return 1;
+		if (order < o.order) return -1;
+		if (order > o.order) return 1;
 		return group.compareTo(o.getGroup());
 	}
 
@@ -75,22 +129,30 @@ public class KnownInfo implements Serializable, Comparable<KnownInfo> {
 		return group;
 	}
 
+	/**
+	 * @return A bitmask of {@link #ASYMMETRIC}, {@link #CYCLIC}, {@link #DIHEDRAL}, {@link #HELICAL},
+	 *         {@link #TRUE_HELICAL}, {@link #SUPERHELICAL}, {@link #TRANSLATIONAL}, and {@link #NON_INTEGRAL}
+	 */
+	public byte getFlags() {
+		return flags;
+	}
+
 	public int getOrder() {
-		return getOrderFromGroup(group);
+		return order;
 	}
 
 	/**
 	 * @return Whether this info has <em>cyclic but not dihedral</em> symmetry.
 	 */
 	public boolean hasCyclicSymmetry() {
-		return !isAsymmetric() && group.contains("C");
+		return (flags & CYCLIC) != 0;
 	}
 
 	/**
 	 * @return Whether this info has dihedral symmetry.
 	 */
 	public boolean hasDihedralSymmetry() {
-		return !isAsymmetric() && group.contains("D");
+		return (flags & DIHEDRAL) != 0;
 	}
 
 	/**
@@ -98,7 +160,7 @@ public class KnownInfo implements Serializable, Comparable<KnownInfo> {
 	 *         number.
 	 */
 	public boolean hasEvenOrderSymmetry() {
-		return (hasRotationalSymmetry() || hasTrueHelicalSymmetry()) && getOrder() % 2 == 0;
+		return (flags & (ROTATIONAL | TRUE_HELICAL)) != 0 && order % 2 == 0;
 	}
 
 	@Override
@@ -114,7 +176,7 @@ public class KnownInfo implements Serializable, Comparable<KnownInfo> {
 	 *         <em>This includes superhelical and non-integral order helical symmetry.</em>
 	 */
 	public boolean hasHelicalSymmetry() {
-		return !isAsymmetric() && group.contains("H");
+		return (flags & HELICAL) != 0;
 	}
 
 	/**
@@ -123,7 +185,7 @@ public class KnownInfo implements Serializable, Comparable<KnownInfo> {
 	 *         <em>This includes superhelical and non-integral order helical symmetry.</em>
 	 */
 	public boolean hasNonIntegralOrderSymmetry() {
-		return group.equals("NIH");
+		return (flags & NON_INTEGRAL) != 0;
 	}
 
 	/**
@@ -131,14 +193,14 @@ public class KnownInfo implements Serializable, Comparable<KnownInfo> {
 	 *         number.
 	 */
 	public boolean hasOddOrderSymmetry() {
-		return (hasRotationalSymmetry() || hasTrueHelicalSymmetry()) && getOrder() % 2 == 1;
+		return (flags & (ROTATIONAL | TRUE_HELICAL)) != 0 && order % 2 == 1;
 	}
 
 	/**
 	 * @return Whether this info has true rotational symmetry.
 	 */
 	public boolean hasRotationalSymmetry() {
-		return !isAsymmetric() && group.contains("C") || group.contains("D");
+		return (flags & ROTATIONAL) != 0;
 	}
 
 	/**
@@ -146,14 +208,14 @@ public class KnownInfo implements Serializable, Comparable<KnownInfo> {
 	 *         a curve.
 	 */
 	public boolean hasSuperhelicalSymmetry() {
-		return group.startsWith("SH");
+		return (flags & SUPERHELICAL) != 0;
 	}
 
 	/**
 	 * @return Whether this info <em>has translational but not</em> rotational symmetry.
 	 */
 	public boolean hasTranslationalSymmetry() {
-		return !isAsymmetric() && group.contains("R");
+		return (flags & TRANSLATIONAL) != 0;
 	}
 
 	/**
@@ -161,21 +223,38 @@ public class KnownInfo implements Serializable, Comparable<KnownInfo> {
 	 *         superhelical or non-integral order helical symmetry.
 	 */
 	public boolean hasTrueHelicalSymmetry() {
-		if (group.startsWith("H")) {
-			System.err.println(group);
-		}
-		return group.startsWith("H");
+		return (flags & TRUE_HELICAL) != 0;
 	}
 
 	/**
 	 * @return Whether this info has no symmetry of any kind.
 	 */
 	public boolean isAsymmetric() {
-		return group.equals("C1");
+		return (flags & ASYMMETRIC) != 0;
 	}
 
+	/**
+	 * Sets the group, which can only be done once (normally by JAXB).
+	 * 
+	 * @throws IllegalStateException
+	 *             If a different group is already set
+	 */
 	public void setGroup(String group) {
+		if (this.group != null && !this.group.equals(group)) {
+			throw new IllegalStateException("The group of a KnownInfo can't be changed from " + this.group);
+		}
 		this.group = group;
+		if (group != null) {
+			order = getOrderFromGroup(group);
+			flags = getFlags(group);
+		}
+	}
+
+	/**
+	 * @return The shared instance for this group
+	 */
+	private Object readResolve() {
+		return group == null ? this : valueOf(group);
 	}
 
 	@Override
@@ -0,0 +1,154 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.BufferUnderflowException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * A read-only view of a benchmark file written by {@link BinarySample}, backed by a {@link MappedByteBuffer}. Opening
+ * one only reads the header; values are read from the mapped columns on demand.
+ *
+ * @author dmyerstu
+ */
+public class MappedSample {
+
+	private final ByteBuffer buffer;
+	private final Map<ScoreColumn, Integer> columnStarts = new EnumMap<ScoreColumn, Integer>(ScoreColumn.class);
+	private final int groupsStart;
+	private final KnownInfo[] knownInfos;
+	private final int ordersStart;
+	private final int scopIdBytesStart;
+	private final int scopIdOffsetsStart;
+	private final int size;
+
+	public MappedSample(File file) throws IOException {
+		RandomAccessFile raf = new RandomAccessFile(file, "r");
+		try {
+			buffer = raf.getChannel().map(FileChannel.MapMode.READ_ONLY, 0, raf.length());
+		} finally {
+			raf.close(); // the mapping stays valid
+		}
+		try {
+			if (buffer.getInt() != BinarySample.MAGIC) throw new IOException(file + " is not a binary sample file");
+			int version = buffer.getInt();
+			if (version != BinarySample.VERSION) throw new IOException("Unsupported binary sample version " + version);
+			size = buffer.getInt();
+			String[] columnNames = new String[buffer.getInt()];
+			for (int j = 0; j < columnNames.length; j++) {
+				columnNames[j] = readString();
+			}
+			knownInfos = new KnownInfo[buffer.getInt()];
+			for (int g = 0; g < knownInfos.length; g++) {
+				knownInfos[g] = KnownInfo.valueOf(readString());
+			}
+			scopIdOffsetsStart = buffer.position();
+			scopIdBytesStart = scopIdOffsetsStart + 4 * (size + 1);
+			groupsStart = scopIdBytesStart + buffer.getInt(scopIdOffsetsStart + 4 * size);
+			ordersStart = groupsStart + 2 * size;
+			int start = ordersStart + 4 * size;
+			for (String name : columnNames) {
+				try {
+					columnStarts.put(ScoreColumn.valueOf(name), start);
+				} catch (IllegalArgumentException e) {
+					// written by a newer version; just skip it
+				}
+				start += 4 * size;
+			}
+			if (start > buffer.limit()) throw new IOException(file + " is truncated");
+		} catch (BufferUnderflowException e) {
+			throw new IOException(file + " is truncated", e);
+		}
+	}
+
+	/**
+	 * @return A new array containing every value of {@code column}
+	 * @throws IllegalArgumentException
+	 *             If the file has no such column
+	 */
+	public double[] getColumn(ScoreColumn column) {
+		final int start = getColumnStart(column);
+		double[] values = new double[size];
+		for (int i = 0; i < size; i++) {
+			values[i] = buffer.getFloat(start + 4 * i);
+		}
+		return values;
+	}
+
+	/**
+	 * @return The known (correct) symmetry of the {@code i}th case, or null if it is unknown
+	 */
+	public KnownInfo getKnownInfo(int i) {
+		short index = buffer.getShort(groupsStart + 2 * i);
+		return index < 0 ? null : knownInfos[index];
+	}
+
+	/**
+	 * @return The predicted order of the {@code i}th case, or 0 if it is unknown
+	 */
+	public int getOrder(int i) {
+		return buffer.getInt(ordersStart + 4 * i);
+	}
+
+	/**
+	 * @return The value of {@code column} for the {@code i}th case, or NaN if it is missing
+	 * @throws IllegalArgumentException
+	 *             If the file has no such column
+	 */
+	public double getScore(ScoreColumn column, int i) {
+		return buffer.getFloat(getColumnStart(column) + 4 * i);
+	}
+
+	public String getScopId(int i) {
+		int from = buffer.getInt(scopIdOffsetsStart + 4 * i);
+		int to = buffer.getInt(scopIdOffsetsStart + 4 * (i + 1));
+		byte[] bytes = new byte[to - from];
+		for (int b = 0; b < bytes.length; b++) {
+			bytes[b] = buffer.get(scopIdBytesStart + from + b);
+		}
+		return new String(bytes, BinarySample.UTF8);
+	}
+
+	public boolean hasColumn(ScoreColumn column) {
+		return columnStarts.containsKey(column);
+	}
+
+	public int size() {
+		return size;
+	}
+
+	private int getColumnStart(ScoreColumn column) {
+		Integer start = columnStarts.get(column);
+		if (start == null) throw new IllegalArgumentException("The file has no " + column + " column");
+		return start;
+	}
+
+	private String readString() {
+		byte[] bytes = new byte[buffer.getShort()];
+		buffer.get(bytes);
+		return new String(bytes, BinarySample.UTF8);
+	}
+
+}
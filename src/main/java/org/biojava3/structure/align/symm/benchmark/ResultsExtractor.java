@@ -1,8 +1,6 @@
 package org.biojava3.structure.align.symm.benchmark;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
 
 import org.biojava3.structure.align.symm.census3.CensusResultList;
@@ -25,10 +23,7 @@ public class ResultsExtractor {
 	private static void extractResults(File input, File output) throws IOException {
 		Sample sample = Sample.fromXML(input);
 		CensusResultList results = extractResults(sample);
-		String xml = results.toXML();
-		BufferedWriter bw = new BufferedWriter(new FileWriter(output));
-		bw.write(xml);
-		bw.close();
+		JaxbPool.marshal(results, output, BenchmarkFiles.isGzipName(output), true);
 	}
 
 	private static CensusResultList extractResults(Sample sample) {
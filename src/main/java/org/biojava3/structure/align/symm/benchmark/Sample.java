@@ -19,24 +19,27 @@ package org.biojava3.structure.align.symm.benchmark;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.PrintStream;
+import java.io.OutputStream;
 import java.io.Serializable;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
+import java.util.AbstractList;
 import java.util.ArrayList;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
+import java.util.Map;
+import java.util.RandomAccess;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 
+import org.biojava3.structure.align.symm.benchmark.ShardLoader.DuplicatePolicy;
+
 /**
  * A collection of benchmark {@link Case Cases}, which contain both the expected result as a {@link KnownInfo}, and the
  * actual result from an algorithm, which is stored as a Results object (see symmetry project). This is a serialization
@@ -51,48 +54,128 @@ import javax.xml.bind.annotation.XmlRootElement;
 @XmlAccessorType(XmlAccessType.PUBLIC_MEMBER)
 public class Sample implements Serializable {
 
-	private static final long serialVersionUID = 167984771894684447L;
+	/**
+	 * The list returned by {@link Sample#getData()}, which counts changes to the cases.
+	 */
+	private class TrackedCases extends AbstractList<Case> implements RandomAccess {
 
-	static JAXBContext jaxbContext;
-	private List<Case> data;
+		@Override
+		public void add(int index, Case element) {
+			modified();
+			data.add(index, element);
+		}
 
-	static {
-		try {
-			jaxbContext = JAXBContext.newInstance(Sample.class);
-		} catch (Exception e) {
-			throw new RuntimeException(e); // fatal
+		@Override
+		public Case get(int index) {
+			return data.get(index);
+		}
+
+		@Override
+		public Case remove(int index) {
+			modified();
+			return data.remove(index);
+		}
+
+		@Override
+		public Case set(int index, Case element) {
+			modified();
+			return data.set(index, element);
+		}
+
+		@Override
+		public int size() {
+			return data.size();
 		}
 	}
 
-	public static Sample fromXML(File file) throws IOException {
+	private static final long serialVersionUID = 167984771894684447L;
 
-		try {
+	/**
+	 * Values computed from the cases, such as by
+	 * {@link org.biojava3.structure.align.symm.benchmark.comparison.Criterion#evaluate(Sample)}; cleared when the cases
+	 * change.
+	 */
+	private transient Map<String, double[]> cachedColumns;
 
-			Unmarshaller un = jaxbContext.createUnmarshaller();
-			FileInputStream fis = new FileInputStream(file);
-			Sample sample = (Sample) un.unmarshal(fis);
+	/**
+	 * The value of {@link #modCount} when {@link #cachedColumns} was last valid
+	 */
+	private transient int cachedModCount;
 
-			// due to a side effect by JAXB
-			List<Case> newData = new ArrayList<Case>(sample.size());
-			for (Case c : sample.getData()) {
-				if (c != null) newData.add(c);
-			}
-			sample.setData(newData);
+	private List<Case> data;
 
-			return sample;
+	/**
+	 * The number of changes to the list of cases
+	 */
+	private transient int modCount;
 
-		} catch (JAXBException e) {
-			throw new IOException(e);
+	private transient TrackedCases trackedData;
+
+	public static Sample fromXML(File file) throws IOException {
+
+		Sample sample = JaxbPool.unmarshal(file, Sample.class);
+
+		// due to a side effect by JAXB
+		List<Case> newData = new ArrayList<Case>(sample.size());
+		for (Case c : sample.getData()) {
+			if (c != null) newData.add(c);
 		}
+		sample.setData(newData);
+
+		return sample;
 
 	}
 
+	/**
+	 * Streams the {@link Case Cases} in a benchmark XML file rather than loading them all at once. Each call to
+	 * {@link Iterable#iterator()} opens the file anew.
+	 * 
+	 * @see CaseReader
+	 */
+	public static Iterable<Case> iterateXML(final File file) {
+		return new Iterable<Case>() {
+			@Override
+			public Iterator<Case> iterator() {
+				try {
+					return new CaseReader(file);
+				} catch (IOException e) {
+					throw new RuntimeException("Could not open " + file.getPath(), e);
+				}
+			}
+		};
+	}
+
+	/**
+	 * Loads the files concurrently, with one thread per processor, and keeps the first of any conflicting cases.
+	 * 
+	 * @see #fromXML(File[], int, DuplicatePolicy)
+	 */
 	public static Sample fromXML(File[] files) throws IOException {
-		Sample sample = new Sample();
-		for (File file : files) {
-			sample.getData().addAll(fromXML(file).getData());
-		}
-		return sample;
+		return fromXML(files, Runtime.getRuntime().availableProcessors(), DuplicatePolicy.KEEP_FIRST);
+	}
+
+	/**
+	 * Loads and merges several benchmark XML files, for example one per SCOP class. The cases are in the order of
+	 * {@code files}, and cases with the same SCOP Id are merged.
+	 * 
+	 * @param nThreads
+	 *            The maximum number of files to load at once
+	 * @param policy
+	 *            What to do with non-identical cases that share a SCOP Id
+	 */
+	public static Sample fromXML(File[] files, int nThreads, DuplicatePolicy policy) throws IOException {
+		ShardLoader<Case> loader = new ShardLoader<Case>(nThreads, policy) {
+			@Override
+			protected String getId(Case entry) {
+				return entry.getResult() == null ? null : entry.getScopId();
+			}
+
+			@Override
+			protected List<Case> load(File file) throws IOException {
+				return fromXML(file).getData();
+			}
+		};
+		return new Sample(loader.loadAll(files));
 	}
 
 	public Sample() {
@@ -104,13 +187,50 @@ public class Sample implements Serializable {
 	}
 
 	public boolean add(Case e) {
+		modified();
 		return data.add(e);
 	}
 
 	public boolean addAll(Collection<? extends Case> c) {
+		modified();
 		return data.addAll(c);
 	}
 
+	/**
+	 * @return The values stored with {@link #putCachedColumn(String, double[])} under {@code key}, or null if there are
+	 *         none or the list of cases has changed since
+	 */
+	public synchronized double[] getCachedColumn(String key) {
+		if (cachedColumns == null) return null;
+		if (cachedModCount != modCount) {
+			cachedColumns.clear();
+			return null;
+		}
+		double[] values = cachedColumns.get(key);
+		if (values != null && values.length != data.size()) { // the list passed to the constructor was modified
+			cachedColumns.clear();
+			return null;
+		}
+		return values;
+	}
+
+	/**
+	 * Stores one value per case under {@code key}, until the list of cases changes, whether through this Sample or
+	 * through {@link #getData()}. Changes to a Case itself (such as {@link Case#setResult}) aren't tracked; call
+	 * {@link #clearCachedColumns()} after making them. The array must not be modified afterward.
+	 */
+	public synchronized void putCachedColumn(String key, double[] values) {
+		if (values.length != data.size()) {
+			throw new IllegalArgumentException("Got " + values.length + " values for " + data.size() + " cases");
+		}
+		if (cachedColumns == null) cachedColumns = new HashMap<String, double[]>();
+		if (cachedModCount != modCount) {
+			cachedColumns.clear();
+			cachedModCount = modCount;
+		}
+		cachedColumns.put(key, values);
+	}
+
 	public boolean contains(Object o) {
 		return data.contains(o);
 	}
@@ -131,8 +251,20 @@ public class Sample implements Serializable {
 		return true;
 	}
 
+	/**
+	 * Discards the values stored with {@link #putCachedColumn(String, double[])}, for example after changing a Case in
+	 * place.
+	 */
+	public synchronized void clearCachedColumns() {
+		if (cachedColumns != null) cachedColumns.clear();
+	}
+
+	/**
+	 * @return The cases; changes to this list are written through, and discard any cached columns
+	 */
 	public List<Case> getData() {
-		return data;
+		if (trackedData == null) trackedData = new TrackedCases();
+		return trackedData;
 	}
 
 	@Override
@@ -144,21 +276,36 @@ public class Sample implements Serializable {
 	}
 
 	public boolean remove(Object o) {
+		modified();
 		return data.remove(o);
 	}
 
 	public boolean removeAll(Collection<?> c) {
+		modified();
 		return data.removeAll(c);
 	}
 
 	public void setData(List<Case> cases) {
+		modified();
+		if (cases == trackedData) return; // JAXB hands back the list from getData()
 		data = cases;
 	}
 
+	private synchronized void modified() {
+		modCount++;
+	}
+
 	public int size() {
 		return data.size();
 	}
 
+	/**
+	 * @return The cases as primitive arrays; later changes to this Sample aren't reflected
+	 */
+	public SampleColumns toColumns() {
+		return SampleColumns.of(this);
+	}
+
 	@Override
 	public String toString() {
 		StringBuilder sb = new StringBuilder();
@@ -179,19 +326,62 @@ public class Sample implements Serializable {
 	public String toXML() throws IOException {
 
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		toXML(baos);
+		return baos.toString();
+
+	}
+
+	/**
+	 * Writes this Sample as XML to {@code file} without building the document in memory. The file is replaced only
+	 * once the write succeeds. Gzips the output if the file name ends in {@code .gz}.
+	 */
+	public void toXML(File file) throws IOException {
+		toXML(file, BenchmarkFiles.isGzipName(file));
+	}
 
-		PrintStream ps = new PrintStream(baos);
+	/**
+	 * Writes this Sample as indented XML to {@code file} without building the document in memory. The file is replaced
+	 * only once the write succeeds.
+	 * 
+	 * @param gzip
+	 *            Whether to gzip the output; {@link #fromXML(File)} reads either
+	 */
+	public void toXML(File file, boolean gzip) throws IOException {
+		toXML(file, gzip, true);
+	}
 
+	/**
+	 * Writes this Sample as XML to {@code file} without building the document in memory. The file is replaced only
+	 * once the write succeeds.
+	 * 
+	 * @param gzip
+	 *            Whether to gzip the output; {@link #fromXML(File)} reads either
+	 * @param formatted
+	 *            Whether to indent the output; compact output is considerably smaller
+	 */
+	public void toXML(File file, boolean gzip, boolean formatted) throws IOException {
+		JaxbPool.marshal(this, file, gzip, formatted);
+	}
+
+	/**
+	 * Writes this Sample as indented XML to {@code os}, which is left open.
+	 */
+	public void toXML(OutputStream os) throws IOException {
+		toXML(os, true);
+	}
+
+	/**
+	 * Writes this Sample as XML to {@code os}, which is left open.
+	 * 
+	 * @param formatted
+	 *            Whether to indent the output; compact output is considerably smaller
+	 */
+	public void toXML(OutputStream os, boolean formatted) throws IOException {
 		try {
-			Marshaller m = jaxbContext.createMarshaller();
-			m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			m.marshal(this, ps);
+			JaxbPool.getMarshaller(Sample.class, formatted).marshal(this, os);
 		} catch (JAXBException e) {
 			throw new IOException(e);
 		}
-
-		return baos.toString();
-
 	}
 
 }
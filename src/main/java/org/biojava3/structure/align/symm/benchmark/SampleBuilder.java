@@ -18,10 +18,8 @@
 package org.biojava3.structure.align.symm.benchmark;
 
 import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.File;
 import java.io.FileReader;
-import java.io.FileWriter;
 import java.io.IOException;
 import java.net.URISyntaxException;
 import java.net.URL;
@@ -67,9 +65,7 @@ public class SampleBuilder {
 			c.setKnownInfo(knownInfo);
 			sample.add(c);
 		}
-		BufferedWriter br = new BufferedWriter(new FileWriter(output));
-		br.write(sample.toXML());
-		br.close();
+		sample.toXML(output);
 	}
 
 	public static List<String> getNames(File knownInfoFile) throws IOException {
@@ -90,7 +86,7 @@ public class SampleBuilder {
 		String line = "";
 		while ((line = br.readLine()) != null) {
 			String[] parts = line.split("\t"); // domain tab group
-			KnownInfo info = new KnownInfo(parts[1]);
+			KnownInfo info = KnownInfo.valueOf(parts[1]);
 			map.put(parts[0], info);
 		}
 		br.close();
@@ -0,0 +1,230 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.util.Arrays;
+
+import org.biojava3.structure.align.symm.census3.CensusResult;
+
+/**
+ * A benchmark sample as primitive arrays, one element per {@link Case}: the known order, the {@link KnownInfo#getFlags()
+ * flags} of the known symmetry, the predicted order, and each {@link ScoreColumn}. The arrays are built once, so loops
+ * over them don't touch a Case or box a number. Immutable, as long as nobody modifies the arrays returned.
+ *
+ * @author dmyerstu
+ */
+public class SampleColumns {
+
+	/**
+	 * The known order of a case with no {@link KnownInfo}.
+	 */
+	public static final int UNKNOWN = -1;
+
+	public static SampleColumns of(Iterable<Case> cases) {
+		Builder builder = new Builder();
+		for (Case c : cases) {
+			builder.add(c);
+		}
+		return builder.build();
+	}
+
+	/**
+	 * Reads every case out of {@code sample}; the columns the file doesn't have are NaN.
+	 */
+	public static SampleColumns of(MappedSample sample) {
+		final int n = sample.size();
+		String[] scopIds = new String[n];
+		int[] knownOrders = new int[n];
+		byte[] flags = new byte[n];
+		int[] orders = new int[n];
+		for (int i = 0; i < n; i++) {
+			scopIds[i] = sample.getScopId(i);
+			KnownInfo known = sample.getKnownInfo(i);
+			knownOrders[i] = known == null ? UNKNOWN : known.getOrder();
+			flags[i] = known == null ? 0 : known.getFlags();
+			orders[i] = sample.getOrder(i);
+		}
+		double[][] scores = new double[ScoreColumn.values().length][];
+		for (ScoreColumn column : ScoreColumn.values()) {
+			if (sample.hasColumn(column)) {
+				scores[column.ordinal()] = sample.getColumn(column);
+			} else {
+				scores[column.ordinal()] = new double[n];
+				Arrays.fill(scores[column.ordinal()], Double.NaN);
+			}
+		}
+		return new SampleColumns(scopIds, knownOrders, flags, orders, scores);
+	}
+
+	public static SampleColumns of(Sample sample) {
+		return of(sample.getData());
+	}
+
+	private final byte[] flags;
+
+	private final int[] knownOrders;
+
+	private final int[] orders;
+
+	private final double[][] scores;
+
+	private final String[] scopIds;
+
+	/**
+	 * Uses the arrays given, without copying them; useful for synthetic samples.
+	 *
+	 * @param scopIds
+	 *            May be null
+	 * @param knownOrders
+	 *            {@link #UNKNOWN} where there's no known symmetry
+	 * @param orders
+	 *            0 where the predicted order is unknown
+	 * @param scores
+	 *            Indexed by {@link ScoreColumn#ordinal()}; every column must be present
+	 */
+	public SampleColumns(String[] scopIds, int[] knownOrders, byte[] flags, int[] orders, double[][] scores) {
+		final int n = knownOrders.length;
+		if (flags.length != n || orders.length != n || scopIds != null && scopIds.length != n) {
+			throw new IllegalArgumentException("The columns have different lengths");
+		}
+		if (scores.length != ScoreColumn.values().length) {
+			throw new IllegalArgumentException("Need " + ScoreColumn.values().length + " score columns but got "
+					+ scores.length);
+		}
+		for (double[] column : scores) {
+			if (column.length != n) throw new IllegalArgumentException("The columns have different lengths");
+		}
+		this.scopIds = scopIds;
+		this.knownOrders = knownOrders;
+		this.flags = flags;
+		this.orders = orders;
+		this.scores = scores;
+	}
+
+	/**
+	 * @return The values of {@code column}, NaN where missing; the array is not a copy
+	 */
+	public double[] getColumn(ScoreColumn column) {
+		return scores[column.ordinal()];
+	}
+
+	/**
+	 * @return The {@link KnownInfo#getFlags() flags} of the known symmetries, 0 where unknown; the array is not a copy
+	 */
+	public byte[] getFlags() {
+		return flags;
+	}
+
+	/**
+	 * @return The known orders, {@link #UNKNOWN} where unknown; the array is not a copy
+	 */
+	public int[] getKnownOrders() {
+		return knownOrders;
+	}
+
+	/**
+	 * @return The predicted orders, 0 where unknown; the array is not a copy
+	 */
+	public int[] getOrders() {
+		return orders;
+	}
+
+	/**
+	 * @return The SCOP Id of the {@code i}th case, or null if there are none
+	 */
+	public String getScopId(int i) {
+		return scopIds == null ? null : scopIds[i];
+	}
+
+	/**
+	 * @return Whether the {@code i}th case has a known symmetry
+	 */
+	public boolean isKnown(int i) {
+		return knownOrders[i] != UNKNOWN;
+	}
+
+	/**
+	 * @return Whether the {@code i}th case has known rotational symmetry
+	 */
+	public boolean isPositive(int i) {
+		return (flags[i] & KnownInfo.ROTATIONAL) != 0;
+	}
+
+	public int size() {
+		return knownOrders.length;
+	}
+
+	/**
+	 * Grows the arrays as cases are added, so an {@link Iterable} can be read in one pass.
+	 */
+	private static class Builder {
+
+		private byte[] flags = new byte[1024];
+		private int[] knownOrders = new int[1024];
+		private int n = 0;
+		private int[] orders = new int[1024];
+		private double[][] scores = new double[ScoreColumn.values().length][1024];
+		private String[] scopIds = new String[1024];
+
+		void add(Case c) {
+			if (n == knownOrders.length) grow();
+			KnownInfo known = c.getKnownInfo();
+			knownOrders[n] = known == null ? UNKNOWN : known.getOrder();
+			flags[n] = known == null ? 0 : known.getFlags();
+			CensusResult result = c.getResult();
+			if (result == null) {
+				for (double[] column : scores) {
+					column[n] = Double.NaN;
+				}
+			} else {
+				scopIds[n] = result.getId();
+				orders[n] = result.getOrder() == null ? 0 : result.getOrder();
+				for (ScoreColumn column : ScoreColumn.values()) {
+					scores[column.ordinal()][n] = column.get(result);
+				}
+			}
+			n++;
+		}
+
+		SampleColumns build() {
+			double[][] trimmed = new double[scores.length][];
+			for (int j = 0; j < scores.length; j++) {
+				trimmed[j] = Arrays.copyOf(scores[j], n);
+			}
+			return new SampleColumns(Arrays.copyOf(scopIds, n), Arrays.copyOf(knownOrders, n), Arrays.copyOf(flags, n),
+					Arrays.copyOf(orders, n), trimmed);
+		}
+
+		private void grow() {
+			final int size = 2 * knownOrders.length;
+			flags = Arrays.copyOf(flags, size);
+			knownOrders = Arrays.copyOf(knownOrders, size);
+			orders = Arrays.copyOf(orders, size);
+			scopIds = Arrays.copyOf(scopIds, size);
+			for (int j = 0; j < scores.length; j++) {
+				scores[j] = Arrays.copyOf(scores[j], size);
+			}
+		}
+	}
+
+}
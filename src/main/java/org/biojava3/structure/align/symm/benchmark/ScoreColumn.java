@@ -0,0 +1,98 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import org.biojava3.structure.align.symm.census3.CensusAxis;
+import org.biojava3.structure.align.symm.census3.CensusResult;
+import org.biojava3.structure.align.symm.census3.CensusScoreList;
+
+/**
+ * A numerical score of a {@link CensusResult} that can be stored as a column. Missing values are NaN.
+ *
+ * @author dmyerstu
+ * @see BinarySample
+ */
+public enum ScoreColumn {
+
+	TM_SCORE {
+		@Override
+		public double get(CensusResult result) {
+			CensusScoreList list = result.getScoreList();
+			return list == null ? Double.NaN : value(list.getTmScore());
+		}
+	},
+	Z_SCORE {
+		@Override
+		public double get(CensusResult result) {
+			CensusScoreList list = result.getScoreList();
+			return list == null ? Double.NaN : value(list.getzScore());
+		}
+	},
+	RMSD {
+		@Override
+		public double get(CensusResult result) {
+			CensusScoreList list = result.getScoreList();
+			return list == null ? Double.NaN : value(list.getRmsd());
+		}
+	},
+	IDENTITY {
+		@Override
+		public double get(CensusResult result) {
+			CensusScoreList list = result.getScoreList();
+			return list == null ? Double.NaN : value(list.getIdentity());
+		}
+	},
+	SIMILARITY {
+		@Override
+		public double get(CensusResult result) {
+			CensusScoreList list = result.getScoreList();
+			return list == null ? Double.NaN : value(list.getSimilarity());
+		}
+	},
+	ALIGN_LENGTH {
+		@Override
+		public double get(CensusResult result) {
+			CensusScoreList list = result.getScoreList();
+			return list == null ? Double.NaN : value(list.getAlignLength());
+		}
+	},
+	AXIS_ANGLE {
+		@Override
+		public double get(CensusResult result) {
+			CensusAxis axis = result.getAxis();
+			return axis == null ? Double.NaN : value(axis.getAngle());
+		}
+	},
+	AXIS_PARALLEL {
+		@Override
+		public double get(CensusResult result) {
+			CensusAxis axis = result.getAxis();
+			return axis == null ? Double.NaN : value(axis.getParallel());
+		}
+	};
+
+	private static double value(Number number) {
+		return number == null ? Double.NaN : number.doubleValue();
+	}
+
+	/**
+	 * @return The value of this column for {@code result}, or NaN if it is missing
+	 */
+	public abstract double get(CensusResult result);
+
+}
@@ -0,0 +1,147 @@
+/*
+ * BioJava development code
+ *
+ * This code may be freely distributed and modified under the terms of the GNU Lesser General Public Licence. This
+ * should be distributed with the code. If you do not have a copy, see:
+ *
+ * http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual authors. These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims, or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ * http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Loads several shards of results (for example, one file per SCOP class) concurrently on a bounded thread pool, then
+ * merges them. The merged list is in the order of the files and then of the entries within each file, regardless of
+ * which shard finishes first. Entries with the same SCOP Id are merged according to a {@link DuplicatePolicy}.
+ *
+ * @author dmyerstu
+ * @param <T>
+ *            The type of each entry
+ */
+public abstract class ShardLoader<T> {
+
+	/**
+	 * What to do when two entries share a SCOP Id but are not equal. Entries that are equal are always merged.
+	 */
+	public static enum DuplicatePolicy {
+		/**
+		 * Throw an IOException.
+		 */
+		FAIL,
+		/**
+		 * Keep the entry from the earliest file.
+		 */
+		KEEP_FIRST,
+		/**
+		 * Keep the entry from the latest file, in the position of the first.
+		 */
+		KEEP_LAST;
+	}
+
+	private static final Logger logger = LogManager.getLogger(ShardLoader.class.getName());
+
+	private final int nThreads;
+	private final DuplicatePolicy policy;
+
+	/**
+	 * @param nThreads
+	 *            The maximum number of files to load at once
+	 */
+	public ShardLoader(int nThreads, DuplicatePolicy policy) {
+		if (nThreads < 1) throw new IllegalArgumentException("Need at least 1 thread");
+		this.nThreads = nThreads;
+		this.policy = policy;
+	}
+
+	public List<T> loadAll(File[] files) throws IOException {
+
+		if (files.length == 0) return new ArrayList<T>();
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(nThreads, files.length));
+		List<Future<List<T>>> futures = new ArrayList<Future<List<T>>>(files.length);
+		try {
+
+			for (final File file : files) {
+				futures.add(pool.submit(new Callable<List<T>>() {
+					@Override
+					public List<T> call() throws IOException {
+						return load(file);
+					}
+				}));
+			}
+
+			List<T> merged = new ArrayList<T>();
+			Map<String, Integer> indices = new HashMap<String, Integer>();
+			int nDuplicates = 0;
+			for (int i = 0; i < files.length; i++) {
+				for (T entry : getShard(futures.get(i), files[i])) {
+					if (entry == null) continue;
+					final String id = getId(entry);
+					Integer index = id == null ? null : indices.get(id);
+					if (index == null) {
+						if (id != null) indices.put(id, merged.size());
+						merged.add(entry);
+						continue;
+					}
+					nDuplicates++;
+					if (merged.get(index).equals(entry)) continue;
+					switch (policy) {
+					case FAIL:
+						throw new IOException("Conflicting entries for " + id + " (the second is in " + files[i] + ")");
+					case KEEP_LAST:
+						merged.set(index, entry);
+						break;
+					case KEEP_FIRST:
+						break;
+					}
+					logger.warn("Conflicting entries for " + id + "; using the " + (policy == DuplicatePolicy.KEEP_LAST ? "last" : "first"));
+				}
+			}
+			logger.info("Loaded " + merged.size() + " entries from " + files.length + " files (" + nDuplicates + " duplicates)");
+			return merged;
+
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private List<T> getShard(Future<List<T>> future, File file) throws IOException {
+		try {
+			return Futures.get(future);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+			throw new IOException("Could not load " + file, e.getCause());
+		}
+	}
+
+	/**
+	 * @return The SCOP Id of {@code entry}, or null if it should never be merged with another
+	 */
+	protected abstract String getId(T entry);
+
+	protected abstract List<T> load(File file) throws IOException;
+
+}
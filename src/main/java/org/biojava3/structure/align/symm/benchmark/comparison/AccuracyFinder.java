@@ -26,6 +26,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.biojava3.structure.align.symm.benchmark.Case;
 import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
 import org.biojava3.structure.align.symm.census3.CensusSignificance;
 import org.biojava3.structure.align.symm.census3.CensusSignificanceFactory;
 
@@ -35,6 +37,7 @@ import org.biojava3.structure.align.symm.census3.CensusSignificanceFactory;
  * Considers only the binary choice of symmetric versus asymmetric.
  * @author dmyerstu
  * @see OrderAccuracy, which determines the accuracy of determining order rather than just symmetric/asymmetric
+ * @see MultiAccuracyFinder, which finds the frequencies for several Significance objects at once
  */
 public class AccuracyFinder {
 
@@ -59,8 +62,11 @@ public class AccuracyFinder {
 		System.out.println(finder);
 	}
 
+	/**
+	 * Streams the Cases from {@code input}, so the whole Sample is never held in memory.
+	 */
 	public AccuracyFinder(File input, CensusSignificance sig) throws IOException {
-		this(Sample.fromXML(input), sig);
+		this(Sample.iterateXML(input), sig);
 	}
 
 	public int getTp() {
@@ -85,23 +91,53 @@ public class AccuracyFinder {
 	private int tn = 0;
 
 	public AccuracyFinder(Sample sample, CensusSignificance sig) {
-		for (Case c : sample.getData()) {
-			try {
-				if (c.getKnownInfo().hasRotationalSymmetry()) {
-					if (sig.isSignificant(c.getResult())) {
-						tp++;
-					} else {
-						fn++;
-					}
+		this(sample.getData(), sig);
+	}
+
+	/**
+	 * @param cases
+	 *            Any Cases, such as from {@link Sample#iterateXML(File)}; iterated over exactly once
+	 */
+	public AccuracyFinder(Iterable<Case> cases, CensusSignificance sig) {
+		ConfusionMatrix matrix = new MultiAccuracyFinder(sig).run(cases)[0];
+		tp = (int) matrix.getTp();
+		fn = (int) matrix.getFn();
+		fp = (int) matrix.getFp();
+		tn = (int) matrix.getTn();
+	}
+
+	/**
+	 * Calls a case significant when its value of {@code column} is at least {@code threshold}; NaN is never
+	 * significant. Cases with no known symmetry are skipped.
+	 */
+	public AccuracyFinder(SampleColumns columns, ScoreColumn column, double threshold) {
+		this(columns, columns.getColumn(column), threshold);
+	}
+
+	/**
+	 * Calls a case significant when its value of {@code criterion} is at least {@code threshold}; NaN is never
+	 * significant. Cases with no known symmetry are skipped.
+	 */
+	public AccuracyFinder(SampleColumns columns, CompiledCriterion criterion, double threshold) {
+		this(columns, criterion.evaluate(columns), threshold);
+	}
+
+	private AccuracyFinder(SampleColumns columns, double[] values, double threshold) {
+		for (int i = 0; i < values.length; i++) {
+			if (!columns.isKnown(i)) continue;
+			final boolean significant = values[i] >= threshold;
+			if (columns.isPositive(i)) {
+				if (significant) {
+					tp++;
+				} else {
+					fn++;
+				}
+			} else {
+				if (significant) {
+					fp++;
 				} else {
-					if (sig.isSignificant(c.getResult())) {
-						fp++;
-					} else {
-						tn++;
-					}
+					tn++;
 				}
-			} catch (RuntimeException e) {
-				logger.error("Encountered an error on " + c.getScopId(), e);
 			}
 		}
 	}
@@ -0,0 +1,300 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava3.structure.align.symm.benchmark.Futures;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+
+/**
+ * Percentile bootstrap confidence intervals for the (partial) area under an ROC curve. Each replicate resamples the
+ * positives and the negatives separately, with replacement, so every replicate has the same number of each. Replicate
+ * {@code r} draws from its own {@link SplitMix64#stream(long, long) stream} of the seed, so the interval depends only
+ * on the seed and not on the number of threads.
+ * <p>
+ * The scores are ranked once up front; a replicate then only counts how often it drew each distinct score, and reads
+ * the curve off the counts without sorting anything.
+ *
+ * @author dmyerstu
+ */
+public class AucBootstrap {
+
+	/**
+	 * An estimate with a confidence interval.
+	 */
+	public static class Interval {
+
+		private final double estimate;
+		private final double level;
+		private final double lower;
+		private final double upper;
+
+		public Interval(double estimate, double lower, double upper, double level) {
+			this.estimate = estimate;
+			this.lower = lower;
+			this.upper = upper;
+			this.level = level;
+		}
+
+		public double getEstimate() {
+			return estimate;
+		}
+
+		/**
+		 * @return The confidence level, such as 0.95
+		 */
+		public double getLevel() {
+			return level;
+		}
+
+		public double getLower() {
+			return lower;
+		}
+
+		public double getUpper() {
+			return upper;
+		}
+
+		@Override
+		public String toString() {
+			return estimate + " [" + lower + ", " + upper + "]";
+		}
+	}
+
+	public static final double DEFAULT_LEVEL = 0.95;
+
+	public static final int DEFAULT_REPLICATES = 2000;
+
+	private static final Logger logger = LogManager.getLogger(AucBootstrap.class.getName());
+
+	/**
+	 * The {@code p}th quantile of sorted {@code values}, interpolating linearly between order statistics.
+	 */
+	static double quantile(double[] sorted, double p) {
+		final double h = (sorted.length - 1) * p;
+		final int k = (int) Math.floor(h);
+		if (k + 1 >= sorted.length) return sorted[sorted.length - 1];
+		return sorted[k] + (h - k) * (sorted[k + 1] - sorted[k]);
+	}
+
+	private final int nGroups;
+
+	/**
+	 * The rank of the score of each negative among the distinct scores
+	 */
+	private final int[] negatives;
+
+	private final int nThreads;
+
+	/**
+	 * The rank of the score of each positive among the distinct scores
+	 */
+	private final int[] positives;
+
+	/**
+	 * Uses the cases in {@code columns} with a known symmetry, calling those with rotational symmetry positive.
+	 *
+	 * @param scores
+	 *            One per case in {@code columns}
+	 */
+	public AucBootstrap(SampleColumns columns, double[] scores, int nThreads) {
+		this(knownScores(columns, scores), knownPositives(columns), nThreads);
+	}
+
+	/**
+	 * Cases with NaN scores are left out.
+	 *
+	 * @param positive
+	 *            Whether each case is a (known) positive
+	 * @param nThreads
+	 *            The number of replicates to run at once
+	 */
+	public AucBootstrap(double[] scores, boolean[] positive, int nThreads) {
+		if (scores.length != positive.length) {
+			throw new IllegalArgumentException("Got " + scores.length + " scores for " + positive.length + " labels");
+		}
+		if (nThreads < 1) throw new IllegalArgumentException("Need at least 1 thread");
+		this.nThreads = nThreads;
+		double[] distinct = new double[scores.length];
+		int n = 0, nPositives = 0;
+		for (int i = 0; i < scores.length; i++) {
+			if (Double.isNaN(scores[i])) continue;
+			distinct[n++] = scores[i] + 0.0; // -0.0 is 0.0, which binarySearch wouldn't find
+			if (positive[i]) nPositives++;
+		}
+		Arrays.sort(distinct, 0, n);
+		int g = 0;
+		for (int i = 0; i < n; i++) {
+			if (g == 0 || distinct[i] != distinct[g - 1]) distinct[g++] = distinct[i];
+		}
+		nGroups = g;
+		positives = new int[nPositives];
+		negatives = new int[n - nPositives];
+		int p = 0, q = 0;
+		for (int i = 0; i < scores.length; i++) {
+			if (Double.isNaN(scores[i])) continue;
+			final int rank = Arrays.binarySearch(distinct, 0, nGroups, scores[i] + 0.0);
+			if (positive[i]) {
+				positives[p++] = rank;
+			} else {
+				negatives[q++] = rank;
+			}
+		}
+	}
+
+	private static boolean[] knownPositives(SampleColumns columns) {
+		boolean[] positive = new boolean[columns.size()];
+		for (int i = 0; i < positive.length; i++) {
+			positive[i] = columns.isPositive(i);
+		}
+		return positive;
+	}
+
+	/**
+	 * @return A copy of {@code scores} with NaN for the cases with no known symmetry
+	 */
+	private static double[] knownScores(SampleColumns columns, double[] scores) {
+		if (scores.length != columns.size()) {
+			throw new IllegalArgumentException("Got " + scores.length + " scores for " + columns.size() + " cases");
+		}
+		double[] known = new double[scores.length];
+		for (int i = 0; i < known.length; i++) {
+			known[i] = columns.isKnown(i) ? scores[i] : Double.NaN;
+		}
+		return known;
+	}
+
+	/**
+	 * @return The AUC with a {@link #DEFAULT_LEVEL 95%} interval from {@link #DEFAULT_REPLICATES} replicates
+	 */
+	public Interval getAuc(long seed) {
+		return getPartialAuc(1, DEFAULT_REPLICATES, DEFAULT_LEVEL, seed);
+	}
+
+	/**
+	 * @param maxFpr
+	 *            1 for the full AUC; otherwise the partial AUC as in {@link RocCurve#getPartialAuc(double)}
+	 * @param level
+	 *            The confidence level, such as 0.95
+	 * @return The estimate from the data, with the interval; NaN if there are no positives or no negatives
+	 */
+	public Interval getPartialAuc(final double maxFpr, int nReplicates, double level, final long seed) {
+		if (maxFpr <= 0 || maxFpr > 1) throw new IllegalArgumentException("The false-positive rate must be in (0, 1]");
+		if (level <= 0 || level >= 1) throw new IllegalArgumentException("The level must be in (0, 1)");
+		if (nReplicates < 1) throw new IllegalArgumentException("Need at least 1 replicate");
+
+		final double estimate = area(count(positives), count(negatives), maxFpr);
+		if (Double.isNaN(estimate)) return new Interval(Double.NaN, Double.NaN, Double.NaN, level);
+
+		final double[] replicates = new double[nReplicates];
+		final int nChunks = Math.min(nReplicates, 4 * nThreads);
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(nThreads, nChunks));
+		List<Future<?>> futures = new ArrayList<Future<?>>(nChunks);
+		try {
+			for (int c = 0; c < nChunks; c++) {
+				final int start = (int) ((long) nReplicates * c / nChunks);
+				final int end = (int) ((long) nReplicates * (c + 1) / nChunks);
+				futures.add(pool.submit(new Callable<Void>() {
+					@Override
+					public Void call() {
+						int[] positiveCounts = new int[nGroups];
+						int[] negativeCounts = new int[nGroups];
+						for (int r = start; r < end; r++) {
+							SplitMix64 random = SplitMix64.stream(seed, r);
+							Arrays.fill(positiveCounts, 0);
+							Arrays.fill(negativeCounts, 0);
+							resample(positives, positiveCounts, random);
+							resample(negatives, negativeCounts, random);
+							replicates[r] = area(positiveCounts, negativeCounts, maxFpr);
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				await(future);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		Arrays.sort(replicates);
+		final double alpha = (1 - level) / 2;
+		logger.debug("Ran " + nReplicates + " bootstrap replicates of the AUC up to " + maxFpr);
+		return new Interval(estimate, quantile(replicates, alpha), quantile(replicates, 1 - alpha), level);
+	}
+
+	/**
+	 * The area under the curve with {@code positiveCounts[g]} positives and {@code negativeCounts[g]} negatives scoring
+	 * the {@code g}th-lowest distinct score; same as {@link RocCurve#getPartialAuc(double)}.
+	 */
+	private double area(int[] positiveCounts, int[] negativeCounts, double maxFpr) {
+		final double nPositives = positives.length, nNegatives = negatives.length;
+		if (nPositives == 0 || nNegatives == 0) return Double.NaN;
+		double area = 0, x = 0, y = 0;
+		int tp = 0, fp = 0;
+		for (int g = nGroups - 1; g >= 0 && x < maxFpr; g--) {
+			if (positiveCounts[g] == 0 && negativeCounts[g] == 0) continue;
+			tp += positiveCounts[g];
+			fp += negativeCounts[g];
+			final double nextX = fp / nNegatives, nextY = tp / nPositives;
+			area += RocCurve.segmentArea(x, y, nextX, nextY, maxFpr);
+			x = nextX;
+			y = nextY;
+		}
+		return area;
+	}
+
+	private void await(Future<?> future) {
+		try {
+			Futures.getUnchecked(future);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("A bootstrap replicate failed", e.getCause());
+		}
+	}
+
+	private int[] count(int[] ranks) {
+		int[] counts = new int[nGroups];
+		for (int rank : ranks) {
+			counts[rank]++;
+		}
+		return counts;
+	}
+
+	private void resample(int[] ranks, int[] counts, SplitMix64 random) {
+		for (int i = 0; i < ranks.length; i++) {
+			counts[ranks[random.nextInt(ranks.length)]]++;
+		}
+	}
+
+}
@@ -3,9 +3,7 @@ package org.biojava3.structure.align.symm.benchmark.comparison;
 import java.io.File;
 import java.io.IOException;
 
-import org.biojava3.structure.align.symm.benchmark.KnownInfo;
 import org.biojava3.structure.align.symm.benchmark.Sample;
-import org.biojava3.structure.align.symm.census3.CensusResult;
 import org.biojava3.structure.align.symm.census3.CensusSignificance;
 import org.biojava3.structure.align.symm.census3.CensusSignificanceFactory;
 
@@ -26,27 +24,20 @@ public class BenchmarkTable {
 		CensusSignificance forSymd10 = CensusSignificanceFactory.forPublishedSymD10();
 		CensusSignificance forSymdUnpublished = CensusSignificanceFactory.forUnpublishedSymD();
 		System.out.println("----------------------");
-		for (int i = 0; i < cesymm.getData().size(); i++) {
-			KnownInfo info = cesymm.getData().get(i).getKnownInfo();
-			CensusResult cesymmCase = cesymm.getData().get(i).getResult();
-			CensusResult symdPublishedCase = symdPublished.getData().get(i).getResult();
-			CensusResult symdUnpublishedCase = symdUnpublished.getData().get(i).getResult();
-			System.out.print(cesymmCase.getId());
-			System.out.print("\t");
-			System.out.print(info.getGroup());
-			System.out.print("\t");
-			System.out.print(forCeSymmTm.isSignificant(cesymmCase)? "T" : "F");
-			System.out.print("\t");
-			System.out.print(forCeSymmOrd.isSignificant(cesymmCase)? "T" : "F");
-			System.out.print("\t");
-			System.out.print(forSymd8.isSignificant(symdPublishedCase)? "T" : "F");
-			System.out.print("\t");
-			System.out.print(forSymd10.isSignificant(symdPublishedCase)? "T" : "F");
-			System.out.print("\t");
-			System.out.print(forSymdUnpublished.isSignificant(symdUnpublishedCase)? "T" : "F");
-			System.out.println();
-		}
+		printMatrices(new String[] { "CE-Symm TM-score", "CE-Symm order" },
+				new MultiAccuracyFinder(forCeSymmTm, forCeSymmOrd).run(cesymm.getData()));
+		printMatrices(new String[] { "SymD 8", "SymD 10" },
+				new MultiAccuracyFinder(forSymd8, forSymd10).run(symdPublished.getData()));
+		printMatrices(new String[] { "SymD unpublished" },
+				new MultiAccuracyFinder(forSymdUnpublished).run(symdUnpublished.getData()));
 		System.out.println("----------------------");
 	}
 
+	private static void printMatrices(String[] names, ConfusionMatrix[] matrices) {
+		for (int k = 0; k < matrices.length; k++) {
+			System.out.println(names[k]);
+			System.out.println(matrices[k]);
+		}
+	}
+
 }
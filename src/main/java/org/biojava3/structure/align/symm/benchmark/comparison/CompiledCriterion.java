@@ -0,0 +1,336 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.biojava3.structure.align.symm.benchmark.Case;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
+import org.biojava3.structure.align.symm.census3.CensusResult;
+
+/**
+ * A {@link Criterion} compiled from a formula such as {@code tm + 0.5*hasorderliberal(1) - log(rmsd)}. The formula is
+ * compiled to a flat list of stack-machine instructions, with constant subexpressions evaluated once at compile time.
+ * Scoring a whole {@link Sample} or {@link SampleColumns} reads each variable into a column once and then runs the
+ * instructions on each case without allocating. A missing variable is NaN, and NaN propagates through every operation.
+ * <p>
+ * Formulas have numbers, {@code + - * / ^}, parentheses, and these variables:
+ * <ul>
+ * <li>{@code tm}, {@code z}, {@code rmsd}, {@code identity}, {@code similarity}, {@code alignlength}: the scores</li>
+ * <li>{@code theta}, {@code screw}: the angle and screw component of the axis</li>
+ * <li>{@code order}: the predicted order; NaN if it's missing or 0, since {@link SampleColumns} can't tell those
+ * apart</li>
+ * <li>{@code axisorder}: the order guessed from the axis angle; not available from {@link SampleColumns}</li>
+ * </ul>
+ * and functions {@code log}, {@code exp}, {@code sqrt}, {@code abs}, {@code min(a, b)}, {@code max(a, b)},
+ * {@code pow(a, b)}, and {@code hasorder(penalty)} and {@code hasorderliberal(penalty)}, which mean the same as
+ * {@link Criterion#hasOrder(float)} and {@link Criterion#hasOrderLiberal(float)}.
+ *
+ * @author dmyerstu
+ */
+public class CompiledCriterion extends PrimitiveCriterion {
+
+	/**
+	 * A value that a formula can refer to.
+	 */
+	static enum Variable {
+
+		ALIGN_LENGTH("alignlength", ScoreColumn.ALIGN_LENGTH), AXIS_ORDER("axisorder", null), IDENTITY("identity",
+				ScoreColumn.IDENTITY), ORDER("order", null), RMSD("rmsd", ScoreColumn.RMSD), SCREW("screw",
+				ScoreColumn.AXIS_PARALLEL), SIMILARITY("similarity", ScoreColumn.SIMILARITY), THETA("theta",
+				ScoreColumn.AXIS_ANGLE), TM("tm", ScoreColumn.TM_SCORE), Z("z", ScoreColumn.Z_SCORE);
+
+		static Variable forName(String name) {
+			for (Variable variable : values()) {
+				if (variable.name.equals(name)) return variable;
+			}
+			return null;
+		}
+
+		private static double order(int order) {
+			return order == 0 ? Double.NaN : order;
+		}
+
+		private final ScoreColumn column;
+
+		private final String name;
+
+		private Variable(String name, ScoreColumn column) {
+			this.name = name;
+			this.column = column;
+		}
+
+		double get(CensusResult result) {
+			if (column != null) return column.get(result);
+			if (this == ORDER) return result.getOrder() == null ? Double.NaN : order(result.getOrder());
+			return result.getAxis() == null ? Double.NaN : result.getAxis().guessOrder();
+		}
+
+		double[] getColumn(SampleColumns columns) {
+			if (column != null) return columns.getColumn(column);
+			if (this == ORDER) {
+				final int[] orders = columns.getOrders();
+				double[] values = new double[orders.length];
+				for (int i = 0; i < orders.length; i++) {
+					values[i] = order(orders[i]);
+				}
+				return values;
+			}
+			throw new IllegalArgumentException(name + " isn't available from columns");
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	static final int ABS = 2;
+	static final int ADD = 3;
+	static final int CONSTANT = 0;
+	static final int DIVIDE = 4;
+	static final int EXP = 5;
+	static final int HAS_ORDER = 6;
+	static final int HAS_ORDER_LIBERAL = 7;
+	static final int LOG = 8;
+	static final int MAX = 9;
+	static final int MIN = 10;
+	static final int MULTIPLY = 11;
+	static final int NEGATE = 12;
+	static final int POW = 13;
+	static final int SQRT = 14;
+	static final int SUBTRACT = 15;
+	static final int VARIABLE = 1;
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             If {@code expression} isn't a valid formula
+	 */
+	public static CompiledCriterion compile(String expression) {
+		return new CriterionParser(expression).parse();
+	}
+
+	/**
+	 * Compiles one formula per line of {@code file}, skipping blank lines and lines starting with {@code #}.
+	 */
+	public static List<CompiledCriterion> fromFile(File file) throws IOException {
+		List<CompiledCriterion> criteria = new ArrayList<CompiledCriterion>();
+		BufferedReader br = new BufferedReader(new FileReader(file));
+		try {
+			String line;
+			int lineNumber = 0;
+			while ((line = br.readLine()) != null) {
+				lineNumber++;
+				line = line.trim();
+				if (line.isEmpty() || line.startsWith("#")) continue;
+				try {
+					criteria.add(compile(line));
+				} catch (IllegalArgumentException e) {
+					throw new IOException("Bad formula on line " + lineNumber + " of " + file, e);
+				}
+			}
+		} finally {
+			br.close();
+		}
+		return criteria;
+	}
+
+	private final double[] constants;
+
+	private final String expression;
+
+	private final int[] ops;
+
+	private final int[] slots;
+
+	private final int stackSize;
+
+	private final Variable[] variables;
+
+	/**
+	 * @param ops
+	 *            The instructions, in postfix order
+	 * @param constants
+	 *            The value pushed by each {@link #CONSTANT} instruction
+	 * @param slots
+	 *            The index in {@code variables} of each {@link #VARIABLE} instruction
+	 */
+	CompiledCriterion(String expression, int[] ops, double[] constants, int[] slots, Variable[] variables,
+			int stackSize) {
+		this.expression = expression;
+		this.ops = ops;
+		this.constants = constants;
+		this.slots = slots;
+		this.variables = variables;
+		this.stackSize = stackSize;
+	}
+
+	/**
+	 * Scores every case in {@code columns}, with NaN where the formula can't be computed.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the formula uses a variable that {@code columns} doesn't have
+	 */
+	public double[] evaluate(SampleColumns columns) {
+		double[][] inputs = new double[variables.length][];
+		for (int v = 0; v < variables.length; v++) {
+			inputs[v] = variables[v].getColumn(columns);
+		}
+		return run(inputs, columns.size());
+	}
+
+	@Override
+	public String getName() {
+		return expression;
+	}
+
+	/**
+	 * @return Whether the formula folded to a single number
+	 */
+	public boolean isConstant() {
+		return ops.length == 1 && ops[0] == CONSTANT;
+	}
+
+	@Override
+	public double value(CensusResult result) {
+		double[][] inputs = new double[variables.length][1];
+		for (int v = 0; v < variables.length; v++) {
+			inputs[v][0] = variables[v].get(result);
+		}
+		return run(inputs, 0, new double[stackSize]);
+	}
+
+	@Override
+	protected double[] compute(Sample sample) {
+		final List<Case> cases = sample.getData();
+		double[][] inputs = new double[variables.length][cases.size()];
+		int i = 0;
+		for (Case c : cases) {
+			for (int v = 0; v < variables.length; v++) {
+				inputs[v][i] = variables[v].get(c.getResult());
+			}
+			i++;
+		}
+		return run(inputs, cases.size());
+	}
+
+	private double[] run(double[][] inputs, int n) {
+		double[] values = new double[n];
+		double[] stack = new double[stackSize];
+		for (int i = 0; i < n; i++) {
+			values[i] = run(inputs, i, stack);
+		}
+		return values;
+	}
+
+	/**
+	 * Runs the instructions on the {@code i}th value of each input.
+	 */
+	private double run(double[][] inputs, int i, double[] stack) {
+		int top = -1;
+		for (int k = 0; k < ops.length; k++) {
+			switch (ops[k]) {
+			case CONSTANT:
+				stack[++top] = constants[k];
+				break;
+			case VARIABLE:
+				stack[++top] = inputs[slots[k]][i];
+				break;
+			case ABS:
+				stack[top] = Math.abs(stack[top]);
+				break;
+			case ADD:
+				top--;
+				stack[top] += stack[top + 1];
+				break;
+			case DIVIDE:
+				top--;
+				stack[top] /= stack[top + 1];
+				break;
+			case EXP:
+				stack[top] = Math.exp(stack[top]);
+				break;
+			case HAS_ORDER: { // order, penalty
+				top--;
+				final double order = stack[top];
+				stack[top] = Double.isNaN(order) ? Double.NaN : order < 2 ? -stack[top + 1] : 0;
+				break;
+			}
+			case HAS_ORDER_LIBERAL: { // order, axis order, penalty
+				top -= 2;
+				final double order = stack[top];
+				final double axisOrder = stack[top + 1];
+				if (Double.isNaN(order)) {
+					stack[top] = Double.NaN;
+				} else if (order < 2 && (Double.isNaN(axisOrder) || axisOrder == 1)) {
+					stack[top] = -stack[top + 2];
+				} else {
+					stack[top] = 0;
+				}
+				break;
+			}
+			case LOG:
+				stack[top] = Math.log(stack[top]);
+				break;
+			case MAX:
+				top--;
+				stack[top] = Math.max(stack[top], stack[top + 1]);
+				break;
+			case MIN:
+				top--;
+				stack[top] = Math.min(stack[top], stack[top + 1]);
+				break;
+			case MULTIPLY:
+				top--;
+				stack[top] *= stack[top + 1];
+				break;
+			case NEGATE:
+				stack[top] = -stack[top];
+				break;
+			case POW:
+				top--;
+				// Math.pow(NaN, 0) is 1
+				stack[top] = Double.isNaN(stack[top]) ? Double.NaN : Math.pow(stack[top], stack[top + 1]);
+				break;
+			case SQRT:
+				stack[top] = Math.sqrt(stack[top]);
+				break;
+			case SUBTRACT:
+				top--;
+				stack[top] -= stack[top + 1];
+				break;
+			default:
+				throw new IllegalStateException("Unknown instruction " + ops[k]);
+			}
+		}
+		return stack[0];
+	}
+
+}
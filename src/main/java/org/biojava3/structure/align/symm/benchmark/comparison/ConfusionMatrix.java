@@ -0,0 +1,141 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+/**
+ * Counts of true and false positives and negatives, for calling symmetric versus asymmetric.
+ *
+ * @author dmyerstu
+ * @see MultiAccuracyFinder
+ */
+public class ConfusionMatrix {
+
+	private final long fn;
+	private final long fp;
+	private final long tn;
+	private final long tp;
+
+	public ConfusionMatrix(long tp, long fp, long tn, long fn) {
+		this.tp = tp;
+		this.fp = fp;
+		this.tn = tn;
+		this.fn = fn;
+	}
+
+	/**
+	 * @return The harmonic mean of {@link #getPrecision() precision} and {@link #getRecall() recall}, or NaN if there
+	 *         are no true positives, false positives, or false negatives
+	 */
+	public double getF1() {
+		return (double) (2 * tp) / (double) (2 * tp + fp + fn);
+	}
+
+	public double getFalsePositiveRate() {
+		return (double) fp / (double) (fp + tn);
+	}
+
+	public long getFn() {
+		return fn;
+	}
+
+	public long getFp() {
+		return fp;
+	}
+
+	/**
+	 * @return The Matthews correlation coefficient, or NaN if any row or column is empty
+	 */
+	public double getMcc() {
+		final double denominator = Math.sqrt((double) (tp + fp) * (tp + fn) * (tn + fp) * (tn + fn));
+		return ((double) tp * tn - (double) fp * fn) / denominator;
+	}
+
+	public double getPrecision() {
+		return (double) tp / (double) (tp + fp);
+	}
+
+	/**
+	 * @return The true-positive rate
+	 */
+	public double getRecall() {
+		return (double) tp / (double) (tp + fn);
+	}
+
+	public long getTn() {
+		return tn;
+	}
+
+	public long getTp() {
+		return tp;
+	}
+
+	public long getTotal() {
+		return tp + fp + tn + fn;
+	}
+
+	/**
+	 * @return A new matrix with the counts of both
+	 */
+	public ConfusionMatrix plus(ConfusionMatrix other) {
+		return new ConfusionMatrix(tp + other.tp, fp + other.fp, tn + other.tn, fn + other.fn);
+	}
+
+	@Override
+	public boolean equals(Object obj) {
+		if (this == obj) return true;
+		if (obj == null || getClass() != obj.getClass()) return false;
+		ConfusionMatrix other = (ConfusionMatrix) obj;
+		return tp == other.tp && fp == other.fp && tn == other.tn && fn == other.fn;
+	}
+
+	@Override
+	public int hashCode() {
+		final int prime = 31;
+		int result = 1;
+		result = prime * result + (int) (tp ^ (tp >>> 32));
+		result = prime * result + (int) (fp ^ (fp >>> 32));
+		result = prime * result + (int) (tn ^ (tn >>> 32));
+		result = prime * result + (int) (fn ^ (fn >>> 32));
+		return result;
+	}
+
+	/**
+	 * Same format as {@link AccuracyFinder#toString()}.
+	 */
+	@Override
+	public String toString() {
+		StringBuilder sb = new StringBuilder();
+		NumberFormat nf = new DecimalFormat();
+		nf.setMaximumFractionDigits(2);
+		final double total = getTotal();
+		sb.append("True positives: \t" + tp + "\t(" + nf.format(tp / total * 100.0) + "%)\n");
+		sb.append("True negatives: \t" + tn + "\t(" + nf.format(tn / total * 100.0) + "%)\n");
+		sb.append("False positives: \t" + fp + "\t(" + nf.format(fp / total * 100.0) + "%)\n");
+		sb.append("False negatives: \t" + fn + "\t(" + nf.format(fn / total * 100.0) + "%)\n");
+		return sb.toString();
+	}
+
+}
@@ -139,18 +139,14 @@ public class CriteriaDifferences {
 		this.b = b;
 	}
 
+	/**
+	 * Skips results where either {@link Criterion} can't be computed.
+	 */
 	public List<Difference> findDifferences(CensusResultList results, double precision) {
 		List<Difference> diffs = new ArrayList<Difference>();
 		for (CensusResult result : results.getEntries()) {
-			Double x = null, y = null;
-			try {
-				x = a.get(result);
-			} catch (NoncomputableCriterionException e) {
-			}
-			try {
-				y = b.get(result);
-			} catch (NoncomputableCriterionException e) {
-			}
+			final double x = a.value(result);
+			final double y = b.value(result);
 			if (Math.abs(x) - Math.abs(y) >= precision) {
 				diffs.add(new Difference(result.getId(), x, y));
 			}
@@ -158,22 +154,17 @@ public class CriteriaDifferences {
 		return diffs;
 	}
 
+	/**
+	 * Skips cases where either {@link Criterion} can't be computed.
+	 */
 	public SortedSet<Difference> findDifferences(Sample sample, double precision) {
+		final double[] x = a.evaluate(sample);
+		final double[] y = b.evaluate(sample);
+		final List<Case> cases = sample.getData();
 		SortedSet<Difference> diffs = new TreeSet<Difference>();
-		for (Case cas : sample.getData()) {
-			Double x = null, y = null;
-			try {
-				x = a.get(cas.getResult());
-			} catch (NoncomputableCriterionException e) {
-				e.printStackTrace();
-			}
-			try {
-				y = b.get(cas.getResult());
-			} catch (NoncomputableCriterionException e) {
-				e.printStackTrace();
-			}
-			if (Math.abs(x) - Math.abs(y) >= precision) {
-				diffs.add(new Difference(cas.getScopId(), x, y));
+		for (int i = 0; i < x.length; i++) {
+			if (Math.abs(x[i]) - Math.abs(y[i]) >= precision) {
+				diffs.add(new Difference(cases.get(i).getScopId(), x[i], y[i]));
 			}
 		}
 		return diffs;
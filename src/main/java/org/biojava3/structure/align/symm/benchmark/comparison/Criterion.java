@@ -22,14 +22,19 @@
  */
 package org.biojava3.structure.align.symm.benchmark.comparison;
 
+import java.util.List;
 import java.util.Random;
 
+import org.biojava3.structure.align.symm.benchmark.Case;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
 import org.biojava3.structure.align.symm.census2.Result;
 import org.biojava3.structure.align.symm.census3.CensusResult;
 
 
 /**
  * A metric that scores symmetry predictions. Has a single method {@link #get(Result)} that determines the quality of a {@link Result}.
+ * Use {@link #evaluate(Sample)} to score every case of a {@link Sample} at once.
  * @author dmyerstu
  *
  */
@@ -38,6 +43,65 @@ public abstract class Criterion {
 	public abstract double get(CensusResult result) throws NoncomputableCriterionException;
 
 	public abstract String getName();
+
+	/**
+	 * @return The value for {@code result}, or NaN if it can't be computed. {@link PrimitiveCriterion
+	 *         PrimitiveCriteria} compute this directly; for other Criteria it catches the exception from
+	 *         {@link #get(CensusResult)}.
+	 */
+	public double value(CensusResult result) {
+		try {
+			return get(result);
+		} catch (NoncomputableCriterionException e) {
+			return Double.NaN;
+		}
+	}
+
+	/**
+	 * Scores every case in {@code sample} exactly once, in order, with NaN where this Criterion can't be computed. If
+	 * this Criterion is {@link #isDeterministic() deterministic}, the values are cached in {@code sample} under
+	 * {@link #getKey()}, so other Criteria and tools share them until the sample changes.
+	 * @return The values, which must not be modified
+	 */
+	public double[] evaluate(Sample sample) {
+		if (!isDeterministic()) return compute(sample);
+		double[] values = sample.getCachedColumn(getKey());
+		if (values == null) {
+			values = compute(sample);
+			sample.putCachedColumn(getKey(), values);
+		}
+		return values;
+	}
+
+	/**
+	 * @return A string that identifies the values of this Criterion; by default its name. Criteria with the same name
+	 *         but different values must override this.
+	 */
+	public String getKey() {
+		return getName();
+	}
+
+	/**
+	 * @return Whether this Criterion always gives the same value for the same result; if not, {@link #evaluate(Sample)}
+	 *         doesn't cache its values
+	 */
+	public boolean isDeterministic() {
+		return true;
+	}
+
+	/**
+	 * Computes the values for {@link #evaluate(Sample)}. Composite Criteria override this to combine the (possibly
+	 * cached) values of their parts.
+	 */
+	protected double[] compute(Sample sample) {
+		final List<Case> cases = sample.getData();
+		double[] values = new double[cases.size()];
+		int i = 0;
+		for (Case c : cases) {
+			values[i++] = value(c.getResult());
+		}
+		return values;
+	}
 	
 	@Override
 	public String toString() {
@@ -45,98 +109,196 @@ public abstract class Criterion {
 	}
 
 	public Criterion exp(final double radix) {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				return Math.pow(radix, Criterion.this.get(result));
+			public double value(CensusResult result) {
+				return Math.pow(radix, Criterion.this.value(result));
 			}
 			@Override
 			public String getName() {
 				return radix + "^" + Criterion.this.getName();
 			}
+			@Override
+			public String getKey() {
+				return radix + "^" + Criterion.this.getKey();
+			}
+			@Override
+			public boolean isDeterministic() {
+				return Criterion.this.isDeterministic();
+			}
+			@Override
+			protected double[] compute(Sample sample) {
+				final double[] x = Criterion.this.evaluate(sample);
+				double[] values = new double[x.length];
+				for (int i = 0; i < x.length; i++) {
+					values[i] = Math.pow(radix, x[i]);
+				}
+				return values;
+			}
 		};
 	}
 
 	public Criterion log() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				return Math.log(Criterion.this.get(result));
+			public double value(CensusResult result) {
+				return Math.log(Criterion.this.value(result));
 			}
 			@Override
 			public String getName() {
 				return "log" + Criterion.this.getName();
 			}
+			@Override
+			public String getKey() {
+				return "log" + Criterion.this.getKey();
+			}
+			@Override
+			public boolean isDeterministic() {
+				return Criterion.this.isDeterministic();
+			}
+			@Override
+			protected double[] compute(Sample sample) {
+				final double[] x = Criterion.this.evaluate(sample);
+				double[] values = new double[x.length];
+				for (int i = 0; i < x.length; i++) {
+					values[i] = Math.log(x[i]);
+				}
+				return values;
+			}
 		};
 	}
 	
 	public Criterion noFail(final float penalty) {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) {
-				try {
-					return Criterion.this.get(result);
-				} catch (NoncomputableCriterionException e) {
-					return -penalty;
-				}
+			public double value(CensusResult result) {
+				final double value = Criterion.this.value(result);
+				return Double.isNaN(value) ? -penalty : value;
 			}
 			@Override
 			public String getName() {
 				return Criterion.this.getName();
 			}
+			@Override
+			public String getKey() {
+				return "nofail(" + Criterion.this.getKey() + ", " + penalty + ")";
+			}
+			@Override
+			public boolean isDeterministic() {
+				return Criterion.this.isDeterministic();
+			}
+			@Override
+			protected double[] compute(Sample sample) {
+				final double[] x = Criterion.this.evaluate(sample);
+				double[] values = new double[x.length];
+				for (int i = 0; i < x.length; i++) {
+					values[i] = Double.isNaN(x[i]) ? -penalty : x[i];
+				}
+				return values;
+			}
 		};
 	}
 	
 	public static Criterion combine(final Criterion a, final Criterion b, final double coeffA, final double coeffB) {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				return coeffA * a.get(result) + coeffB * b.get(result);
+			public double value(CensusResult result) {
+				return coeffA * a.value(result) + coeffB * b.value(result);
 			}
 			@Override
 			public String getName() {
 				return coeffA + "*" + a.getName() + " + " + coeffB + "*" + b.getName();
 			}
+			@Override
+			public String getKey() {
+				return coeffA + "*" + a.getKey() + " + " + coeffB + "*" + b.getKey();
+			}
+			@Override
+			public boolean isDeterministic() {
+				return a.isDeterministic() && b.isDeterministic();
+			}
+			@Override
+			protected double[] compute(Sample sample) {
+				final double[] x = a.evaluate(sample);
+				final double[] y = b.evaluate(sample);
+				double[] values = new double[x.length];
+				for (int i = 0; i < x.length; i++) {
+					values[i] = coeffA * x[i] + coeffB * y[i];
+				}
+				return values;
+			}
 		};
 	}
 
 	public static Criterion combineNoFail(final Criterion a, final Criterion b, final double coeffA, final double coeffB) {
-		return new Criterion() {
-			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				double aa = 0, ba = 0;
-				try {
-					aa = a.get(result);
-				} catch (NoncomputableCriterionException e) {}
-				try {
-					ba = b.get(result);
-				} catch (NoncomputableCriterionException e) {}
+		return new PrimitiveCriterion() {
+			@Override
+			public double value(CensusResult result) {
+				double aa = a.value(result), ba = b.value(result);
+				if (Double.isNaN(aa)) aa = 0;
+				if (Double.isNaN(ba)) ba = 0;
 				return coeffA * aa + coeffB * ba;
 			}
 			@Override
 			public String getName() {
 				return coeffA + "*" + a.getName() + " + " + coeffB + "*" + b.getName();
 			}
+			@Override
+			public String getKey() {
+				return "nofail(" + coeffA + "*" + a.getKey() + " + " + coeffB + "*" + b.getKey() + ")";
+			}
+			@Override
+			public boolean isDeterministic() {
+				return a.isDeterministic() && b.isDeterministic();
+			}
+			@Override
+			protected double[] compute(Sample sample) {
+				final double[] x = a.evaluate(sample);
+				final double[] y = b.evaluate(sample);
+				double[] values = new double[x.length];
+				for (int i = 0; i < x.length; i++) {
+					values[i] = coeffA * (Double.isNaN(x[i]) ? 0 : x[i]) + coeffB * (Double.isNaN(y[i]) ? 0 : y[i]);
+				}
+				return values;
+			}
 		};
 	}
 
 	public Criterion inverse() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				return -Criterion.this.get(result);
+			public double value(CensusResult result) {
+				return -Criterion.this.value(result);
 			}
 			@Override
 			public String getName() {
 				return "-" + Criterion.this.getName();
 			}
+			@Override
+			public String getKey() {
+				return "-" + Criterion.this.getKey();
+			}
+			@Override
+			public boolean isDeterministic() {
+				return Criterion.this.isDeterministic();
+			}
+			@Override
+			protected double[] compute(Sample sample) {
+				final double[] x = Criterion.this.evaluate(sample);
+				double[] values = new double[x.length];
+				for (int i = 0; i < x.length; i++) {
+					values[i] = -x[i];
+				}
+				return values;
+			}
 		};
 	}
 
 	public static Criterion hasOrder(final float penalty) {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
+			public double value(CensusResult result) {
+				if (result.getOrder() == null) return Double.NaN;
 				if (result.getOrder() < 2) return -penalty;
 				return 0;
 			}
@@ -149,9 +311,10 @@ public abstract class Criterion {
 	}
 
 	public static Criterion hasOrderLiberal(final float penalty) {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
+			public double value(CensusResult result) {
+				if (result.getOrder() == null) return Double.NaN;
 				if (result.getOrder() < 2) {
 					if (result.getAxis() == null) return -penalty;
 					if (result.getAxis().guessOrder() == 1) {
@@ -169,9 +332,10 @@ public abstract class Criterion {
 	}
 
 	public static Criterion hasOrderByAngle(final float penalty, final double threshold, final int maxOrder) {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
+			public double value(CensusResult result) {
+				if (result.getAxis() == null) return Double.NaN;
 				int order = result.getAxis().guessOrder(threshold, maxOrder);
 				if (order > 1) return 0;
 				return -penalty;
@@ -181,13 +345,18 @@ public abstract class Criterion {
 			public String getName() {
 				return "hasorderbyangle(" + penalty + ")";
 			}
+
+			@Override
+			public String getKey() {
+				return "hasorderbyangle(" + penalty + ", " + threshold + ", " + maxOrder + ")";
+			}
 		};
 	}
 	public static Criterion order() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				return result.getOrder();
+			public double value(CensusResult result) {
+				return result.getOrder() == null ? Double.NaN : result.getOrder();
 			}
 
 			@Override
@@ -197,11 +366,10 @@ public abstract class Criterion {
 		};
 	}
 	public static Criterion zScore() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getScoreList() == null || result.getScoreList().getzScore() == null) throw new NoncomputableCriterionException("The case has a null getAlignment()");
-				return result.getScoreList().getzScore();
+			public double value(CensusResult result) {
+				return ScoreColumn.Z_SCORE.get(result);
 			}
 
 			@Override
@@ -211,11 +379,10 @@ public abstract class Criterion {
 		};
 	}
 	public static Criterion tmScore() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getScoreList() == null || result.getScoreList().getTmScore() == null) throw new NoncomputableCriterionException("The case has a null getAlignment()");
-				return result.getScoreList().getTmScore();
+			public double value(CensusResult result) {
+				return ScoreColumn.TM_SCORE.get(result);
 			}
 
 			@Override
@@ -226,11 +393,10 @@ public abstract class Criterion {
 		};
 	}
 	public static Criterion rmsd() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getScoreList() == null || result.getScoreList().getRmsd() == null) throw new NoncomputableCriterionException("The case has a null getAlignment()");
-				return result.getScoreList().getRmsd();
+			public double value(CensusResult result) {
+				return ScoreColumn.RMSD.get(result);
 			}
 
 			@Override
@@ -241,11 +407,10 @@ public abstract class Criterion {
 		};
 	}
 	public static Criterion identity() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getScoreList() == null) throw new NoncomputableCriterionException("The case has a null getAlignment()");
-				return result.getScoreList().getIdentity();
+			public double value(CensusResult result) {
+				return ScoreColumn.IDENTITY.get(result);
 			}
 
 			@Override
@@ -256,11 +421,10 @@ public abstract class Criterion {
 		};
 	}
 	public static Criterion similarity() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getScoreList() == null) throw new NoncomputableCriterionException("The case has a null getAlignment()");
-				return result.getScoreList().getSimilarity();
+			public double value(CensusResult result) {
+				return ScoreColumn.SIMILARITY.get(result);
 			}
 
 			@Override
@@ -271,11 +435,10 @@ public abstract class Criterion {
 		};
 	}
 	public static Criterion theta() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getAxis() == null) throw new NoncomputableCriterionException("The case has a null getAxis()");
-				return result.getAxis().getAngle();
+			public double value(CensusResult result) {
+				return ScoreColumn.AXIS_ANGLE.get(result);
 			}
 
 			@Override
@@ -287,13 +450,12 @@ public abstract class Criterion {
 	}
 	
 	public static Criterion epsilon() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getAxis() == null) throw new NoncomputableCriterionException("The case has a null getAxis()");
-				if (result.getOrder() < 2) throw new NoncomputableCriterionException("The case has a getOrder() of less than 2");
+			public double value(CensusResult result) {
+				if (result.getAxis() == null || result.getOrder() == null || result.getOrder() < 2) return Double.NaN;
 				Double epsilon = result.getAxis().evaluateEpsilon(result.getOrder());
-				if (epsilon == null) throw new NoncomputableCriterionException("Could not determine epsilon");
+				if (epsilon == null) return Double.NaN;
 				return (float) ((double) 1.0 / epsilon);
 			}
 
@@ -307,9 +469,9 @@ public abstract class Criterion {
 	
 	private static volatile Random random = new Random();
 	public static Criterion random() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
+			public double value(CensusResult result) {
 				return random.nextFloat();
 			}
 
@@ -318,16 +480,18 @@ public abstract class Criterion {
 				return "random";
 			}
 
+			@Override
+			public boolean isDeterministic() {
+				return false;
+			}
+
 		};
 	}
 	public static Criterion screw() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getAxis() == null || result.getAxis().getParallel() == null) {
-					throw new NoncomputableCriterionException("The case has a null getAxis()");
-				}
-				return result.getAxis().getParallel();
+			public double value(CensusResult result) {
+				return ScoreColumn.AXIS_PARALLEL.get(result);
 			}
 
 			@Override
@@ -339,11 +503,10 @@ public abstract class Criterion {
 	}
 	
 	public static Criterion alignLength() {
-		return new Criterion() {
+		return new PrimitiveCriterion() {
 			@Override
-			public double get(CensusResult result) throws NoncomputableCriterionException {
-				if (result.getScoreList() == null) throw new NoncomputableCriterionException("The case has a null getAlignment()");
-				return result.getScoreList().getAlignLength();
+			public double value(CensusResult result) {
+				return ScoreColumn.ALIGN_LENGTH.get(result);
 			}
 
 			@Override
@@ -0,0 +1,337 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.biojava3.structure.align.symm.benchmark.comparison.CompiledCriterion.Variable;
+
+/**
+ * Parses a formula for {@link CompiledCriterion#compile(String)} by recursive descent, folding constant subexpressions
+ * as it goes, and then emits the instructions in postfix order.
+ *
+ * @author dmyerstu
+ */
+class CriterionParser {
+
+	private static class Constant extends Node {
+		private final double value;
+
+		Constant(double value) {
+			this.value = value;
+		}
+	}
+
+	private static abstract class Node {
+	}
+
+	private static class Operation extends Node {
+		private final Node[] args;
+		private final int op;
+
+		Operation(int op, Node... args) {
+			this.op = op;
+			this.args = args;
+		}
+	}
+
+	private static class Reference extends Node {
+		private final Variable variable;
+
+		Reference(Variable variable) {
+			this.variable = variable;
+		}
+	}
+
+	/**
+	 * @return An {@link Operation}, or its value if all of {@code args} are constants
+	 */
+	private static Node operation(int op, Node... args) {
+		double[] constants = new double[args.length + 1];
+		int[] ops = new int[args.length + 1];
+		for (int j = 0; j < args.length; j++) {
+			if (!(args[j] instanceof Constant)) return new Operation(op, args);
+			ops[j] = CompiledCriterion.CONSTANT;
+			constants[j] = ((Constant) args[j]).value;
+		}
+		ops[args.length] = op;
+		CompiledCriterion folded = new CompiledCriterion("", ops, constants, new int[ops.length], new Variable[0],
+				Math.max(1, args.length));
+		return new Constant(folded.value(null));
+	}
+
+	private final List<Double> constants = new ArrayList<Double>();
+
+	private final List<Integer> ops = new ArrayList<Integer>();
+
+	private int pos = 0;
+
+	private final List<Integer> slots = new ArrayList<Integer>();
+
+	private final String text;
+
+	private final List<Variable> variables = new ArrayList<Variable>();
+
+	CriterionParser(String text) {
+		this.text = text.trim();
+	}
+
+	CompiledCriterion parse() {
+		if (text.isEmpty()) throw new IllegalArgumentException("The formula is empty");
+		Node root = parseSum();
+		skipSpace();
+		if (pos < text.length()) throw error("Unexpected '" + text.charAt(pos) + "'");
+		int stackSize = emit(root, 0);
+		int[] opArray = new int[ops.size()];
+		double[] constantArray = new double[ops.size()];
+		int[] slotArray = new int[ops.size()];
+		for (int k = 0; k < opArray.length; k++) {
+			opArray[k] = ops.get(k);
+			constantArray[k] = constants.get(k);
+			slotArray[k] = slots.get(k);
+		}
+		return new CompiledCriterion(text, opArray, constantArray, slotArray,
+				variables.toArray(new Variable[variables.size()]), stackSize);
+	}
+
+	/**
+	 * Appends the instructions for {@code node}.
+	 *
+	 * @param depth
+	 *            The number of values on the stack before {@code node} runs
+	 * @return The most values on the stack while {@code node} runs
+	 */
+	private int emit(Node node, int depth) {
+		if (node instanceof Constant) {
+			append(CompiledCriterion.CONSTANT, ((Constant) node).value, 0);
+			return depth + 1;
+		}
+		if (node instanceof Reference) {
+			Variable variable = ((Reference) node).variable;
+			int slot = variables.indexOf(variable);
+			if (slot < 0) {
+				slot = variables.size();
+				variables.add(variable);
+			}
+			append(CompiledCriterion.VARIABLE, 0, slot);
+			return depth + 1;
+		}
+		Operation operation = (Operation) node;
+		int max = depth;
+		for (int j = 0; j < operation.args.length; j++) {
+			max = Math.max(max, emit(operation.args[j], depth + j));
+		}
+		append(operation.op, 0, 0);
+		return max;
+	}
+
+	private void append(int op, double constant, int slot) {
+		ops.add(op);
+		constants.add(constant);
+		slots.add(slot);
+	}
+
+	private IllegalArgumentException error(String message) {
+		return new IllegalArgumentException(message + " at position " + pos + " of \"" + text + "\"");
+	}
+
+	private void expect(char c) {
+		skipSpace();
+		if (pos >= text.length() || text.charAt(pos) != c) throw error("Expected '" + c + "'");
+		pos++;
+	}
+
+	private List<Node> parseArguments() {
+		List<Node> args = new ArrayList<Node>();
+		skipSpace();
+		if (pos < text.length() && text.charAt(pos) == ')') {
+			pos++;
+			return args;
+		}
+		args.add(parseSum());
+		skipSpace();
+		while (pos < text.length() && text.charAt(pos) == ',') {
+			pos++;
+			args.add(parseSum());
+			skipSpace();
+		}
+		expect(')');
+		return args;
+	}
+
+	private Node parseFunction(String name, List<Node> args) {
+		int op;
+		int arity = 1;
+		if (name.equals("log")) {
+			op = CompiledCriterion.LOG;
+		} else if (name.equals("exp")) {
+			op = CompiledCriterion.EXP;
+		} else if (name.equals("sqrt")) {
+			op = CompiledCriterion.SQRT;
+		} else if (name.equals("abs")) {
+			op = CompiledCriterion.ABS;
+		} else if (name.equals("min")) {
+			op = CompiledCriterion.MIN;
+			arity = 2;
+		} else if (name.equals("max")) {
+			op = CompiledCriterion.MAX;
+			arity = 2;
+		} else if (name.equals("pow")) {
+			op = CompiledCriterion.POW;
+			arity = 2;
+		} else if (name.equals("hasorder")) {
+			op = CompiledCriterion.HAS_ORDER;
+		} else if (name.equals("hasorderliberal")) {
+			op = CompiledCriterion.HAS_ORDER_LIBERAL;
+		} else {
+			throw error("Unknown function " + name);
+		}
+		if (args.size() != arity) throw error(name + " takes " + arity + " argument(s) but got " + args.size());
+		if (op == CompiledCriterion.HAS_ORDER) {
+			return new Operation(op, new Reference(Variable.ORDER), args.get(0));
+		}
+		if (op == CompiledCriterion.HAS_ORDER_LIBERAL) {
+			return new Operation(op, new Reference(Variable.ORDER), new Reference(Variable.AXIS_ORDER), args.get(0));
+		}
+		return operation(op, args.toArray(new Node[arity]));
+	}
+
+	private Node parseNumber() {
+		final int start = pos;
+		while (pos < text.length() && (Character.isDigit(text.charAt(pos)) || text.charAt(pos) == '.')) {
+			pos++;
+		}
+		if (pos < text.length() && (text.charAt(pos) == 'e' || text.charAt(pos) == 'E')) {
+			pos++;
+			if (pos < text.length() && (text.charAt(pos) == '+' || text.charAt(pos) == '-')) pos++;
+			while (pos < text.length() && Character.isDigit(text.charAt(pos))) {
+				pos++;
+			}
+		}
+		try {
+			return new Constant(Double.parseDouble(text.substring(start, pos)));
+		} catch (NumberFormatException e) {
+			pos = start;
+			throw error("Bad number");
+		}
+	}
+
+	private Node parsePower() {
+		Node base = parsePrimary();
+		skipSpace();
+		if (pos < text.length() && text.charAt(pos) == '^') {
+			pos++;
+			return operation(CompiledCriterion.POW, base, parseUnary()); // right-associative
+		}
+		return base;
+	}
+
+	private Node parsePrimary() {
+		skipSpace();
+		if (pos >= text.length()) throw error("Unexpected end");
+		final char c = text.charAt(pos);
+		if (c == '(') {
+			pos++;
+			Node node = parseSum();
+			expect(')');
+			return node;
+		}
+		if (Character.isDigit(c) || c == '.') return parseNumber();
+		if (Character.isLetter(c)) {
+			final int start = pos;
+			while (pos < text.length() && Character.isLetterOrDigit(text.charAt(pos))) {
+				pos++;
+			}
+			final String name = text.substring(start, pos).toLowerCase();
+			skipSpace();
+			if (pos < text.length() && text.charAt(pos) == '(') {
+				pos++;
+				return parseFunction(name, parseArguments());
+			}
+			Variable variable = Variable.forName(name);
+			if (variable == null) {
+				pos = start;
+				throw error("Unknown variable " + name);
+			}
+			return new Reference(variable);
+		}
+		throw error("Unexpected '" + c + "'");
+	}
+
+	private Node parseProduct() {
+		Node node = parseUnary();
+		while (true) {
+			skipSpace();
+			if (pos >= text.length()) return node;
+			final char c = text.charAt(pos);
+			if (c == '*') {
+				pos++;
+				node = operation(CompiledCriterion.MULTIPLY, node, parseUnary());
+			} else if (c == '/') {
+				pos++;
+				node = operation(CompiledCriterion.DIVIDE, node, parseUnary());
+			} else {
+				return node;
+			}
+		}
+	}
+
+	private Node parseSum() {
+		Node node = parseProduct();
+		while (true) {
+			skipSpace();
+			if (pos >= text.length()) return node;
+			final char c = text.charAt(pos);
+			if (c == '+') {
+				pos++;
+				node = operation(CompiledCriterion.ADD, node, parseProduct());
+			} else if (c == '-') {
+				pos++;
+				node = operation(CompiledCriterion.SUBTRACT, node, parseProduct());
+			} else {
+				return node;
+			}
+		}
+	}
+
+	private Node parseUnary() {
+		skipSpace();
+		if (pos < text.length() && text.charAt(pos) == '-') {
+			pos++;
+			return operation(CompiledCriterion.NEGATE, parseUnary());
+		}
+		if (pos < text.length() && text.charAt(pos) == '+') {
+			pos++;
+			return parseUnary();
+		}
+		return parsePower();
+	}
+
+	private void skipSpace() {
+		while (pos < text.length() && Character.isWhitespace(text.charAt(pos))) {
+			pos++;
+		}
+	}
+
+}
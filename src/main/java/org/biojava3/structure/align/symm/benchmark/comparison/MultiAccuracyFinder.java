@@ -0,0 +1,157 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava3.structure.align.symm.benchmark.Case;
+import org.biojava3.structure.align.symm.benchmark.Futures;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.census3.CensusSignificance;
+
+/**
+ * Finds a {@link ConfusionMatrix} for each of several {@link CensusSignificance Significance} rules in a single pass
+ * over the cases, as {@link AccuracyFinder} does for one. The parallel version splits the sample into chunks, each
+ * counted by one thread into its own array, and adds up the chunks at the end, so threads never share a counter.
+ * The rules must be safe to call from several threads at once.
+ *
+ * @author dmyerstu
+ */
+public class MultiAccuracyFinder {
+
+	private static final Logger logger = LogManager.getLogger(MultiAccuracyFinder.class.getName());
+
+	private static final int FN = 3;
+	private static final int FP = 1;
+	private static final int TN = 2;
+	private static final int TP = 0;
+
+	private final CensusSignificance[] significances;
+
+	public MultiAccuracyFinder(CensusSignificance... significances) {
+		this.significances = significances.clone();
+	}
+
+	public MultiAccuracyFinder(List<CensusSignificance> significances) {
+		this(significances.toArray(new CensusSignificance[significances.size()]));
+	}
+
+	/**
+	 * @param cases
+	 *            Any Cases, such as from {@link Sample#iterateXML(java.io.File)}; iterated over exactly once
+	 * @return One matrix per rule, in order
+	 */
+	public ConfusionMatrix[] run(Iterable<Case> cases) {
+		long[] counts = new long[4 * significances.length];
+		for (Case c : cases) {
+			count(c, counts);
+		}
+		return toMatrices(counts);
+	}
+
+	/**
+	 * Same as {@link #run(Iterable)}, but on {@code nThreads} threads.
+	 */
+	public ConfusionMatrix[] run(Sample sample, int nThreads) {
+		if (nThreads < 1) throw new IllegalArgumentException("Need at least 1 thread");
+		final List<Case> cases = sample.getData();
+		final int nChunks = Math.min(cases.size(), 4 * nThreads);
+		if (nChunks < 2) return run(cases);
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(nThreads, nChunks));
+		List<Future<long[]>> futures = new ArrayList<Future<long[]>>(nChunks);
+		try {
+			for (int i = 0; i < nChunks; i++) {
+				final List<Case> chunk = cases.subList(cases.size() * i / nChunks, cases.size() * (i + 1) / nChunks);
+				futures.add(pool.submit(new Callable<long[]>() {
+					@Override
+					public long[] call() {
+						long[] counts = new long[4 * significances.length];
+						for (Case c : chunk) {
+							count(c, counts);
+						}
+						return counts;
+					}
+				}));
+			}
+			long[] counts = new long[4 * significances.length];
+			for (Future<long[]> future : futures) {
+				long[] chunkCounts = getCounts(future);
+				for (int k = 0; k < counts.length; k++) {
+					counts[k] += chunkCounts[k];
+				}
+			}
+			return toMatrices(counts);
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private void count(Case c, long[] counts) {
+		final boolean positive;
+		try {
+			positive = c.getKnownInfo().hasRotationalSymmetry();
+		} catch (RuntimeException e) {
+			logger.error("Encountered an error on " + c.getScopId(), e);
+			return;
+		}
+		for (int k = 0; k < significances.length; k++) {
+			try {
+				final boolean significant = significances[k].isSignificant(c.getResult());
+				if (positive) {
+					counts[4 * k + (significant ? TP : FN)]++;
+				} else {
+					counts[4 * k + (significant ? FP : TN)]++;
+				}
+			} catch (RuntimeException e) {
+				logger.error("Encountered an error on " + c.getScopId() + " with rule " + k, e);
+			}
+		}
+	}
+
+	private long[] getCounts(Future<long[]> future) {
+		try {
+			return Futures.getUnchecked(future);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("Could not count a chunk of cases", e.getCause());
+		}
+	}
+
+	private ConfusionMatrix[] toMatrices(long[] counts) {
+		ConfusionMatrix[] matrices = new ConfusionMatrix[significances.length];
+		for (int k = 0; k < matrices.length; k++) {
+			matrices[k] = new ConfusionMatrix(counts[4 * k + TP], counts[4 * k + FP], counts[4 * k + TN],
+					counts[4 * k + FN]);
+		}
+		return matrices;
+	}
+
+}
@@ -0,0 +1,478 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava3.structure.align.symm.benchmark.Case;
+import org.biojava3.structure.align.symm.benchmark.Futures;
+import org.biojava3.structure.align.symm.benchmark.KnownInfo;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+
+/**
+ * Tests whether two ROC curves on the same cases, such as CE-Symm's and SymD's, have different areas. Gives two
+ * p-values for the difference in AUC:
+ * <ul>
+ * <li>DeLong's test, with the O(n log n) variance estimator of Sun &amp; Xu (2014), which needs only midranks</li>
+ * <li>A paired permutation test, which swaps the two scores of each case at random. Each method's scores are first
+ * replaced by their ranks so that they're on the same scale; this doesn't change either AUC.</li>
+ * </ul>
+ * Permutation {@code r} draws from its own {@link SplitMix64#stream(long, long) stream} of the seed, so the p-value
+ * doesn't depend on the number of threads.
+ *
+ * @author dmyerstu
+ */
+public class PairedRocComparison {
+
+	/**
+	 * The outcome of {@link PairedRocComparison#compare(int, long)}.
+	 */
+	public static class Result {
+
+		private final double aucA;
+		private final double aucB;
+		private final double deLongP;
+		private final int nNegatives;
+		private final int nPermutations;
+		private final int nPositives;
+		private final double permutationP;
+		private final long runtime;
+		private final double standardError;
+
+		Result(double aucA, double aucB, double standardError, double deLongP, double permutationP, int nPermutations,
+				int nPositives, int nNegatives, long runtime) {
+			this.aucA = aucA;
+			this.aucB = aucB;
+			this.standardError = standardError;
+			this.deLongP = deLongP;
+			this.permutationP = permutationP;
+			this.nPermutations = nPermutations;
+			this.nPositives = nPositives;
+			this.nNegatives = nNegatives;
+			this.runtime = runtime;
+		}
+
+		public double getAucA() {
+			return aucA;
+		}
+
+		public double getAucB() {
+			return aucB;
+		}
+
+		/**
+		 * @return The p-value of DeLong's two-sided test
+		 */
+		public double getDeLongP() {
+			return deLongP;
+		}
+
+		/**
+		 * @return The AUC of A minus the AUC of B
+		 */
+		public double getDifference() {
+			return aucA - aucB;
+		}
+
+		public int getnNegatives() {
+			return nNegatives;
+		}
+
+		public int getnPermutations() {
+			return nPermutations;
+		}
+
+		public int getnPositives() {
+			return nPositives;
+		}
+
+		/**
+		 * @return The two-sided p-value of the permutation test, or NaN if there were no permutations
+		 */
+		public double getPermutationP() {
+			return permutationP;
+		}
+
+		/**
+		 * @return The time {@link PairedRocComparison#compare(int, long)} took, in milliseconds
+		 */
+		public long getRuntime() {
+			return runtime;
+		}
+
+		/**
+		 * @return DeLong's estimate of the standard error of {@link #getDifference()}
+		 */
+		public double getStandardError() {
+			return standardError;
+		}
+
+		/**
+		 * Prints a tab-delimited header line and a line of values.
+		 */
+		public void print(PrintStream ps) {
+			ps.println("positives\tnegatives\tAUC(A)\tAUC(B)\tdifference\tSE\tDeLong p\tpermutations\tpermutation p\truntime (ms)");
+			ps.println(nPositives + "\t" + nNegatives + "\t" + aucA + "\t" + aucB + "\t" + getDifference() + "\t"
+					+ standardError + "\t" + deLongP + "\t" + nPermutations + "\t" + permutationP + "\t" + runtime);
+		}
+
+		@Override
+		public String toString() {
+			return "Result [difference=" + getDifference() + ", DeLong p=" + deLongP + ", permutation p="
+					+ permutationP + ", runtime=" + runtime + "ms]";
+		}
+	}
+
+	public static final int DEFAULT_PERMUTATIONS = 10000;
+
+	private static final Logger logger = LogManager.getLogger(PairedRocComparison.class.getName());
+
+	/**
+	 * Joins two samples by SCOP Id, using the known symmetry from {@code a}. Cases in only one sample, with no known
+	 * symmetry, or where either {@link Criterion} can't be computed are left out.
+	 */
+	public static PairedRocComparison join(Sample a, Criterion criterionA, Sample b, Criterion criterionB,
+			int nThreads) {
+		final double[] valuesA = criterionA.evaluate(a);
+		final double[] valuesB = criterionB.evaluate(b);
+		Map<String, Integer> indices = new HashMap<String, Integer>();
+		for (int j = 0; j < b.size(); j++) {
+			indices.put(b.getData().get(j).getScopId(), j);
+		}
+		double[] scoresA = new double[a.size()];
+		double[] scoresB = new double[a.size()];
+		boolean[] positive = new boolean[a.size()];
+		int n = 0;
+		for (int i = 0; i < a.size(); i++) {
+			final Case c = a.getData().get(i);
+			final KnownInfo info = c.getKnownInfo();
+			final Integer j = indices.get(c.getScopId());
+			if (info == null || j == null) continue;
+			scoresA[n] = valuesA[i];
+			scoresB[n] = valuesB[j];
+			positive[n] = info.hasRotationalSymmetry();
+			n++;
+		}
+		logger.info("Matched " + n + " of " + a.size() + " cases by SCOP Id");
+		return new PairedRocComparison(Arrays.copyOf(scoresA, n), Arrays.copyOf(scoresB, n),
+				Arrays.copyOf(positive, n), nThreads);
+	}
+
+	/**
+	 * Compares {@link Criterion#tmScore() TM-score} on a CE-Symm benchmark file to {@link Criterion#zScore() Z-score}
+	 * on a SymD benchmark file.
+	 *
+	 * @param args
+	 *            <ol>
+	 *            <li>An input XML file (see {@link Sample}) of CE-Symm benchmark data</li>
+	 *            <li>An input XML file of SymD benchmark data</li>
+	 *            <li>The number of permutations (optional)</li>
+	 *            <li>The seed (optional)</li>
+	 *            </ol>
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println("Usage: " + PairedRocComparison.class.getSimpleName()
+					+ " cesymm-benchmark-file symd-benchmark-file [permutations [seed]]");
+			return;
+		}
+		final int nPermutations = args.length > 2 ? Integer.parseInt(args[2]) : DEFAULT_PERMUTATIONS;
+		final long seed = args.length > 3 ? Long.parseLong(args[3]) : 0;
+		PairedRocComparison comparison = join(Sample.fromXML(new File(args[0])), Criterion.tmScore(),
+				Sample.fromXML(new File(args[1])), Criterion.zScore(), Runtime.getRuntime().availableProcessors());
+		comparison.compare(nPermutations, seed).print(System.out);
+	}
+
+	/**
+	 * The AUC from scores split into positives and negatives, counting ties as half. Sorts both arrays.
+	 */
+	static double auc(double[] positives, double[] negatives) {
+		Arrays.sort(positives);
+		Arrays.sort(negatives);
+		double wins = 0;
+		int below = 0, equal = 0;
+		for (double x : positives) {
+			while (below < negatives.length && negatives[below] < x) {
+				below++;
+			}
+			equal = below;
+			while (equal < negatives.length && negatives[equal] == x) {
+				equal++;
+			}
+			wins += below + (equal - below) / 2.0;
+		}
+		return wins / ((double) positives.length * negatives.length);
+	}
+
+	/**
+	 * @return The covariance matrix of the columns of {@code v}
+	 */
+	private static double[] covariance(double[][] v) {
+		final int n = v[0].length;
+		final double meanA = mean(v[0]), meanB = mean(v[1]);
+		double aa = 0, bb = 0, ab = 0;
+		for (int i = 0; i < n; i++) {
+			final double a = v[0][i] - meanA, b = v[1][i] - meanB;
+			aa += a * a;
+			bb += b * b;
+			ab += a * b;
+		}
+		return new double[] { aa / (n - 1), bb / (n - 1), ab / (n - 1) };
+	}
+
+	private static double mean(double[] values) {
+		double sum = 0;
+		for (double value : values) {
+			sum += value;
+		}
+		return sum / values.length;
+	}
+
+	/**
+	 * @return The 1-based rank of {@code x} in {@code sorted}, averaged over ties
+	 */
+	private static double midrank(double[] sorted, double x) {
+		int lo = 0, hi = sorted.length;
+		while (lo < hi) { // first index >= x
+			final int mid = (lo + hi) >>> 1;
+			if (sorted[mid] < x) lo = mid + 1;
+			else hi = mid;
+		}
+		int last = lo, top = sorted.length;
+		while (last < top) { // first index > x
+			final int mid = (last + top) >>> 1;
+			if (sorted[mid] <= x) last = mid + 1;
+			else top = mid;
+		}
+		return (lo + last + 1) / 2.0;
+	}
+
+	/**
+	 * @return The midrank of each of {@code values} among {@code values}
+	 */
+	private static double[] midranks(double[] values) {
+		double[] sorted = values.clone();
+		Arrays.sort(sorted);
+		double[] ranks = new double[values.length];
+		for (int i = 0; i < values.length; i++) {
+			ranks[i] = midrank(sorted, values[i]);
+		}
+		return ranks;
+	}
+
+	private final int nThreads;
+
+	private final boolean[] positive;
+
+	private final int nPositives;
+
+	private final double[] scoresA;
+
+	private final double[] scoresB;
+
+	/**
+	 * Cases where either score is NaN are left out.
+	 *
+	 * @param positive
+	 *            Whether each case is a (known) positive
+	 * @param nThreads
+	 *            The number of permutations to run at once
+	 */
+	public PairedRocComparison(double[] scoresA, double[] scoresB, boolean[] positive, int nThreads) {
+		if (scoresA.length != scoresB.length || scoresA.length != positive.length) {
+			throw new IllegalArgumentException("Got " + scoresA.length + " and " + scoresB.length + " scores for "
+					+ positive.length + " labels");
+		}
+		if (nThreads < 1) throw new IllegalArgumentException("Need at least 1 thread");
+		this.nThreads = nThreads;
+		int n = 0, nPositives = 0;
+		double[] a = new double[scoresA.length];
+		double[] b = new double[scoresA.length];
+		boolean[] p = new boolean[scoresA.length];
+		for (int i = 0; i < scoresA.length; i++) {
+			if (Double.isNaN(scoresA[i]) || Double.isNaN(scoresB[i])) continue;
+			a[n] = scoresA[i];
+			b[n] = scoresB[i];
+			p[n] = positive[i];
+			if (positive[i]) nPositives++;
+			n++;
+		}
+		this.scoresA = Arrays.copyOf(a, n);
+		this.scoresB = Arrays.copyOf(b, n);
+		this.positive = Arrays.copyOf(p, n);
+		this.nPositives = nPositives;
+	}
+
+	/**
+	 * Runs both tests.
+	 *
+	 * @param nPermutations
+	 *            0 to skip the permutation test
+	 * @param seed
+	 *            The same seed gives the same permutation p-value
+	 * @throws IllegalArgumentException
+	 *             If there are fewer than 2 positives or 2 negatives
+	 */
+	public Result compare(int nPermutations, long seed) {
+		final int nNegatives = positive.length - nPositives;
+		if (nPositives < 2 || nNegatives < 2) {
+			throw new IllegalArgumentException("Need at least 2 positives and 2 negatives; got " + nPositives + " and "
+					+ nNegatives);
+		}
+		if (nPermutations < 0) throw new IllegalArgumentException("The number of permutations can't be negative");
+		final long start = System.currentTimeMillis();
+
+		// DeLong's structural components, from midranks
+		double[][] v10 = new double[2][nPositives];
+		double[][] v01 = new double[2][nNegatives];
+		double[] aucs = new double[2];
+		for (int k = 0; k < 2; k++) {
+			final double[] scores = k == 0 ? scoresA : scoresB;
+			double[] x = new double[nPositives];
+			double[] y = new double[nNegatives];
+			split(scores, x, y);
+			final double[] all = scores.clone();
+			Arrays.sort(all);
+			final double[] tx = midranks(x), ty = midranks(y);
+			for (int i = 0; i < nPositives; i++) {
+				v10[k][i] = (midrank(all, x[i]) - tx[i]) / nNegatives;
+				aucs[k] += v10[k][i];
+			}
+			aucs[k] /= nPositives;
+			for (int j = 0; j < nNegatives; j++) {
+				v01[k][j] = 1 - (midrank(all, y[j]) - ty[j]) / nPositives;
+			}
+		}
+		final double[] s10 = covariance(v10), s01 = covariance(v01);
+		final double variance = (s10[0] + s10[1] - 2 * s10[2]) / nPositives + (s01[0] + s01[1] - 2 * s01[2])
+				/ nNegatives;
+		final double difference = aucs[0] - aucs[1];
+		final double standardError = Math.sqrt(Math.max(0, variance));
+		final double deLongP;
+		if (standardError == 0) {
+			deLongP = difference == 0 ? 1 : 0;
+		} else {
+			deLongP = 2 * new NormalDistribution().cumulativeProbability(-Math.abs(difference) / standardError);
+		}
+
+		final double permutationP = nPermutations == 0 ? Double.NaN : permute(Math.abs(difference), nPermutations,
+				seed);
+
+		final long runtime = System.currentTimeMillis() - start;
+		logger.info("Compared AUCs " + aucs[0] + " and " + aucs[1] + " in " + runtime + "ms");
+		return new Result(aucs[0], aucs[1], standardError, deLongP, permutationP, nPermutations, nPositives,
+				nNegatives, runtime);
+	}
+
+	/**
+	 * @return The fraction of permutations, counting the identity, whose difference in AUC is at least
+	 *         {@code observed} in absolute value
+	 */
+	private double permute(double observed, int nPermutations, final long seed) {
+
+		final double[] ranksA = midranks(scoresA), ranksB = midranks(scoresB);
+		final double threshold = observed - 1e-12; // don't lose ties to rounding
+		final int[] counts = new int[Math.min(nPermutations, 4 * nThreads)];
+
+		ExecutorService pool = Executors.newFixedThreadPool(Math.min(nThreads, counts.length));
+		List<Future<?>> futures = new ArrayList<Future<?>>(counts.length);
+		try {
+			for (int c = 0; c < counts.length; c++) {
+				final int chunk = c;
+				final int start = (int) ((long) nPermutations * c / counts.length);
+				final int end = (int) ((long) nPermutations * (c + 1) / counts.length);
+				futures.add(pool.submit(new Callable<Void>() {
+					@Override
+					public Void call() {
+						double[] xA = new double[nPositives], yA = new double[positive.length - nPositives];
+						double[] xB = new double[xA.length], yB = new double[yA.length];
+						for (int r = start; r < end; r++) {
+							SplitMix64 random = SplitMix64.stream(seed, r);
+							int p = 0, q = 0;
+							for (int i = 0; i < positive.length; i++) {
+								final boolean swap = random.nextLong() < 0;
+								final double a = swap ? ranksB[i] : ranksA[i];
+								final double b = swap ? ranksA[i] : ranksB[i];
+								if (positive[i]) {
+									xA[p] = a;
+									xB[p++] = b;
+								} else {
+									yA[q] = a;
+									yB[q++] = b;
+								}
+							}
+							if (Math.abs(auc(xA, yA) - auc(xB, yB)) >= threshold) counts[chunk]++;
+						}
+						return null;
+					}
+				}));
+			}
+			for (Future<?> future : futures) {
+				await(future);
+			}
+		} finally {
+			pool.shutdownNow();
+		}
+
+		int count = 0;
+		for (int c : counts) {
+			count += c;
+		}
+		return (count + 1.0) / (nPermutations + 1.0);
+	}
+
+	private void await(Future<?> future) {
+		try {
+			Futures.getUnchecked(future);
+		} catch (ExecutionException e) {
+			throw new RuntimeException("A permutation failed", e.getCause());
+		}
+	}
+
+	private void split(double[] scores, double[] positives, double[] negatives) {
+		int p = 0, q = 0;
+		for (int i = 0; i < scores.length; i++) {
+			if (positive[i]) {
+				positives[p++] = scores[i];
+			} else {
+				negatives[q++] = scores[i];
+			}
+		}
+	}
+
+}
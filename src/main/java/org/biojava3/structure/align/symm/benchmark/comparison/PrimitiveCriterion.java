@@ -0,0 +1,48 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import org.biojava3.structure.align.symm.census3.CensusResult;
+
+/**
+ * A {@link Criterion} that returns NaN from {@link #value(CensusResult)} where it can't be computed, rather than
+ * throwing a {@link NoncomputableCriterionException}. Only {@link #get(CensusResult)} throws, for callers that want the
+ * exception.
+ *
+ * @author dmyerstu
+ */
+public abstract class PrimitiveCriterion extends Criterion {
+
+	@Override
+	public double get(CensusResult result) throws NoncomputableCriterionException {
+		final double value = value(result);
+		if (Double.isNaN(value)) {
+			throw new NoncomputableCriterionException(getName() + " can't be computed on " + result.getId());
+		}
+		return value;
+	}
+
+	@Override
+	public abstract double value(CensusResult result);
+
+}
@@ -26,20 +26,15 @@ import java.io.File;
 import java.io.IOException;
 import java.io.PrintStream;
 import java.io.PrintWriter;
-import java.text.DecimalFormat;
-import java.text.NumberFormat;
 import java.util.ArrayList;
-import java.util.Comparator;
-import java.util.Iterator;
 import java.util.List;
-import java.util.Random;
-import java.util.SortedSet;
-import java.util.TreeSet;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.biojava3.structure.align.symm.benchmark.Case;
 import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
 import org.jfree.chart.ChartFactory;
 import org.jfree.chart.ChartUtilities;
 import org.jfree.chart.JFreeChart;
@@ -48,7 +43,8 @@ import org.jfree.data.xy.XYSeries;
 import org.jfree.data.xy.XYSeriesCollection;
 
 /**
- * Generates and plots ROC curves for {@link Criterion Criteria} on a benchmark {@link Sample}.
+ * Generates and plots ROC curves for {@link Criterion Criteria}, including {@link CompiledCriterion compiled formulas}, on a
+ * benchmark {@link Sample}.
  * 
  * @author dmyerstu
  */
@@ -60,7 +56,7 @@ public class ROCCurves {
 
 	private static final int DEFAULT_WIDTH = 1600;
 
-	private List<Criterion> criteria;
+	private List<? extends Criterion> criteria;
 
 	private XYSeriesCollection dataset;
 
@@ -93,10 +89,11 @@ public class ROCCurves {
 	}
 
 	/**
-	 * Does two things:
+	 * Does three things:
 	 * <ol>
 	 * <li>Prints an ROC curve of the CE-Symm data to {@code ceSymmOutput}</li>
 	 * <li>Prints a list of data points for CE-Symm to standard output (for graphing in a spreadsheet)</li>
+	 * <li>Prints the AUC and partial AUC of each criterion with bootstrap confidence intervals</li>
 	 * </ol>
 	 * @param input A benchmark XML file (see {@link Sample}) containing data from CE-Symm
 	 * @param ceSymmOutput
@@ -114,6 +111,7 @@ public class ROCCurves {
 			ceSymmRocs.printMatrices(System.out);
 			// print text
 			ceSymmRocs.printText();
+			ceSymmRocs.printAucs(System.out, 0.1, 0, Runtime.getRuntime().availableProcessors());
 
 		} catch (IOException e) {
 			throw new RuntimeException(e);
@@ -151,13 +149,35 @@ public class ROCCurves {
 //		}
 	}
 
+	/**
+	 * Computes the {@link RocCurve} of a single score without touching a {@link Case}. Cases with no known symmetry or a
+	 * NaN score are left out.
+	 */
+	public static XYSeries getRocPoints(SampleColumns columns, ScoreColumn column) {
+		return getRocPoints(columns, columns.getColumn(column), column.name());
+	}
+
+	/**
+	 * Computes the ROC curve of a compiled formula in the same way as {@link #getRocPoints(SampleColumns, ScoreColumn)}.
+	 */
+	public static XYSeries getRocPoints(SampleColumns columns, CompiledCriterion criterion) {
+		return getRocPoints(columns, criterion.evaluate(columns), criterion.getName());
+	}
+
+	private static XYSeries getRocPoints(SampleColumns columns, double[] values, String name) {
+		RocCurve curve = RocCurve.compute(columns, values);
+		logger.info("Computed series " + name + " with " + curve.getnPositives() + " symmetric and "
+				+ curve.getnNegatives() + " asymmetric");
+		return curve.toSeries(name);
+	}
+
 	/**
 	 * @see #ROCCurves(Sample, List)
 	 * @param sampleFile
 	 * @param criteria
 	 * @throws IOException
 	 */
-	public ROCCurves(File sampleFile, List<Criterion> criteria) throws IOException {
+	public ROCCurves(File sampleFile, List<? extends Criterion> criteria) throws IOException {
 		this(Sample.fromXML(sampleFile), criteria);
 	}
 
@@ -166,7 +186,7 @@ public class ROCCurves {
 	 * @param sample
 	 * @param criteria
 	 */
-	public ROCCurves(Sample sample, List<Criterion> criteria) {
+	public ROCCurves(Sample sample, List<? extends Criterion> criteria) {
 		List<Case> cases = new ArrayList<Case>(sample.size());
 		for (Case c : sample.getData()) {
 			try {
@@ -234,46 +254,28 @@ public class ROCCurves {
 	}
 
 	public void printMatrices(PrintStream ps) {
-		List<Case> positive = new ArrayList<Case>();
-		for (Case c : sample.getData()) {
-			if (c.getKnownInfo().hasRotationalSymmetry()) {
-				positive.add(c);
-			}
-		}
-		List<Case> negative = new ArrayList<Case>();
-		for (Case c : sample.getData()) {
-			if (!c.getKnownInfo().hasRotationalSymmetry()) {
-				negative.add(c);
-			}
+		double[][] values = new double[criteria.size()][];
+		for (int j = 0; j < criteria.size(); j++) {
+			values[j] = criteria.get(j).evaluate(sample);
 		}
 		ps.println("------------------POSITIVE------------------");
-		for (Case c : positive) {
-			Iterator<Criterion> iter = criteria.iterator();
-			while (iter.hasNext()) {
-				double value = -1;
-				try {
-					value = iter.next().get(c.getResult());
-				} catch (NoncomputableCriterionException e) {
-					e.printStackTrace();
-				}
-				ps.print(value);
-				if (iter.hasNext()) ps.print("\t");
-			}
-			ps.println();
-		}
+		printMatrix(ps, values, true);
 		ps.println(); ps.println();
 		ps.println("------------------NEGATIVE------------------");
-		for (Case c : negative) {
-			Iterator<Criterion> iter = criteria.iterator();
-			while (iter.hasNext()) {
-				double value = -1;
-				try {
-					value = iter.next().get(c.getResult());
-				} catch (NoncomputableCriterionException e) {
-					e.printStackTrace();
-				}
-				ps.print(value);
-				if (iter.hasNext()) ps.print("\t");
+		printMatrix(ps, values, false);
+	}
+
+	/**
+	 * Prints a line of values for each case that is symmetric or not, as {@code positive} says; -1 where a
+	 * {@link Criterion} can't be computed.
+	 */
+	private void printMatrix(PrintStream ps, double[][] values, boolean positive) {
+		final List<Case> cases = sample.getData();
+		for (int i = 0; i < cases.size(); i++) {
+			if (cases.get(i).getKnownInfo().hasRotationalSymmetry() != positive) continue;
+			for (int j = 0; j < values.length; j++) {
+				ps.print(Double.isNaN(values[j][i]) ? -1.0 : values[j][i]);
+				if (j < values.length - 1) ps.print("\t");
 			}
 			ps.println();
 		}
@@ -311,48 +313,40 @@ public class ROCCurves {
 		}
 	}
 
-	private List<Case> resort(final Criterion criterion) {
-
-		// we want to sort by the scoring criterion
-		Comparator<Case> comparator = new Comparator<Case>() {
-			Random random = new Random();
-
-			@Override
-			public int compare(Case o1, Case o2) {
-
-				// this is the only case where we'll return 0
-				if (o1.equals(o2)) return 0;
-
-				try {
-					double c1 = criterion.get(o1.getResult());
-					double c2 = criterion.get(o2.getResult());
-					if (c1 < c2) return 1;
-					if (c1 > c2) return -1;
-				} catch (NoncomputableCriterionException e) {
-					throw new IllegalArgumentException(e);
-				}
-
-				// select randomly when there's a tie
-				return random.nextBoolean() ? 1 : -1;
-
-			}
-		};
+	/**
+	 * @return The ROC curve of {@code criterion} on the sample; cases it can't be computed on are left out
+	 */
+	public RocCurve getRocCurve(Criterion criterion) {
+		return RocCurve.compute(criterion.evaluate(sample), getPositives());
+	}
 
-		SortedSet<Case> cases = new TreeSet<Case>(comparator);
-		for (Case c : sample.getData()) {
-			try {
-				criterion.get(c.getResult());
-			} catch (NoncomputableCriterionException e) { // this shouldn't happen since we've already initialized
-				logger.error("Can't compute " + criterion.getName() + " on " + c.getScopId());
-				continue;
-			}
-			cases.add(c);
+	/**
+	 * Prints a tab-delimited line per {@link Criterion} with its AUC and its partial AUC up to {@code maxFpr}, each
+	 * followed by the bounds of a 95% bootstrap confidence interval.
+	 *
+	 * @param seed
+	 *            The same seed gives the same intervals
+	 */
+	public void printAucs(PrintStream ps, double maxFpr, long seed, int nThreads) {
+		final boolean[] positive = getPositives();
+		ps.println("criterion\tAUC\tlower\tupper\tpAUC(" + maxFpr + ")\tlower\tupper");
+		for (Criterion criterion : criteria) {
+			AucBootstrap bootstrap = new AucBootstrap(criterion.evaluate(sample), positive, nThreads);
+			AucBootstrap.Interval auc = bootstrap.getAuc(seed);
+			AucBootstrap.Interval partial = bootstrap.getPartialAuc(maxFpr, AucBootstrap.DEFAULT_REPLICATES,
+					AucBootstrap.DEFAULT_LEVEL, seed);
+			ps.println(criterion.getName() + "\t" + auc.getEstimate() + "\t" + auc.getLower() + "\t" + auc.getUpper()
+					+ "\t" + partial.getEstimate() + "\t" + partial.getLower() + "\t" + partial.getUpper());
 		}
+	}
 
-		// use a list to decrease overall time-complexity
-		List<Case> caseList = new ArrayList<Case>(cases.size());
-		caseList.addAll(cases);
-		return caseList;
+	private boolean[] getPositives() {
+		final List<Case> cases = sample.getData();
+		boolean[] positive = new boolean[cases.size()];
+		for (int i = 0; i < positive.length; i++) {
+			positive[i] = cases.get(i).getKnownInfo().hasRotationalSymmetry();
+		}
+		return positive;
 	}
 
 	public XYSeriesCollection getRocPoints() {
@@ -362,67 +356,10 @@ public class ROCCurves {
 		XYSeriesCollection dataset = new XYSeriesCollection();
 
 		for (Criterion criterion : criteria) {
-
-			// get the cases sorted by the current criterion
-			// this should contain only computable values
-			List<Case> cases = resort(criterion);
-			XYSeries series = new XYSeries(criterion.getName());
-
-			/*
-			 * Instead of creating a new subsample each time,
-			 * start with the minimal (size=0) subsample, then incrementally add cases to the subsample,
-			 * and increment true positives (tp; y) or false positives (fp; x) each iteration
-			 * This is equivalent to creating a totally new subsample each time,
-			 * but it's O(nlogn) + O(n) rather than O(nlogn) + O(n^2).
-			 */
-			int tp = 0, fp = 0;
-
-			/*
-			 * We need updated statistics for the number of positive and negative known values.
-			 * This is because data points may not exist for this criterion (or we may have new data points).
-			 */
-			int nSymm = 0, nAsymm = 0;
-			for (Case c: cases) {
-				if (c.getKnownInfo().hasRotationalSymmetry()) {
-					nSymm++;
-				} else {
-					nAsymm++;
-				}
-			}
-
-			for (Case c : cases) {
-
-				// get the new x and y points
-				double x, y;
-				if (c.getKnownInfo().hasRotationalSymmetry()) {
-					tp++;
-				} else {
-					fp++;
-				}
-				y = (double) tp / (double) nSymm;
-				x = (double) fp / (double) nAsymm;
-
-				// now just add the data point
-				NumberFormat nf = new DecimalFormat();
-				nf.setMaximumFractionDigits(3);
-				if (c.getKnownInfo().hasRotationalSymmetry()) {
-					logger.debug(c.getScopId() + " (" + c.getKnownInfo() + ")" + " is symmetric: (" + nf.format(x)
-							+ ", " + nf.format(y) + ")");
-				} else {
-					logger.debug(c.getScopId() + " (" + c.getKnownInfo() + ")" + " is asymmetric: (" + nf.format(x)
-							+ ", " + nf.format(y) + ")");
-				}
-				series.add(x, y);
-
-			}
-
-			logger.info("Adding series " + criterion.getName() + " with " + nSymm + " symmetric and " + nAsymm
-					+ " asymmetric:");
-
-			// add the series to the collection
-			series.setDescription(criterion.getName());
-			dataset.addSeries(series);
-
+			RocCurve curve = getRocCurve(criterion);
+			logger.info("Adding series " + criterion.getName() + " with " + curve.getnPositives() + " symmetric and "
+					+ curve.getnNegatives() + " asymmetric");
+			dataset.addSeries(curve.toSeries(criterion.getName()));
 		}
 
 		return dataset;
@@ -0,0 +1,241 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.util.Arrays;
+
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.jfree.data.xy.XYSeries;
+
+/**
+ * An ROC curve with one point per distinct score, from the highest threshold to the lowest. Point 0 is at the origin,
+ * with an infinite threshold; point {@code i} counts the cases that score at least {@link #getThreshold(int)}. Ties
+ * are a single step, so the curve doesn't depend on the order of the cases.
+ *
+ * @author dmyerstu
+ */
+public class RocCurve {
+
+	/**
+	 * Computes the curve in O(n log n): sorts the scores of the positive and negative cases separately, then merges
+	 * them from the highest down. NaN scores are left out.
+	 *
+	 * @param positive
+	 *            Whether each case is a (known) positive
+	 */
+	public static RocCurve compute(double[] scores, boolean[] positive) {
+		if (scores.length != positive.length) {
+			throw new IllegalArgumentException("Got " + scores.length + " scores for " + positive.length + " labels");
+		}
+		double[] positives = new double[scores.length];
+		double[] negatives = new double[scores.length];
+		int nPositives = 0, nNegatives = 0;
+		for (int i = 0; i < scores.length; i++) {
+			if (Double.isNaN(scores[i])) continue;
+			if (positive[i]) {
+				positives[nPositives++] = scores[i];
+			} else {
+				negatives[nNegatives++] = scores[i];
+			}
+		}
+		return compute(positives, nPositives, negatives, nNegatives);
+	}
+
+	/**
+	 * Uses the cases in {@code columns} with a known symmetry, calling those with rotational symmetry positive.
+	 *
+	 * @param scores
+	 *            One per case in {@code columns}
+	 */
+	public static RocCurve compute(SampleColumns columns, double[] scores) {
+		if (scores.length != columns.size()) {
+			throw new IllegalArgumentException("Got " + scores.length + " scores for " + columns.size() + " cases");
+		}
+		double[] positives = new double[scores.length];
+		double[] negatives = new double[scores.length];
+		int nPositives = 0, nNegatives = 0;
+		for (int i = 0; i < scores.length; i++) {
+			if (!columns.isKnown(i) || Double.isNaN(scores[i])) continue;
+			if (columns.isPositive(i)) {
+				positives[nPositives++] = scores[i];
+			} else {
+				negatives[nNegatives++] = scores[i];
+			}
+		}
+		return compute(positives, nPositives, negatives, nNegatives);
+	}
+
+	/**
+	 * Uses the first {@code nPositives} and {@code nNegatives} scores, which must not be NaN, and sorts them in place.
+	 */
+	static RocCurve compute(double[] positives, int nPositives, double[] negatives, int nNegatives) {
+
+		Arrays.sort(positives, 0, nPositives);
+		Arrays.sort(negatives, 0, nNegatives);
+
+		// at most one point per case, plus the origin
+		double[] thresholds = new double[nPositives + nNegatives + 1];
+		int[] tps = new int[thresholds.length];
+		int[] fps = new int[thresholds.length];
+		thresholds[0] = Double.POSITIVE_INFINITY;
+		int n = 1;
+
+		int p = nPositives - 1, q = nNegatives - 1;
+		int tp = 0, fp = 0;
+		while (p >= 0 || q >= 0) {
+			final double threshold;
+			if (p < 0) {
+				threshold = negatives[q];
+			} else if (q < 0) {
+				threshold = positives[p];
+			} else {
+				threshold = Math.max(positives[p], negatives[q]);
+			}
+			while (p >= 0 && positives[p] == threshold) {
+				tp++;
+				p--;
+			}
+			while (q >= 0 && negatives[q] == threshold) {
+				fp++;
+				q--;
+			}
+			thresholds[n] = threshold;
+			tps[n] = tp;
+			fps[n] = fp;
+			n++;
+		}
+
+		return new RocCurve(Arrays.copyOf(thresholds, n), Arrays.copyOf(tps, n), Arrays.copyOf(fps, n), nPositives,
+				nNegatives);
+	}
+
+	/**
+	 * @return The area under the line from (x0, y0) to (x1, y1) that lies left of {@code maxX}
+	 */
+	static double segmentArea(double x0, double y0, double x1, double y1, double maxX) {
+		if (x0 >= maxX) return 0;
+		if (x1 <= maxX) return (x1 - x0) * (y0 + y1) / 2;
+		final double y = y0 + (y1 - y0) * (maxX - x0) / (x1 - x0);
+		return (maxX - x0) * (y0 + y) / 2;
+	}
+
+	private final int[] fps;
+
+	private final int nNegatives;
+
+	private final int nPositives;
+
+	private final double[] thresholds;
+
+	private final int[] tps;
+
+	private RocCurve(double[] thresholds, int[] tps, int[] fps, int nPositives, int nNegatives) {
+		this.thresholds = thresholds;
+		this.tps = tps;
+		this.fps = fps;
+		this.nPositives = nPositives;
+		this.nNegatives = nNegatives;
+	}
+
+	/**
+	 * @return The exact area under the curve by the trapezoidal rule, which counts a tie between a positive and a
+	 *         negative as half; NaN if there are no positives or no negatives
+	 */
+	public double getAuc() {
+		return getPartialAuc(1);
+	}
+
+	/**
+	 * @return The number of negatives scoring at least the {@code i}th threshold
+	 */
+	public int getFp(int i) {
+		return fps[i];
+	}
+
+	public double getFalsePositiveRate(int i) {
+		return (double) fps[i] / (double) nNegatives;
+	}
+
+	public int getnNegatives() {
+		return nNegatives;
+	}
+
+	public int getnPositives() {
+		return nPositives;
+	}
+
+	/**
+	 * @return The (unnormalized) area under the curve for false-positive rates up to {@code maxFpr}, interpolating
+	 *         linearly across {@code maxFpr}; NaN if there are no positives or no negatives
+	 */
+	public double getPartialAuc(double maxFpr) {
+		if (maxFpr <= 0 || maxFpr > 1) throw new IllegalArgumentException("The false-positive rate must be in (0, 1]");
+		if (nPositives == 0 || nNegatives == 0) return Double.NaN;
+		double area = 0;
+		for (int i = 1; i < thresholds.length; i++) {
+			area += segmentArea(getFalsePositiveRate(i - 1), getTruePositiveRate(i - 1), getFalsePositiveRate(i),
+					getTruePositiveRate(i), maxFpr);
+		}
+		return area;
+	}
+
+	public double getThreshold(int i) {
+		return thresholds[i];
+	}
+
+	/**
+	 * @return The number of positives scoring at least the {@code i}th threshold
+	 */
+	public int getTp(int i) {
+		return tps[i];
+	}
+
+	public double getTruePositiveRate(int i) {
+		return (double) tps[i] / (double) nPositives;
+	}
+
+	/**
+	 * @return The number of points, including the origin
+	 */
+	public int size() {
+		return thresholds.length;
+	}
+
+	/**
+	 * @return The points as (false-positive rate, true-positive rate)
+	 */
+	public XYSeries toSeries(String name) {
+		XYSeries series = new XYSeries(name, false, true);
+		for (int i = 0; i < thresholds.length; i++) {
+			series.add(getFalsePositiveRate(i), getTruePositiveRate(i), false);
+		}
+		series.setDescription(name);
+		return series;
+	}
+
+	@Override
+	public String toString() {
+		return "RocCurve [" + size() + " points, " + nPositives + " positives, " + nNegatives + " negatives]";
+	}
+
+}
@@ -0,0 +1,81 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+/**
+ * A small, fast, splittable random number generator (SplitMix64, as in Steele, Lea & Flood 2014). Not thread-safe; give
+ * each task its own {@link #stream(long, long) stream}, so results don't depend on how the tasks are scheduled.
+ *
+ * @author dmyerstu
+ */
+public class SplitMix64 {
+
+	private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+
+	private static long mix(long z) {
+		z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+		z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+		return z ^ (z >>> 31);
+	}
+
+	/**
+	 * @return The {@code index}th of a family of independent generators determined by {@code seed}
+	 */
+	public static SplitMix64 stream(long seed, long index) {
+		return new SplitMix64(mix(seed) ^ mix(index * GOLDEN_GAMMA + GOLDEN_GAMMA));
+	}
+
+	private long state;
+
+	public SplitMix64(long seed) {
+		state = seed;
+	}
+
+	/**
+	 * @return A uniform value in [0, 1)
+	 */
+	public double nextDouble() {
+		return (nextLong() >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * @return A uniform value in [0, {@code bound})
+	 */
+	public int nextInt(int bound) {
+		if (bound <= 0) throw new IllegalArgumentException("The bound must be positive");
+		return (int) (((nextLong() >>> 32) * bound) >>> 32);
+	}
+
+	public long nextLong() {
+		state += GOLDEN_GAMMA;
+		return mix(state);
+	}
+
+	/**
+	 * @return A new generator, independent of this one, which advances by one value
+	 */
+	public SplitMix64 split() {
+		return new SplitMix64(mix(nextLong()));
+	}
+
+}
@@ -0,0 +1,263 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.io.PrintWriter;
+import java.util.Arrays;
+
+import org.biojava3.structure.align.symm.benchmark.KnownInfo;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+
+/**
+ * The accuracy and ROC curve of a score on each kind of known symmetry, such as dihedral or order 3. The cases in a
+ * {@link Stratum} are the positives, and each is compared against the same negatives: the cases known to be
+ * asymmetric. A case is significant when its score is at least the threshold; NaN is never significant.
+ * <p>
+ * The strata come from the {@link KnownInfo#getFlags() flags} and known orders in {@link SampleColumns}, and every
+ * stratum is filled in the same pass over the cases.
+ *
+ * @author dmyerstu
+ */
+public class StratifiedAccuracy {
+
+	/**
+	 * A kind of known symmetry.
+	 */
+	public static enum Stratum {
+
+		ROTATIONAL("C+D", KnownInfo.ROTATIONAL, 0), CYCLIC("C", KnownInfo.CYCLIC, 0), DIHEDRAL("D", KnownInfo.DIHEDRAL,
+				0), HELICAL("H", KnownInfo.HELICAL, 0), TRANSLATIONAL("R", KnownInfo.TRANSLATIONAL, 0), EVEN("even",
+				KnownInfo.ROTATIONAL | KnownInfo.TRUE_HELICAL, -2), ODD("odd", KnownInfo.ROTATIONAL
+				| KnownInfo.TRUE_HELICAL, -1), ORDER_2("2"), ORDER_3("3"), ORDER_4("4"), ORDER_5("5"), ORDER_6("6"),
+		ORDER_7("7"), ORDER_8("8");
+
+		private final int flags;
+
+		private final String name;
+
+		/**
+		 * The order, or -2 for any even order, -1 for any odd order, and 0 for any order
+		 */
+		private final int order;
+
+		/**
+		 * Rotational or true helical symmetry of order {@code name}.
+		 */
+		private Stratum(String name) {
+			this(name, KnownInfo.ROTATIONAL | KnownInfo.TRUE_HELICAL, Integer.parseInt(name));
+		}
+
+		private Stratum(String name, int flags, int order) {
+			this.name = name;
+			this.flags = flags;
+			this.order = order;
+		}
+
+		/**
+		 * @return Whether a case with known {@link KnownInfo#getFlags() flags} and order is in this stratum
+		 */
+		public boolean contains(byte knownFlags, int knownOrder) {
+			if ((knownFlags & flags) == 0) return false;
+			if (order == -2) return knownOrder % 2 == 0;
+			if (order == -1) return knownOrder % 2 == 1;
+			return order == 0 || knownOrder == order;
+		}
+
+		@Override
+		public String toString() {
+			return name;
+		}
+	}
+
+	/**
+	 * Prints the table for a benchmark file as TSV, and optionally as JSON.
+	 *
+	 * @param args
+	 *            <ol>
+	 *            <li>An input XML file (see {@link Sample}) of benchmark data</li>
+	 *            <li>A formula for {@link CompiledCriterion#compile(String)} (optional; defaults to {@code tm})</li>
+	 *            <li>The threshold (optional; defaults to 0.4)</li>
+	 *            <li>A JSON file to write (optional)</li>
+	 *            </ol>
+	 */
+	public static void main(String[] args) throws IOException {
+		if (args.length < 1 || args.length > 4) {
+			System.err.println("Usage: " + StratifiedAccuracy.class.getSimpleName()
+					+ " input-file [formula [threshold [output-json-file]]]");
+			return;
+		}
+		SampleColumns columns = Sample.fromXML(new File(args[0])).toColumns();
+		CompiledCriterion criterion = CompiledCriterion.compile(args.length > 1 ? args[1] : "tm");
+		final double threshold = args.length > 2 ? Double.parseDouble(args[2]) : 0.4;
+		StratifiedAccuracy accuracy = new StratifiedAccuracy(columns, criterion.evaluate(columns), threshold);
+		accuracy.printTsv(System.out);
+		if (args.length > 3) {
+			PrintWriter pw = new PrintWriter(new FileWriter(args[3]));
+			try {
+				pw.println(accuracy.toJson());
+			} finally {
+				pw.close();
+			}
+		}
+	}
+
+	private static String toJson(double value) {
+		return Double.isNaN(value) || Double.isInfinite(value) ? "null" : String.valueOf(value);
+	}
+
+	private final int[] fns;
+
+	private final int fp;
+
+	private final double[] negatives;
+
+	/**
+	 * The number of non-NaN scores in each of {@link #positives}
+	 */
+	private final int[] nScores;
+
+	private final double[][] positives;
+
+	private final double threshold;
+
+	private final int tn;
+
+	private final int[] tps;
+
+	public StratifiedAccuracy(Sample sample, Criterion criterion, double threshold) {
+		this(sample.toColumns(), criterion.evaluate(sample), threshold);
+	}
+
+	/**
+	 * @param scores
+	 *            One per case in {@code columns}
+	 */
+	public StratifiedAccuracy(SampleColumns columns, double[] scores, double threshold) {
+		if (scores.length != columns.size()) {
+			throw new IllegalArgumentException("Got " + scores.length + " scores for " + columns.size() + " cases");
+		}
+		this.threshold = threshold;
+		final Stratum[] strata = Stratum.values();
+		final byte[] flags = columns.getFlags();
+		final int[] knownOrders = columns.getKnownOrders();
+		tps = new int[strata.length];
+		fns = new int[strata.length];
+		nScores = new int[strata.length];
+		positives = new double[strata.length][16];
+		double[] negatives = new double[16];
+		int nNegatives = 0, fp = 0, tn = 0;
+		for (int i = 0; i < scores.length; i++) {
+			if (!columns.isKnown(i)) continue;
+			final boolean significant = scores[i] >= threshold;
+			if ((flags[i] & KnownInfo.ASYMMETRIC) != 0) {
+				if (significant) {
+					fp++;
+				} else {
+					tn++;
+				}
+				if (Double.isNaN(scores[i])) continue;
+				if (nNegatives == negatives.length) negatives = Arrays.copyOf(negatives, 2 * nNegatives);
+				negatives[nNegatives++] = scores[i];
+				continue;
+			}
+			for (int s = 0; s < strata.length; s++) {
+				if (!strata[s].contains(flags[i], knownOrders[i])) continue;
+				if (significant) {
+					tps[s]++;
+				} else {
+					fns[s]++;
+				}
+				if (Double.isNaN(scores[i])) continue;
+				if (nScores[s] == positives[s].length) positives[s] = Arrays.copyOf(positives[s], 2 * nScores[s]);
+				positives[s][nScores[s]++] = scores[i];
+			}
+		}
+		this.negatives = Arrays.copyOf(negatives, nNegatives);
+		this.fp = fp;
+		this.tn = tn;
+	}
+
+	/**
+	 * @return The area under {@link #getRocCurve(Stratum)}
+	 */
+	public double getAuc(Stratum stratum) {
+		return getRocCurve(stratum).getAuc();
+	}
+
+	/**
+	 * @return The matrix with the cases in {@code stratum} as positives and the asymmetric cases as negatives
+	 */
+	public ConfusionMatrix getMatrix(Stratum stratum) {
+		return new ConfusionMatrix(tps[stratum.ordinal()], fp, tn, fns[stratum.ordinal()]);
+	}
+
+	/**
+	 * @return The curve with the cases in {@code stratum} as positives and the asymmetric cases as negatives, leaving
+	 *         out NaN scores
+	 */
+	public RocCurve getRocCurve(Stratum stratum) {
+		final int s = stratum.ordinal();
+		return RocCurve.compute(positives[s].clone(), nScores[s], negatives.clone(), negatives.length);
+	}
+
+	public double getThreshold() {
+		return threshold;
+	}
+
+	/**
+	 * Prints a tab-delimited line per {@link Stratum}, after a header line.
+	 */
+	public void printTsv(PrintStream ps) {
+		ps.println("stratum\tn\tTP\tFN\tsensitivity\tFP\tTN\tspecificity\tAUC");
+		for (Stratum stratum : Stratum.values()) {
+			final ConfusionMatrix matrix = getMatrix(stratum);
+			ps.println(stratum + "\t" + (matrix.getTp() + matrix.getFn()) + "\t" + matrix.getTp() + "\t"
+					+ matrix.getFn() + "\t" + matrix.getRecall() + "\t" + fp + "\t" + tn + "\t"
+					+ (1 - matrix.getFalsePositiveRate()) + "\t" + getAuc(stratum));
+		}
+	}
+
+	/**
+	 * @return The same table as {@link #printTsv(PrintStream)}, as a JSON object; null where a value is undefined
+	 */
+	public String toJson() {
+		StringBuilder sb = new StringBuilder();
+		sb.append("{\"threshold\": " + toJson(threshold) + ", \"fp\": " + fp + ", \"tn\": " + tn + ", \"strata\": [");
+		final Stratum[] strata = Stratum.values();
+		for (int s = 0; s < strata.length; s++) {
+			final ConfusionMatrix matrix = getMatrix(strata[s]);
+			sb.append("\n  {\"stratum\": \"" + strata[s] + "\", \"n\": " + (matrix.getTp() + matrix.getFn())
+					+ ", \"tp\": " + matrix.getTp() + ", \"fn\": " + matrix.getFn() + ", \"sensitivity\": "
+					+ toJson(matrix.getRecall()) + ", \"auc\": " + toJson(getAuc(strata[s])) + "}");
+			if (s < strata.length - 1) sb.append(",");
+		}
+		sb.append("\n]}");
+		return sb.toString();
+	}
+
+}
@@ -0,0 +1,267 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import java.util.Arrays;
+import java.util.List;
+
+import org.biojava3.structure.align.symm.benchmark.Case;
+import org.biojava3.structure.align.symm.benchmark.KnownInfo;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.census3.CensusResult;
+import org.biojava3.structure.align.symm.census3.CensusSignificance;
+
+/**
+ * The {@link ConfusionMatrix} of a {@link Criterion} at every possible cutoff, where a case is significant if its value
+ * is at least the cutoff. Holds the distinct values in order, with the number of positives and negatives at or above
+ * each one, so the matrix at any cutoff takes one binary search instead of a pass over the {@link Sample}. Cases where
+ * the Criterion can't be computed are never significant, as with a {@link CensusSignificance}.
+ *
+ * @author dmyerstu
+ */
+public class ThresholdIndex {
+
+	/**
+	 * What to maximize when choosing a cutoff.
+	 */
+	public static enum Objective {
+		/**
+		 * The F1 score
+		 */
+		F1 {
+			@Override
+			public double score(ConfusionMatrix matrix) {
+				return matrix.getF1();
+			}
+		},
+		/**
+		 * The Matthews correlation coefficient
+		 */
+		MCC {
+			@Override
+			public double score(ConfusionMatrix matrix) {
+				return matrix.getMcc();
+			}
+		},
+		/**
+		 * Youden's J, the true-positive rate minus the false-positive rate
+		 */
+		YOUDEN_J {
+			@Override
+			public double score(ConfusionMatrix matrix) {
+				return matrix.getRecall() - matrix.getFalsePositiveRate();
+			}
+		};
+
+		public abstract double score(ConfusionMatrix matrix);
+	}
+
+	private final Criterion criterion;
+
+	private final int nNegatives;
+
+	/**
+	 * {@code negativesAbove[g]} negatives have values at least {@code values[g]}; the last element is 0
+	 */
+	private final int[] negativesAbove;
+
+	private final int nPositives;
+
+	private final int[] positivesAbove;
+
+	/**
+	 * The distinct values, in increasing order
+	 */
+	private final double[] values;
+
+	/**
+	 * Cases with no known symmetry are left out.
+	 */
+	public ThresholdIndex(Sample sample, Criterion criterion) {
+		this(criterion, criterion.evaluate(sample), getPositives(sample));
+	}
+
+	/**
+	 * @param positive
+	 *            Whether each case is a (known) positive; null to leave the case out
+	 */
+	public ThresholdIndex(double[] scores, Boolean[] positive) {
+		this(null, scores, positive);
+	}
+
+	private ThresholdIndex(Criterion criterion, double[] scores, Boolean[] positive) {
+		if (scores.length != positive.length) {
+			throw new IllegalArgumentException("Got " + scores.length + " scores for " + positive.length + " labels");
+		}
+		this.criterion = criterion;
+		double[] sorted = new double[scores.length];
+		int n = 0, nPositives = 0, nNegatives = 0;
+		for (int i = 0; i < scores.length; i++) {
+			if (positive[i] == null) continue;
+			if (positive[i]) {
+				nPositives++;
+			} else {
+				nNegatives++;
+			}
+			if (!Double.isNaN(scores[i])) sorted[n++] = scores[i] + 0.0; // -0.0 is 0.0, as it is to >=
+		}
+		this.nPositives = nPositives;
+		this.nNegatives = nNegatives;
+		Arrays.sort(sorted, 0, n);
+		int g = 0;
+		for (int i = 0; i < n; i++) {
+			if (g == 0 || sorted[i] != sorted[g - 1]) sorted[g++] = sorted[i];
+		}
+		values = Arrays.copyOf(sorted, g);
+
+		// count each distinct value, then sum from the top
+		positivesAbove = new int[g + 1];
+		negativesAbove = new int[g + 1];
+		for (int i = 0; i < scores.length; i++) {
+			if (positive[i] == null || Double.isNaN(scores[i])) continue;
+			final int rank = Arrays.binarySearch(values, scores[i] + 0.0);
+			if (positive[i]) {
+				positivesAbove[rank]++;
+			} else {
+				negativesAbove[rank]++;
+			}
+		}
+		for (int k = g - 1; k >= 0; k--) {
+			positivesAbove[k] += positivesAbove[k + 1];
+			negativesAbove[k] += negativesAbove[k + 1];
+		}
+	}
+
+	private static Boolean[] getPositives(Sample sample) {
+		final List<Case> cases = sample.getData();
+		Boolean[] positive = new Boolean[cases.size()];
+		for (int i = 0; i < positive.length; i++) {
+			final KnownInfo info = cases.get(i).getKnownInfo();
+			if (info != null) positive[i] = info.hasRotationalSymmetry();
+		}
+		return positive;
+	}
+
+	/**
+	 * @return The cutoff that maximizes {@code objective}, choosing the highest on a tie; positive infinity if calling
+	 *         nothing significant is best
+	 */
+	public double findThreshold(Objective objective) {
+		double bestThreshold = Double.POSITIVE_INFINITY;
+		double best = objective.score(getMatrix(values.length));
+		for (int g = values.length - 1; g >= 0; g--) {
+			final double score = objective.score(getMatrix(g));
+			if (score > best || Double.isNaN(best) && !Double.isNaN(score)) {
+				best = score;
+				bestThreshold = values[g];
+			}
+		}
+		return bestThreshold;
+	}
+
+	/**
+	 * @return The lowest cutoff whose false-positive rate is at most {@code maxFpr}, which has the highest
+	 *         true-positive rate of those; positive infinity if there is none
+	 */
+	public double findThresholdForFpr(double maxFpr) {
+		double threshold = Double.POSITIVE_INFINITY;
+		for (int g = values.length - 1; g >= 0 && (double) negativesAbove[g] / nNegatives <= maxFpr; g--) {
+			threshold = values[g];
+		}
+		return threshold;
+	}
+
+	/**
+	 * @return A {@link CensusSignificance} that uses the {@link #findThreshold(Objective) best} cutoff
+	 */
+	public CensusSignificance getBestSignificance(Objective objective) {
+		return getSignificance(findThreshold(objective));
+	}
+
+	/**
+	 * Finds the matrix by binary search.
+	 */
+	public ConfusionMatrix getMatrix(double threshold) {
+		if (Double.isNaN(threshold)) throw new IllegalArgumentException("The threshold can't be NaN");
+		int lo = 0, hi = values.length;
+		while (lo < hi) { // first value >= threshold
+			final int mid = (lo + hi) >>> 1;
+			if (values[mid] < threshold) lo = mid + 1;
+			else hi = mid;
+		}
+		return getMatrix(lo);
+	}
+
+	public int getnNegatives() {
+		return nNegatives;
+	}
+
+	public int getnPositives() {
+		return nPositives;
+	}
+
+	/**
+	 * @return A {@link CensusSignificance} that calls a result significant if its value of the {@link Criterion} is
+	 *         at least {@code threshold}
+	 * @throws IllegalStateException
+	 *             If this index wasn't built from a Criterion
+	 */
+	public CensusSignificance getSignificance(final double threshold) {
+		if (criterion == null) throw new IllegalStateException("This index wasn't built from a Criterion");
+		return new CensusSignificance() {
+			@Override
+			public boolean isSignificant(CensusResult result) {
+				return criterion.value(result) >= threshold;
+			}
+		};
+	}
+
+	/**
+	 * @return A {@link CensusSignificance} that uses the cutoff from {@link #findThresholdForFpr(double)}
+	 */
+	public CensusSignificance getSignificanceForFpr(double maxFpr) {
+		return getSignificance(findThresholdForFpr(maxFpr));
+	}
+
+	/**
+	 * @return The distinct values of the Criterion, which are the cutoffs worth trying, in increasing order
+	 */
+	public double[] getThresholds() {
+		return values.clone();
+	}
+
+	/**
+	 * @return The matrix when the cases with at least the {@code g}th-lowest value are significant
+	 */
+	private ConfusionMatrix getMatrix(int g) {
+		final int tp = positivesAbove[g], fp = negativesAbove[g];
+		return new ConfusionMatrix(tp, fp, nNegatives - fp, nPositives - tp);
+	}
+
+	@Override
+	public String toString() {
+		return "ThresholdIndex [" + values.length + " thresholds, " + nPositives + " positives, " + nNegatives
+				+ " negatives]";
+	}
+
+}
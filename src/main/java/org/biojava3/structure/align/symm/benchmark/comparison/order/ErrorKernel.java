@@ -6,9 +6,7 @@ import java.io.IOException;
 import java.io.PrintWriter;
 import java.text.DecimalFormat;
 import java.text.NumberFormat;
-import java.util.HashMap;
 import java.util.List;
-import java.util.Map;
 
 import org.apache.commons.math3.linear.EigenDecomposition;
 import org.apache.commons.math3.linear.MatrixUtils;
@@ -19,6 +17,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.biojava3.structure.align.symm.benchmark.Case;
 import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
 import org.biojava3.structure.align.symm.census3.CensusSignificance;
 import org.biojava3.structure.align.symm.census3.CensusSignificanceFactory;
 import org.biojava3.structure.align.symm.census3.stats.CensusStatUtils;
@@ -121,70 +121,105 @@ public class ErrorKernel {
 		int[] singleStepInverseMistakesPossible = new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0 };
 		int[] singleStepMistakesPossible = new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0 };
 
-		Map<Integer, Integer> knownOrderCounts = new HashMap<Integer, Integer>();
 		for (Case c : sample.getData()) {
 
 			if (!significance.isSignificant(c.getResult())) continue;
 
 			Integer order = c.getOrder();
 			if (order == null || order < 1) order = 1;
-			int knownOrder = c.getKnownOrder();
-			CensusStatUtils.plus(knownOrderCounts, knownOrder);
-
-			/*
-			 * Record all the possible primes, which are given by:
-			 * phi(knownOrder / 1) for forward errors phi(order / 1) for inverse
-			 * errors
-			 */
-			if (knownOrder > 1) {
-				List<Integer> primeFactors = Primes.primeFactors(knownOrder);
-				for (int primeFactor : primeFactors) {
-					try {
-						singleStepMistakesPossible[primeFactor - 1]++;
-					} catch (ArrayIndexOutOfBoundsException e) {
-						throw new RuntimeException("Got prime factor " + primeFactor
-								+ ", which is too big for our vector");
-					}
+			count(c.getKnownOrder(), order, singleStepMistakesPossible, singleStepInverseMistakesPossible);
+		}
+
+		build(singleStepMistakesPossible, singleStepInverseMistakesPossible);
+	}
+
+	/**
+	 * Calls a case significant when its value of {@code column} is at least {@code threshold}; NaN is never
+	 * significant. Uses the predicted orders in {@code columns}.
+	 */
+	public void build(SampleColumns columns, ScoreColumn column, double threshold) {
+
+		int[] singleStepInverseMistakesPossible = new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+		int[] singleStepMistakesPossible = new int[] { 0, 0, 0, 0, 0, 0, 0, 0, 0 };
+
+		final double[] values = columns.getColumn(column);
+		final int[] knownOrders = columns.getKnownOrders();
+		final int[] orders = columns.getOrders();
+		for (int i = 0; i < values.length; i++) {
+			if (!columns.isKnown(i)) continue;
+			if (!(values[i] >= threshold)) continue;
+			count(knownOrders[i], orders[i] < 1 ? 1 : orders[i], singleStepMistakesPossible,
+					singleStepInverseMistakesPossible);
+		}
+
+		build(singleStepMistakesPossible, singleStepInverseMistakesPossible);
+	}
+
+	/**
+	 * Adds a significant case to the mistake vectors.
+	 */
+	private void count(int knownOrder, int order, int[] singleStepMistakesPossible,
+			int[] singleStepInverseMistakesPossible) {
+
+		/*
+		 * Record all the possible primes, which are given by:
+		 * phi(knownOrder / 1) for forward errors phi(order / 1) for inverse
+		 * errors
+		 */
+		if (knownOrder > 1) {
+			List<Integer> primeFactors = Primes.primeFactors(knownOrder);
+			for (int primeFactor : primeFactors) {
+				try {
+					singleStepMistakesPossible[primeFactor - 1]++;
+				} catch (ArrayIndexOutOfBoundsException e) {
+					throw new RuntimeException("Got prime factor " + primeFactor
+							+ ", which is too big for our vector");
 				}
 			}
-			if (order > 1) {
-				List<Integer> primeFactors = Primes.primeFactors(order);
-				for (int primeFactor : primeFactors) {
-					try {
-						singleStepInverseMistakesPossible[primeFactor - 1]++;
-					} catch (ArrayIndexOutOfBoundsException e) {
-						throw new RuntimeException("Got prime factor " + primeFactor
-								+ ", which is too big for our vector");
-					}
+		}
+		if (order > 1) {
+			List<Integer> primeFactors = Primes.primeFactors(order);
+			for (int primeFactor : primeFactors) {
+				try {
+					singleStepInverseMistakesPossible[primeFactor - 1]++;
+				} catch (ArrayIndexOutOfBoundsException e) {
+					throw new RuntimeException("Got prime factor " + primeFactor
+							+ ", which is too big for our vector");
 				}
 			}
+		}
 
-			/*
-			 * If we get 1 instead of 12, we know that we made exactly 3
-			 * mistakes: 2, 2, and 3 Therefore, we want to add 2 mistakes to
-			 * divisor=2 and 1 to divisor=3
-			 */
-			int divisor = 0;
-			double[] vector = null;
-			if (knownOrder % order == 0) {
-				divisor = knownOrder / order;
-				vector = singleStepMistakeRates;
-			} else if (order % knownOrder == 0) {
-				divisor = order / knownOrder;
-				vector = singleStepInverseMistakeRates;
-			}
-			if (divisor > 1) { // primeFactors fails when given 1
-				List<Integer> primeFactors = Primes.primeFactors(divisor);
-				for (int primeFactor : primeFactors) {
-					try {
-						vector[primeFactor - 1]++;
-					} catch (ArrayIndexOutOfBoundsException e) {
-						throw new RuntimeException("Got prime factor " + primeFactor
-								+ ", which is too big for our vector");
-					}
+		/*
+		 * If we get 1 instead of 12, we know that we made exactly 3
+		 * mistakes: 2, 2, and 3 Therefore, we want to add 2 mistakes to
+		 * divisor=2 and 1 to divisor=3
+		 */
+		int divisor = 0;
+		double[] vector = null;
+		if (knownOrder % order == 0) {
+			divisor = knownOrder / order;
+			vector = singleStepMistakeRates;
+		} else if (order % knownOrder == 0) {
+			divisor = order / knownOrder;
+			vector = singleStepInverseMistakeRates;
+		}
+		if (divisor > 1) { // primeFactors fails when given 1
+			List<Integer> primeFactors = Primes.primeFactors(divisor);
+			for (int primeFactor : primeFactors) {
+				try {
+					vector[primeFactor - 1]++;
+				} catch (ArrayIndexOutOfBoundsException e) {
+					throw new RuntimeException("Got prime factor " + primeFactor
+							+ ", which is too big for our vector");
 				}
 			}
 		}
+	}
+
+	/**
+	 * Normalizes the mistake vectors and builds the kernel from them.
+	 */
+	private void build(int[] singleStepMistakesPossible, int[] singleStepInverseMistakesPossible) {
 
 		/*
 		 * Normalize the mistake vectors
@@ -9,6 +9,8 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.biojava3.structure.align.symm.benchmark.Case;
 import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
 import org.biojava3.structure.align.symm.census3.CensusSignificance;
 import org.biojava3.structure.align.symm.census3.CensusSignificanceFactory;
 
@@ -32,21 +34,29 @@ public class OrderAccuracy {
 	}
 
 	public OrderAccuracy(File input, CensusSignificance sig, GroupComparator guesser) throws IOException {
-		this(Sample.fromXML(input), sig, guesser);
+		this(Sample.iterateXML(input), sig, guesser);
 	}
 
 	private int correct = 0;
 	private int total = 0;
 	
 	public OrderAccuracy(Sample sample, CensusSignificance sig, GroupComparator guesser) {
-		for (Case c : sample.getData()) {
+		this(sample.getData(), sig, guesser);
+	}
+
+	/**
+	 * @param cases
+	 *            Any Cases, such as from {@link Sample#iterateXML(File)}; iterated over exactly once
+	 */
+	public OrderAccuracy(Iterable<Case> cases, CensusSignificance sig, GroupComparator guesser) {
+		for (Case c : cases) {
 			try {
 				if (!c.getKnownInfo().hasRotationalSymmetry()) continue;
 				if (!sig.isSignificant(c.getResult())) continue;
 				Integer known = c.getKnownOrder();
 				if (known == null) known = 1;
 				Integer guess = c.getOrder();
-				if (guess == null) guess = 1;
+				if (guess == null || guess < 1) guess = 1;
 				boolean equiv = guesser.hasEquivalentOrder(known, guess);
 				if (equiv) correct++;
 				total++;
@@ -56,6 +66,24 @@ public class OrderAccuracy {
 		}
 	}
 
+	/**
+	 * Calls a case significant when its value of {@code column} is at least {@code threshold}; NaN is never
+	 * significant. Counts the same as {@link #OrderAccuracy(Iterable, CensusSignificance, GroupComparator)}, from the
+	 * predicted orders in {@code columns}.
+	 */
+	public OrderAccuracy(SampleColumns columns, ScoreColumn column, double threshold, GroupComparator guesser) {
+		final double[] values = columns.getColumn(column);
+		final int[] knownOrders = columns.getKnownOrders();
+		final int[] orders = columns.getOrders();
+		for (int i = 0; i < values.length; i++) {
+			if (!columns.isPositive(i)) continue;
+			if (!(values[i] >= threshold)) continue;
+			int guess = orders[i] < 1 ? 1 : orders[i];
+			if (guesser.hasEquivalentOrder(knownOrders[i], guess)) correct++;
+			total++;
+		}
+	}
+
 	public int getCorrect() {
 		return correct;
 	}
@@ -11,6 +11,8 @@ import org.apache.logging.log4j.Logger;
 import org.biojava.bio.structure.jama.Matrix;
 import org.biojava3.structure.align.symm.benchmark.Case;
 import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
 import org.biojava3.structure.align.symm.census3.CensusSignificance;
 import org.biojava3.structure.align.symm.census3.CensusSignificanceFactory;
 
@@ -29,9 +31,8 @@ public class SimpleErrorMatrix {
 			System.err.println("Usage: " + SimpleErrorMatrix.class.getSimpleName() + " input-sample-file");
 			return;
 		}
-		Sample sample = Sample.fromXML(new File(args[0]));
 		SimpleErrorMatrix matrix = new SimpleErrorMatrix();
-		matrix.run(sample);
+		matrix.run(Sample.iterateXML(new File(args[0])));
 		System.out.println(matrix);
 		System.out.println(matrix.getDiagonalSum());
 	}
@@ -46,7 +47,15 @@ public class SimpleErrorMatrix {
 	}
 
 	public void run(Sample sample) {
-		for (Case c : sample.getData()) {
+		run(sample.getData());
+	}
+
+	/**
+	 * @param cases
+	 *            Any Cases, such as from {@link Sample#iterateXML(File)}; iterated over exactly once
+	 */
+	public void run(Iterable<Case> cases) {
+		for (Case c : cases) {
 			if (!significance.isSignificant(c.getResult())) continue;
 			int knownOrder = c.getKnownOrder();
 			int order = orderer.getOrder(c.getResult());
@@ -57,6 +66,24 @@ public class SimpleErrorMatrix {
 		}
 	}
 
+	/**
+	 * Calls a case significant when its value of {@code column} is at least {@code threshold}; NaN is never
+	 * significant. Unlike {@link #run(Iterable)}, this doesn't use the {@link #setOrderer(OrderDetermination)
+	 * OrderDetermination}: it bins the orders CE-Symm predicted, as stored in {@code columns}, with a missing or
+	 * undetermined order counted as 1. So the two don't build the same matrix from the same sample.
+	 */
+	public void runOnPredictedOrders(SampleColumns columns, ScoreColumn column, double threshold) {
+		final double[] values = columns.getColumn(column);
+		final int[] knownOrders = columns.getKnownOrders();
+		final int[] orders = columns.getOrders();
+		for (int i = 0; i < values.length; i++) {
+			if (!columns.isKnown(i)) continue;
+			if (!(values[i] >= threshold)) continue;
+			int order = orders[i] < 1 ? 1 : orders[i];
+			matrix.set(knownOrders[i] - 1, order - 1, matrix.get(knownOrders[i] - 1, order - 1) + 1);
+		}
+	}
+
 	public Matrix getMatrix() {
 		return matrix;
 	}
@@ -0,0 +1,117 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * A histogram of non-negative values (such as latencies in nanoseconds) with a bounded relative error, in the style of
+ * HdrHistogram. Values below 128 are counted exactly; each larger power of two is split into 128 buckets, so a
+ * reported percentile is never more than 1/128 above the true value. Recording is lock-free and thread-safe.
+ *
+ * @author dmyerstu
+ */
+public class LatencyHistogram {
+
+	private static final int SUB_BUCKET_BITS = 7;
+
+	private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+
+	/**
+	 * @return The index of the bucket containing {@code value}
+	 */
+	static int bucketOf(long value) {
+		if (value < SUB_BUCKET_COUNT) return (int) value;
+		int shift = 63 - Long.numberOfLeadingZeros(value) - SUB_BUCKET_BITS;
+		return (shift + 1) * SUB_BUCKET_COUNT + (int) ((value >>> shift) - SUB_BUCKET_COUNT);
+	}
+
+	/**
+	 * @return The largest value that falls into bucket {@code index}
+	 */
+	static long highestValueIn(int index) {
+		if (index < SUB_BUCKET_COUNT) return index;
+		int shift = index / SUB_BUCKET_COUNT - 1;
+		long lowest = (long) (SUB_BUCKET_COUNT + index % SUB_BUCKET_COUNT) << shift;
+		return lowest + (1L << shift) - 1;
+	}
+
+	private final AtomicLongArray counts = new AtomicLongArray((64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT);
+
+	private final AtomicLong max = new AtomicLong(0);
+
+	private final AtomicLong n = new AtomicLong(0);
+
+	private final AtomicLong sum = new AtomicLong(0);
+
+	public long getCount() {
+		return n.get();
+	}
+
+	public long getMax() {
+		return max.get();
+	}
+
+	/**
+	 * @return The mean, or NaN if nothing has been recorded
+	 */
+	public double getMean() {
+		long count = n.get();
+		return count == 0 ? Double.NaN : (double) sum.get() / count;
+	}
+
+	/**
+	 * @param percentile
+	 *            From 0 to 100
+	 * @return The smallest recorded value that at least {@code percentile}% of the values are no greater than, to within
+	 *         the histogram's precision; 0 if nothing has been recorded
+	 */
+	public long getValueAtPercentile(double percentile) {
+		long count = n.get();
+		if (count == 0) return 0;
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * count));
+		long seen = 0;
+		for (int i = 0; i < counts.length(); i++) {
+			seen += counts.get(i);
+			if (seen >= rank) return Math.min(highestValueIn(i), max.get());
+		}
+		return max.get(); // only if recording concurrently
+	}
+
+	/**
+	 * @param value
+	 *            Must be non-negative
+	 */
+	public void record(long value) {
+		if (value < 0) throw new IllegalArgumentException("Can't record negative value " + value);
+		counts.incrementAndGet(bucketOf(value));
+		sum.addAndGet(value);
+		n.incrementAndGet();
+		long current;
+		do {
+			current = max.get();
+		} while (value > current && !max.compareAndSet(current, value));
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.Reader;
+import java.nio.charset.Charset;
+
+/**
+ * Drains a process's output on its own thread while the process runs, so that the process never blocks on a full pipe.
+ * Only the last non-blank line and a bounded tail of the output are kept, which is all SymD's results need.
+ *
+ * @author dmyerstu
+ */
+class OutputPump extends Thread {
+
+	private static final int BUFFER_SIZE = 8192;
+
+	private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+	private IOException error;
+	private final InputStream in;
+	private String lastLine = "";
+	private final StringBuilder line = new StringBuilder();
+	private final int maxTail;
+	private long nChars = 0;
+	private final StringBuilder tail = new StringBuilder();
+
+	/**
+	 * @param maxTail
+	 *            The maximum number of characters at the end of the output to keep
+	 */
+	public OutputPump(InputStream in, int maxTail) {
+		super("symd-output");
+		setDaemon(true);
+		this.in = in;
+		this.maxTail = maxTail;
+	}
+
+	/**
+	 * @return The error that stopped the output being read, or null
+	 */
+	public synchronized IOException getError() {
+		return error;
+	}
+
+	/**
+	 * @return The last line that wasn't blank, without its line terminator; an empty string if there was none
+	 */
+	public synchronized String getLastLine() {
+		return isBlank(line) ? lastLine : line.toString();
+	}
+
+	public synchronized long getnChars() {
+		return nChars;
+	}
+
+	/**
+	 * @return Up to {@code maxTail} characters from the end of the output
+	 */
+	public synchronized String getTail() {
+		return tail.length() > maxTail ? tail.substring(tail.length() - maxTail) : tail.toString();
+	}
+
+	@Override
+	public void run() {
+		final Reader reader = new InputStreamReader(in, LATIN1);
+		final char[] buffer = new char[BUFFER_SIZE];
+		try {
+			int n;
+			while ((n = reader.read(buffer)) != -1) {
+				append(buffer, n);
+			}
+		} catch (IOException e) {
+			synchronized (this) {
+				error = e;
+			}
+		} finally {
+			try {
+				reader.close();
+			} catch (IOException e) {
+				// we've read what we can
+			}
+		}
+	}
+
+	private synchronized void append(char[] buffer, int n) {
+		nChars += n;
+		tail.append(buffer, 0, n);
+		if (tail.length() > 2 * maxTail) tail.delete(0, tail.length() - maxTail); // amortize the copying
+		for (int i = 0; i < n; i++) {
+			final char c = buffer[i];
+			if (c == '\n') {
+				if (!isBlank(line)) lastLine = line.toString();
+				line.setLength(0);
+			} else if (c != '\r') {
+				line.append(c);
+				if (line.length() > 2 * maxTail) line.delete(0, line.length() - maxTail); // a runaway line
+			}
+		}
+	}
+
+	private static boolean isBlank(CharSequence s) {
+		for (int i = 0; i < s.length(); i++) {
+			if (!Character.isWhitespace(s.charAt(i))) return false;
+		}
+		return true;
+	}
+
+}
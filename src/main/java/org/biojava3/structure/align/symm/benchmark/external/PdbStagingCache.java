@@ -0,0 +1,289 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.io.File;
+import java.io.FileFilter;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava.bio.structure.Atom;
+import org.biojava.bio.structure.Chain;
+import org.biojava.bio.structure.Group;
+import org.biojava.bio.structure.SSBond;
+import org.biojava.bio.structure.Structure;
+import org.biojava.bio.structure.StructureTools;
+import org.biojava.bio.structure.io.FileConvert;
+import org.biojava3.structure.align.symm.benchmark.BenchmarkFiles.AtomicFileOutputStream;
+
+/**
+ * Stages the PDB files that SymD reads. Each file is named by its SCOP Id (since SymD names its output after the file)
+ * in a directory named by the SCOP Id and a hash of its atoms, so a file from a previous run is reused only if the
+ * structure hasn't changed. Files are written atomically, atom by atom, with the same records as
+ * {@link Structure#toPDB()}, so a file with the right name is always complete. When the files exceed a size cap,
+ * the least recently used are deleted.
+ * <p>
+ * A file that {@link #stage(String, Structure) has been staged} is never deleted until it's
+ * {@link #release(File) released}. This class is thread-safe.
+ *
+ * @author dmyerstu
+ */
+public class PdbStagingCache {
+
+	/**
+	 * 1GB.
+	 */
+	public static final long DEFAULT_MAX_BYTES = 1L << 30;
+
+	/**
+	 * Only directories named like this are ours to evict.
+	 */
+	private static final Pattern ENTRY_NAME = Pattern.compile("(.+)-[0-9a-f]{16}");
+
+	private static final Logger logger = LogManager.getLogger(PdbStagingCache.class.getName());
+
+	private static final File TMPFS = new File("/dev/shm");
+
+	/**
+	 * @return A cache in a directory on tmpfs if there is one (on Linux, {@code /dev/shm}), or in the temporary
+	 *         directory otherwise
+	 */
+	public static PdbStagingCache inTmpfs(long maxBytes) {
+		File parent = TMPFS.isDirectory() && TMPFS.canWrite() ? TMPFS : new File(System.getProperty("java.io.tmpdir"));
+		return new PdbStagingCache(new File(parent, "symd-pdb-" + System.getProperty("user.name")), maxBytes);
+	}
+
+	/**
+	 * @return A hash of the names, residues, and coordinates of the atoms, as 16 hex digits
+	 */
+	static String hash(Atom[] atoms) {
+		long h = 0xcbf29ce484222325L; // FNV-1a
+		for (Atom atom : atoms) {
+			h = mix(h, atom.getFullName().hashCode());
+			if (atom.getGroup() != null) {
+				h = mix(h, atom.getGroup().getPDBName().hashCode());
+				if (atom.getGroup().getResidueNumber() != null) h = mix(h, atom.getGroup().getResidueNumber().hashCode());
+			}
+			h = mix(h, Double.doubleToLongBits(atom.getX()));
+			h = mix(h, Double.doubleToLongBits(atom.getY()));
+			h = mix(h, Double.doubleToLongBits(atom.getZ()));
+		}
+		String hex = Long.toHexString(h);
+		while (hex.length() < 16) hex = "0" + hex;
+		return hex;
+	}
+
+	private static long mix(long h, long value) {
+		for (int i = 0; i < 8; i++) {
+			h ^= (value >>> (8 * i)) & 0xff;
+			h *= 0x100000001b3L;
+		}
+		return h;
+	}
+
+	private final File dir;
+
+	/**
+	 * Entry (directory) names in least-recently-used order, to the sizes of their files.
+	 */
+	private final LinkedHashMap<String, Long> entries = new LinkedHashMap<String, Long>(16, 0.75f, true);
+
+	private final long maxBytes;
+
+	/**
+	 * Entry names to the number of times they've been staged but not released.
+	 */
+	private final Map<String, Integer> pins = new HashMap<String, Integer>();
+
+	private long totalBytes = 0;
+
+	/**
+	 * Picks up the files already in {@code dir}, least recently used first.
+	 */
+	public PdbStagingCache(File dir, long maxBytes) {
+		this.dir = dir;
+		this.maxBytes = maxBytes;
+		if (!dir.isDirectory() && !dir.mkdirs()) throw new IllegalArgumentException("Could not create " + dir);
+		File[] entryDirs = dir.listFiles(new FileFilter() {
+			@Override
+			public boolean accept(File file) {
+				return file.isDirectory() && ENTRY_NAME.matcher(file.getName()).matches();
+			}
+		});
+		if (entryDirs == null) throw new IllegalArgumentException("Could not list " + dir);
+		List<File> files = new ArrayList<File>(entryDirs.length);
+		for (File entryDir : entryDirs) {
+			Matcher matcher = ENTRY_NAME.matcher(entryDir.getName());
+			matcher.matches();
+			File file = new File(entryDir, matcher.group(1) + ".pdb");
+			if (file.isFile()) files.add(file);
+		}
+		Collections.sort(files, new Comparator<File>() {
+			@Override
+			public int compare(File o1, File o2) {
+				return Long.valueOf(o1.lastModified()).compareTo(o2.lastModified());
+			}
+		});
+		for (File file : files) {
+			entries.put(file.getParentFile().getName(), file.length());
+			totalBytes += file.length();
+		}
+		logger.info("Found " + files.size() + " staged PDB files (" + totalBytes + " bytes) in " + dir);
+		evict();
+	}
+
+	public File getDir() {
+		return dir;
+	}
+
+	public synchronized long getTotalBytes() {
+		return totalBytes;
+	}
+
+	/**
+	 * Allows a file returned by {@link #stage(String, Structure)} to be evicted again.
+	 */
+	public synchronized void release(File file) {
+		final String name = file.getParentFile().getName();
+		Integer n = pins.get(name);
+		if (n == null) return;
+		if (n == 1) {
+			pins.remove(name);
+		} else {
+			pins.put(name, n - 1);
+		}
+		evict();
+	}
+
+	/**
+	 * Returns a PDB file for {@code structure}, writing one only if there isn't one already. The file won't be evicted
+	 * until it's {@link #release(File) released}.
+	 */
+	public File stage(String scopId, Structure structure) throws IOException {
+
+		final Atom[] atoms = StructureTools.getAllAtomArray(structure);
+		final String name = scopId + "-" + hash(atoms);
+		final File entryDir = new File(dir, name);
+		final File file = new File(entryDir, scopId + ".pdb");
+
+		synchronized (this) {
+			if (entries.get(name) != null && file.exists()) {
+				pin(name);
+				file.setLastModified(System.currentTimeMillis()); // so the order survives a restart
+				return file;
+			}
+		}
+
+		if (!entryDir.isDirectory() && !entryDir.mkdirs()) throw new IOException("Could not create " + entryDir);
+		AtomicFileOutputStream afos = new AtomicFileOutputStream(file);
+		boolean done = false;
+		try {
+			Writer writer = new OutputStreamWriter(afos, "US-ASCII");
+			writePdb(structure, writer);
+			writer.close();
+			done = true;
+		} finally {
+			if (!done) afos.abort();
+		}
+
+		synchronized (this) {
+			Long previous = entries.put(name, file.length());
+			if (previous != null) totalBytes -= previous;
+			totalBytes += file.length();
+			pin(name);
+			evict();
+		}
+		return file;
+	}
+
+	/**
+	 * Writes the same records as {@link Structure#toPDB()}: the header, SSBOND records, and the atoms of each chain
+	 * followed by TER, within MODEL and ENDMDL if there's more than one model; but one atom at a time, so the whole file
+	 * is never held in memory.
+	 */
+	static void writePdb(Structure structure, Writer writer) throws IOException {
+		StringBuffer header = new StringBuffer();
+		structure.getPDBHeader().toPDB(header);
+		for (SSBond bond : structure.getSSBonds()) {
+			bond.toPDB(header);
+		}
+		writer.write(header.toString());
+		final int nModels = structure.nrModels();
+		for (int m = 0; m < nModels; m++) {
+			if (nModels > 1) writer.write("MODEL      " + (m + 1) + "\n");
+			for (Chain chain : structure.getModel(m)) {
+				for (Group group : chain.getAtomGroups()) {
+					for (Atom atom : group.getAtoms()) {
+						writer.write(FileConvert.toPDB(atom));
+					}
+				}
+				writer.write("TER\n");
+			}
+			if (nModels > 1) writer.write("ENDMDL\n");
+		}
+		writer.write("END\n");
+	}
+
+	/**
+	 * Deletes the least recently used files that aren't pinned until the total size is within the cap.
+	 */
+	private synchronized void evict() {
+		Iterator<Map.Entry<String, Long>> iter = entries.entrySet().iterator();
+		while (totalBytes > maxBytes && iter.hasNext()) {
+			Map.Entry<String, Long> entry = iter.next();
+			if (pins.containsKey(entry.getKey())) continue;
+			File entryDir = new File(dir, entry.getKey());
+			File[] files = entryDir.listFiles();
+			if (files != null) {
+				for (File file : files) {
+					file.delete();
+				}
+			}
+			if (entryDir.exists() && !entryDir.delete()) {
+				logger.warn("Could not delete staged PDB file " + entryDir);
+				continue;
+			}
+			totalBytes -= entry.getValue();
+			iter.remove();
+		}
+	}
+
+	private void pin(String name) {
+		Integer n = pins.get(name);
+		pins.put(name, n == null ? 1 : n + 1);
+	}
+
+}
@@ -56,13 +56,33 @@ public class SymDFasta {
 	 * @param fastaFile Must contain two sequences generated by SymD; not likely to work for other FASTA sequences
 	 */
 	public static AFPChain getAlignment(File fastaFile) throws IOException, StructureException {
-		
+		return getAlignment(fastaFile, null);
+	}
+
+	/**
+	 * Creates an AFPChain corresponding to a FASTA file, without fetching the structure again.
+	 * @param fastaFile Must contain two sequences generated by SymD; not likely to work for other FASTA sequences
+	 * @param structure The structure SymD was run on, or null to fetch it
+	 */
+	public static AFPChain getAlignment(File fastaFile, Structure structure) throws IOException, StructureException {
 		InputStream inStream = new FileInputStream(fastaFile);
+		try {
+			return getAlignment(inStream, structure);
+		} finally {
+			inStream.close();
+		}
+	}
+
+	/**
+	 * Creates an AFPChain corresponding to FASTA text generated by SymD.
+	 * @param structure The structure SymD was run on, or null to fetch it
+	 */
+	public static AFPChain getAlignment(InputStream inStream, Structure structure) throws IOException, StructureException {
+		
 		SequenceCreatorInterface<AminoAcidCompound> creator = new CasePreservingProteinSequenceCreator(AminoAcidCompoundSet.getAminoAcidCompoundSet());
 		GenericFastaHeaderParser<ProteinSequence, AminoAcidCompound> headerParser = new GenericFastaHeaderParser<ProteinSequence, AminoAcidCompound>();
 		FastaReader<ProteinSequence, AminoAcidCompound> fastaReader = new FastaReader<ProteinSequence, AminoAcidCompound>(inStream, headerParser, creator);
 		LinkedHashMap<String, ProteinSequence> sequences = fastaReader.process();
-		inStream.close();
 		
 		Iterator<ProteinSequence> seqIter = sequences.values().iterator();
 		ProteinSequence firstSeq = seqIter.next();
@@ -73,15 +93,17 @@ public class SymDFasta {
 		String firstName = namesIter.next();
 		String secondName = namesIter.next();
 
-		String pdbName = firstName.split("-")[0];
-		Structure structure = StructureTools.getStructure(pdbName);
-		// if we have a SCOP Id we're fine, but we might also have, e.g. 1nziA
-		// in this latter case, we want 1nzi.A instead (note the dot)
 		if (structure == null) {
-			pdbName = pdbName.substring(0, pdbName.length()-1) + '.' + pdbName.charAt(pdbName.length()-1);
+			String pdbName = firstName.split("-")[0];
 			structure = StructureTools.getStructure(pdbName);
+			// if we have a SCOP Id we're fine, but we might also have, e.g. 1nziA
+			// in this latter case, we want 1nzi.A instead (note the dot)
+			if (structure == null) {
+				pdbName = pdbName.substring(0, pdbName.length()-1) + '.' + pdbName.charAt(pdbName.length()-1);
+				structure = StructureTools.getStructure(pdbName);
+			}
+			if (structure == null) throw new IllegalArgumentException("No structure for " + pdbName + " was found");
 		}
-		if (structure == null) throw new IllegalArgumentException("No structure for " + pdbName + " was found");
 		
 		// second should be something like: 1W0P-permuted  is=-393 (best)
 		Integer cpSite = Integer.parseInt(secondName.split("\\s+")[1].substring(3));
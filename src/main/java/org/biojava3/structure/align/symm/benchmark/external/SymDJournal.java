@@ -0,0 +1,223 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.charset.Charset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBElement;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+import javax.xml.bind.Unmarshaller;
+import javax.xml.namespace.QName;
+import javax.xml.transform.stream.StreamSource;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava3.structure.align.symm.benchmark.JaxbPool;
+import org.biojava3.structure.align.symm.census2.Result;
+
+/**
+ * An append-only journal of SymD {@link Result Results}, so that a long run doesn't need to rewrite the whole
+ * {@link SymDResults} document to checkpoint. Each record is a kind byte, an int length, and that many bytes: compact
+ * XML for a result, or the UTF-8 SCOP Id of a domain on which SymD failed. Each record is flushed as soon as it's
+ * appended.
+ * <p>
+ * Opening a journal replays the records already in it. If the last record is incomplete (because the previous run was
+ * killed while writing it), it is discarded and the file is truncated to the last complete record.
+ *
+ * @author dmyerstu
+ */
+public class SymDJournal implements Closeable {
+
+	private static final Logger logger = LogManager.getLogger(SymDJournal.class.getName());
+
+	private static final QName RESULT_ELEMENT = new QName("result");
+
+	private static final byte FAILURE_RECORD = 2;
+
+	private static final byte RESULT_RECORD = 1;
+
+	private static final Charset UTF8 = Charset.forName("UTF-8");
+
+	/**
+	 * @return The journal file used alongside the output file {@code outputFile}
+	 */
+	public static File forOutput(File outputFile) {
+		return new File(outputFile.getPath() + ".journal");
+	}
+
+	private final Set<String> failed = new HashSet<String>();
+	private final File file;
+	private final Marshaller marshaller;
+	private DataOutputStream out;
+	private final List<Result> replayed = new ArrayList<Result>();
+	private final Unmarshaller unmarshaller;
+
+	public SymDJournal(File file) throws IOException {
+		this.file = file;
+		try {
+			JAXBContext context = JaxbPool.getContext(SymDResults.class);
+			marshaller = context.createMarshaller(); // not pooled because we need fragments
+			marshaller.setProperty(Marshaller.JAXB_FRAGMENT, Boolean.TRUE);
+			marshaller.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.FALSE);
+			unmarshaller = context.createUnmarshaller();
+		} catch (JAXBException e) {
+			throw new IOException(e);
+		}
+		long validLength = replay();
+		if (file.exists() && file.length() > validLength) {
+			logger.warn("Discarding an incomplete record at the end of " + file.getPath());
+			RandomAccessFile raf = new RandomAccessFile(file, "rw");
+			try {
+				raf.setLength(validLength);
+			} finally {
+				raf.close();
+			}
+		}
+		out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file, true)));
+	}
+
+	/**
+	 * Appends {@code result} and flushes it to the file.
+	 */
+	public synchronized void append(Result result) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		try {
+			marshaller.marshal(new JAXBElement<Result>(RESULT_ELEMENT, Result.class, result), baos);
+		} catch (JAXBException e) {
+			throw new IOException("Couldn't journal result for " + result.getScopId(), e);
+		}
+		if (out == null) throw new IOException("Journal " + file.getPath() + " is closed");
+		out.writeByte(RESULT_RECORD);
+		out.writeInt(baos.size());
+		baos.writeTo(out);
+		out.flush();
+	}
+
+	/**
+	 * Records that SymD failed on {@code scopId} and flushes it to the file.
+	 */
+	public synchronized void appendFailure(String scopId) throws IOException {
+		if (out == null) throw new IOException("Journal " + file.getPath() + " is closed");
+		byte[] bytes = scopId.getBytes(UTF8);
+		out.writeByte(FAILURE_RECORD);
+		out.writeInt(bytes.length);
+		out.write(bytes);
+		out.flush();
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		if (out != null) out.close();
+		out = null;
+	}
+
+	/**
+	 * Closes and deletes the journal, for example once its results have been written to the output file.
+	 */
+	public synchronized void delete() throws IOException {
+		close();
+		if (file.exists() && !file.delete()) throw new IOException("Couldn't delete journal " + file.getPath());
+	}
+
+	/**
+	 * @return The SCOP Ids of domains recorded as failed when the journal was opened
+	 */
+	public Set<String> getFailed() {
+		return Collections.unmodifiableSet(failed);
+	}
+
+	public File getFile() {
+		return file;
+	}
+
+	/**
+	 * @return The results that were already in the journal when it was opened, in the order they were appended
+	 */
+	public List<Result> getReplayed() {
+		return Collections.unmodifiableList(replayed);
+	}
+
+	/**
+	 * Reads every complete record into {@link #replayed}.
+	 *
+	 * @return The length of the file up to the end of the last complete record
+	 */
+	private long replay() throws IOException {
+		if (!file.exists()) return 0;
+		final long fileLength = file.length();
+		long validLength = 0;
+		DataInputStream in = new DataInputStream(new BufferedInputStream(new FileInputStream(file)));
+		try {
+			while (true) {
+				byte kind;
+				byte[] bytes;
+				try {
+					kind = in.readByte();
+					int length = in.readInt();
+					if (length < 0 || validLength + 1 + 4 + length > fileLength) break; // cut off mid-record
+					bytes = new byte[length];
+					in.readFully(bytes);
+				} catch (EOFException e) {
+					break;
+				}
+				if (kind == FAILURE_RECORD) {
+					failed.add(new String(bytes, UTF8));
+				} else if (kind == RESULT_RECORD) {
+					try {
+						replayed.add(unmarshaller.unmarshal(new StreamSource(new ByteArrayInputStream(bytes)), Result.class).getValue());
+					} catch (JAXBException e) {
+						throw new IOException("Corrupt record in " + file.getPath(), e);
+					}
+				} else {
+					throw new IOException("Unknown record kind " + kind + " in " + file.getPath());
+				}
+				validLength += 1 + 4 + bytes.length;
+			}
+		} finally {
+			in.close();
+		}
+		logger.info("Replayed " + replayed.size() + " results and " + failed.size() + " failures from " + file.getPath());
+		return validLength;
+	}
+
+}
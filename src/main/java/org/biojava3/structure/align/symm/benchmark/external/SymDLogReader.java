@@ -0,0 +1,299 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.Charset;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava3.structure.align.symm.benchmark.BenchmarkFiles;
+import org.biojava3.structure.align.symm.benchmark.Futures;
+import org.biojava3.structure.align.symm.census2.Result;
+
+/**
+ * Re-parses archived SymD output into {@link SymDResults}. The logs can be a directory of files (each optionally
+ * gzipped) or a tarball (optionally gzipped). Logs from SymD 1.3hw3 and 1.5b can be mixed. Only the end of each log is
+ * kept in memory, and the logs are parsed on a thread pool. The results are sorted by log name, and logs that don't
+ * end in a result are logged and skipped. Two logs with the same name (for example, an entry appended twice to a
+ * tarball) are an error, since neither can be picked safely.
+ *
+ * @author dmyerstu
+ */
+public class SymDLogReader {
+
+	private static final Logger logger = LogManager.getLogger(SymDLogReader.class.getName());
+
+	/**
+	 * The number of bytes at the end of each log to parse. Much longer than a result line.
+	 */
+	private static final int TAIL_LENGTH = 4096;
+
+	private static final int TAR_BLOCK = 512;
+
+	private static final Charset LATIN1 = Charset.forName("ISO-8859-1");
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2 || args.length > 3) {
+			System.err.println("Usage: " + SymDLogReader.class.getSimpleName() + " logs-dir-or-tarball output-file [n-threads]");
+			return;
+		}
+		int nThreads = args.length > 2 ? Integer.parseInt(args[2]) : Runtime.getRuntime().availableProcessors();
+		File output = new File(args[1]);
+		SymDResults results = new SymDLogReader(nThreads).read(new File(args[0]));
+		results.toXML(output, BenchmarkFiles.isGzipName(output));
+	}
+
+	private static boolean isTarName(File file) {
+		String name = file.getName();
+		return name.endsWith(".tar") || name.endsWith(".tar.gz") || name.endsWith(".tgz");
+	}
+
+	private final int nThreads;
+
+	public SymDLogReader(int nThreads) {
+		if (nThreads < 1) throw new IllegalArgumentException("Need at least 1 thread");
+		this.nThreads = nThreads;
+	}
+
+	/**
+	 * @param source
+	 *            A directory of logs, a tarball of logs, or a single log
+	 */
+	public SymDResults read(final File source) throws IOException {
+
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		try {
+
+			Map<String, Future<Result>> futures = new TreeMap<String, Future<Result>>();
+			if (source.isDirectory()) {
+				File[] files = source.listFiles();
+				if (files == null) throw new IOException("Could not list " + source);
+				for (final File file : files) {
+					if (!file.isFile()) continue;
+					put(futures, file.getName(), pool.submit(new Callable<Result>() {
+						@Override
+						public Result call() throws IOException {
+							InputStream is = BenchmarkFiles.openInput(file);
+							try {
+								return parse(file.getName(), readTail(is, Long.MAX_VALUE));
+							} finally {
+								is.close();
+							}
+						}
+					}));
+				}
+			} else if (isTarName(source)) {
+				readTar(source, pool, futures);
+			} else {
+				futures.put(source.getName(), pool.submit(new Callable<Result>() {
+					@Override
+					public Result call() throws IOException {
+						InputStream is = BenchmarkFiles.openInput(source);
+						try {
+							return parse(source.getName(), readTail(is, Long.MAX_VALUE));
+						} finally {
+							is.close();
+						}
+					}
+				}));
+			}
+
+			SymDResults results = new SymDResults();
+			int nFailed = 0;
+			for (Map.Entry<String, Future<Result>> entry : futures.entrySet()) {
+				Result result = getResult(entry.getValue(), entry.getKey());
+				if (result == null) {
+					nFailed++;
+				} else {
+					results.add(result);
+				}
+			}
+			logger.info("Read " + results.size() + " results from " + futures.size() + " logs in " + source + " ("
+					+ nFailed + " without a result)");
+			return results;
+
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	private Result getResult(Future<Result> future, String name) throws IOException {
+		try {
+			return Futures.get(future);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof IOException) throw (IOException) e.getCause();
+			throw new IOException("Could not read " + name, e.getCause());
+		}
+	}
+
+	/**
+	 * @return The result, or null if the log doesn't end with one
+	 */
+	private static Result parse(String name, byte[] tail) {
+		try {
+			return SymDOutputParser.parse(new String(tail, LATIN1));
+		} catch (IllegalArgumentException e) {
+			logger.warn("No result in " + name + ": " + e.getMessage());
+			return null;
+		}
+	}
+
+	/**
+	 * Reads up to {@code length} bytes, keeping only the last {@link #TAIL_LENGTH}.
+	 */
+	private static byte[] readTail(InputStream is, long length) throws IOException {
+		byte[] ring = new byte[TAIL_LENGTH];
+		long total = 0;
+		while (total < length) {
+			int offset = (int) (total % TAIL_LENGTH);
+			int n = is.read(ring, offset, (int) Math.min(TAIL_LENGTH - offset, length - total));
+			if (n < 0) {
+				if (length == Long.MAX_VALUE) break;
+				throw new EOFException("Log ended early");
+			}
+			total += n;
+		}
+		if (total <= TAIL_LENGTH) return Arrays.copyOf(ring, (int) total);
+		int offset = (int) (total % TAIL_LENGTH);
+		byte[] tail = new byte[TAIL_LENGTH];
+		System.arraycopy(ring, offset, tail, 0, TAIL_LENGTH - offset);
+		System.arraycopy(ring, 0, tail, TAIL_LENGTH - offset, offset);
+		return tail;
+	}
+
+	/**
+	 * Reads a (ustar or GNU) tarball on this thread, submitting the end of each regular file to be parsed.
+	 */
+	private static void readTar(File tarball, ExecutorService pool, Map<String, Future<Result>> futures)
+			throws IOException {
+		InputStream is = BenchmarkFiles.openInput(tarball);
+		try {
+			byte[] header = new byte[TAR_BLOCK];
+			String longName = null;
+			while (true) {
+				if (!readBlock(is, header)) break;
+				if (isZero(header)) break; // end of archive
+				String name = longName != null ? longName : headerName(header);
+				longName = null;
+				long size = parseOctal(header, 124, 12);
+				char type = (char) header[156];
+				long padding = (TAR_BLOCK - size % TAR_BLOCK) % TAR_BLOCK;
+				if (type == 'L') { // GNU long name for the next entry
+					longName = new String(readTail(is, size), LATIN1).trim();
+				} else if (type == '0' || type == '\0') {
+					final String entryName = name;
+					final byte[] tail = readTail(is, size);
+					put(futures, entryName, pool.submit(new Callable<Result>() {
+						@Override
+						public Result call() {
+							return parse(entryName, tail);
+						}
+					}));
+				} else {
+					skip(is, size);
+				}
+				skip(is, padding);
+			}
+		} finally {
+			is.close();
+		}
+	}
+
+	private static void put(Map<String, Future<Result>> futures, String name, Future<Result> future)
+			throws IOException {
+		if (futures.put(name, future) != null) throw new IOException("Found more than one log named " + name);
+	}
+
+	private static String headerName(byte[] header) {
+		String name = nulTerminated(header, 0, 100);
+		if (new String(header, 257, 5, LATIN1).equals("ustar")) {
+			String prefix = nulTerminated(header, 345, 155);
+			if (prefix.length() > 0) name = prefix + "/" + name;
+		}
+		return name;
+	}
+
+	private static boolean isZero(byte[] block) {
+		for (byte b : block) {
+			if (b != 0) return false;
+		}
+		return true;
+	}
+
+	private static String nulTerminated(byte[] bytes, int offset, int length) {
+		int end = offset;
+		while (end < offset + length && bytes[end] != 0) end++;
+		return new String(bytes, offset, end - offset, LATIN1);
+	}
+
+	private static long parseOctal(byte[] bytes, int offset, int length) throws IOException {
+		long value = 0;
+		for (int i = offset; i < offset + length; i++) {
+			byte b = bytes[i];
+			if (b == 0 || b == ' ') {
+				if (value > 0) break;
+				continue;
+			}
+			if (b < '0' || b > '7') throw new IOException("Bad tar header");
+			value = value * 8 + (b - '0');
+		}
+		return value;
+	}
+
+	private static boolean readBlock(InputStream is, byte[] block) throws IOException {
+		int total = 0;
+		while (total < block.length) {
+			int n = is.read(block, total, block.length - total);
+			if (n < 0) {
+				if (total == 0) return false;
+				throw new EOFException("Tarball ended mid-header");
+			}
+			total += n;
+		}
+		return true;
+	}
+
+	private static void skip(InputStream is, long n) throws IOException {
+		while (n > 0) {
+			long skipped = is.skip(n);
+			if (skipped <= 0) {
+				if (is.read() < 0) throw new EOFException("Tarball ended early");
+				skipped = 1;
+			}
+			n -= skipped;
+		}
+	}
+
+}
@@ -0,0 +1,189 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.biojava3.structure.align.symm.benchmark.BenchmarkFiles.AtomicFileOutputStream;
+
+/**
+ * Per-stage timings for a run of {@link SymDRunner}: a {@link LatencyHistogram} for each {@link Stage} across all
+ * domains, and the timings of each domain individually. Thread-safe.
+ *
+ * @author dmyerstu
+ */
+public class SymDMetrics {
+
+	/**
+	 * The timings of a single domain. Only one thread should record into it.
+	 */
+	public class DomainTiming {
+
+		private int nResidues = -1;
+		private final String scopId;
+		private boolean succeeded = false;
+		private final long[] times = new long[Stage.values().length];
+
+		private DomainTiming(String scopId) {
+			this.scopId = scopId;
+			for (int i = 0; i < times.length; i++) {
+				times[i] = -1;
+			}
+		}
+
+		/**
+		 * Records a stage that started at {@code startNanos} (from {@link System#nanoTime()}) and just finished.
+		 */
+		public void finish(Stage stage, long startNanos) {
+			long nanos = System.nanoTime() - startNanos;
+			times[stage.ordinal()] = nanos;
+			histograms.get(stage).record(nanos);
+		}
+
+		public void setnResidues(int nResidues) {
+			this.nResidues = nResidues;
+		}
+
+		/**
+		 * Marks SymD as having produced a result.
+		 */
+		public void succeed() {
+			succeeded = true;
+			nSucceeded.incrementAndGet();
+		}
+	}
+
+	public static enum Stage {
+		FETCH, PDB_WRITE, PROCESS, TM_SCORE;
+	}
+
+	private static final double NANOS_PER_MILLI = 1000000.0;
+
+	private final Map<Stage, LatencyHistogram> histograms = new EnumMap<Stage, LatencyHistogram>(Stage.class);
+
+	private final AtomicInteger nSucceeded = new AtomicInteger(0);
+
+	private final long startNanos = System.nanoTime();
+
+	private final List<DomainTiming> timings = new ArrayList<DomainTiming>();
+
+	public SymDMetrics() {
+		for (Stage stage : Stage.values()) {
+			histograms.put(stage, new LatencyHistogram());
+		}
+	}
+
+	/**
+	 * @return The number of domains SymD produced a result for, per minute since this was created
+	 */
+	public double getDomainsPerMinute() {
+		double minutes = (System.nanoTime() - startNanos) / NANOS_PER_MILLI / 60000.0;
+		return nSucceeded.get() / minutes;
+	}
+
+	public LatencyHistogram getHistogram(Stage stage) {
+		return histograms.get(stage);
+	}
+
+	/**
+	 * @return A summary of each stage in milliseconds, and the throughput
+	 */
+	public String getReport() {
+		NumberFormat nf = new DecimalFormat();
+		nf.setMaximumFractionDigits(1);
+		nf.setGroupingUsed(false);
+		StringBuilder sb = new StringBuilder();
+		sb.append("stage\tn\tp50\tp90\tp99\tmax (ms)\n");
+		for (Stage stage : Stage.values()) {
+			LatencyHistogram h = histograms.get(stage);
+			sb.append(stage + "\t" + h.getCount() + "\t" + nf.format(h.getValueAtPercentile(50) / NANOS_PER_MILLI)
+					+ "\t" + nf.format(h.getValueAtPercentile(90) / NANOS_PER_MILLI) + "\t"
+					+ nf.format(h.getValueAtPercentile(99) / NANOS_PER_MILLI) + "\t"
+					+ nf.format(h.getMax() / NANOS_PER_MILLI) + "\n");
+		}
+		sb.append(nSucceeded.get() + " domains at " + nf.format(getDomainsPerMinute()) + " domains/minute");
+		return sb.toString();
+	}
+
+	/**
+	 * Starts timing a domain.
+	 */
+	public DomainTiming newDomain(String scopId) {
+		DomainTiming timing = new DomainTiming(scopId);
+		synchronized (timings) {
+			timings.add(timing);
+		}
+		return timing;
+	}
+
+	/**
+	 * Writes one line per domain, sorted by SCOP Id, with the number of residues, whether SymD succeeded, and the time
+	 * in milliseconds of each stage (blank if it didn't happen).
+	 */
+	public void writeCsv(File file) throws IOException {
+		List<DomainTiming> sorted;
+		synchronized (timings) {
+			sorted = new ArrayList<DomainTiming>(timings);
+		}
+		Collections.sort(sorted, new Comparator<DomainTiming>() {
+			@Override
+			public int compare(DomainTiming o1, DomainTiming o2) {
+				return o1.scopId.compareTo(o2.scopId);
+			}
+		});
+		AtomicFileOutputStream afos = new AtomicFileOutputStream(file);
+		boolean done = false;
+		try {
+			BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(afos, "UTF-8"));
+			bw.write("scop_id,n_residues,succeeded");
+			for (Stage stage : Stage.values()) {
+				bw.write("," + stage.name().toLowerCase() + "_ms");
+			}
+			bw.write("\n");
+			for (DomainTiming timing : sorted) {
+				bw.write(timing.scopId + "," + (timing.nResidues < 0 ? "" : timing.nResidues) + "," + timing.succeeded);
+				for (long nanos : timing.times) {
+					bw.write("," + (nanos < 0 ? "" : String.valueOf(nanos / NANOS_PER_MILLI)));
+				}
+				bw.write("\n");
+			}
+			bw.close();
+			done = true;
+		} finally {
+			if (!done) afos.abort();
+		}
+	}
+
+}
@@ -0,0 +1,241 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import org.biojava3.structure.align.symm.census2.Alignment;
+import org.biojava3.structure.align.symm.census2.Result;
+
+/**
+ * Reads the {@code Best(...)} line that ends SymD's output, scanning it in place rather than splitting it with regular
+ * expressions. For example:
+ *
+ * <pre>
+ * d1t3xa_  130 a.a. : Best(initial shift,N-aligned,T-score,Z-score)=( 106,   39,  18.998,   3.091)
+ * 1WOP  364 a.a. : Best(initial shift, N-aligned, N-non-self-aligned, Tm, Tmpr, Z1)=( 109,  140,  140,  134.07,  0.3683,  10.66)
+ * </pre>
+ *
+ * The first is from SymD 1.3hw3, which prints 4 values; the second is from 1.5b, which prints 6.
+ *
+ * @author dmyerstu
+ */
+public class SymDOutputParser {
+
+	private static final int N_VALUES_13HW3 = 4;
+
+	private static final int N_VALUES_15B = 6;
+
+	/**
+	 * Exact powers of 10 as floats. Dividing by these gives the same float as {@link Float#parseFloat(String)}.
+	 */
+	private static final float[] POWERS_OF_TEN = { 1e0f, 1e1f, 1e2f, 1e3f, 1e4f, 1e5f, 1e6f, 1e7f, 1e8f, 1e9f, 1e10f };
+
+	/**
+	 * The largest mantissa that a float represents exactly.
+	 */
+	private static final long MAX_EXACT_MANTISSA = 1L << 24;
+
+	/**
+	 * Parses the output of either SymD 1.3hw3 or 1.5b, depending on the number of values in the last line.
+	 *
+	 * @throws IllegalArgumentException
+	 *             If the last line isn't a result
+	 */
+	public static Result parse(CharSequence output) {
+		SymDOutputParser parser = new SymDOutputParser(output);
+		int n = parser.countValues();
+		if (n == N_VALUES_15B) return parser.read15b();
+		if (n == N_VALUES_13HW3) return parser.read13hw3();
+		throw new IllegalArgumentException("Expected " + N_VALUES_13HW3 + " or " + N_VALUES_15B + " values but got " + n);
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             If the last line isn't a SymD 1.3hw3 result
+	 */
+	public static Result parse13hw3(CharSequence output) {
+		SymDOutputParser parser = new SymDOutputParser(output);
+		parser.checkValues(N_VALUES_13HW3);
+		return parser.read13hw3();
+	}
+
+	/**
+	 * @throws IllegalArgumentException
+	 *             If the last line isn't a SymD 1.5b result
+	 */
+	public static Result parse15b(CharSequence output) {
+		SymDOutputParser parser = new SymDOutputParser(output);
+		parser.checkValues(N_VALUES_15B);
+		return parser.read15b();
+	}
+
+	private static boolean isDelimiter(char c) {
+		return c == ',' || Character.isWhitespace(c);
+	}
+
+	/**
+	 * The end of the values, exclusive.
+	 */
+	private final int close;
+
+	private final int lineStart;
+
+	/**
+	 * The start of the values.
+	 */
+	private final int open;
+
+	private int pos;
+
+	private final CharSequence s;
+
+	private SymDOutputParser(CharSequence s) {
+		this.s = s;
+		int end = s.length();
+		while (end > 0 && Character.isWhitespace(s.charAt(end - 1))) end--;
+		if (end == 0) throw new IllegalArgumentException("No output");
+		int start = end;
+		while (start > 0 && s.charAt(start - 1) != '\n') start--;
+		while (Character.isWhitespace(s.charAt(start))) start++;
+		lineStart = start;
+		int paren = end - 1;
+		while (paren >= start && s.charAt(paren) != '(') paren--;
+		if (paren < start) throw new IllegalArgumentException("No values in the last line");
+		open = paren + 1;
+		int stop = open;
+		while (stop < end && s.charAt(stop) != ')') stop++;
+		close = stop;
+	}
+
+	private void checkValues(int expected) {
+		int n = countValues();
+		if (n != expected) throw new IllegalArgumentException("Expected " + expected + " values but got " + n);
+	}
+
+	private int countValues() {
+		int n = 0;
+		boolean inToken = false;
+		for (int i = open; i < close; i++) {
+			boolean delimiter = isDelimiter(s.charAt(i));
+			if (!delimiter && !inToken) n++;
+			inToken = !delimiter;
+		}
+		return n;
+	}
+
+	private void nextToken() {
+		while (pos < close && isDelimiter(s.charAt(pos))) pos++;
+		if (pos >= close) throw new IllegalArgumentException("Too few values");
+	}
+
+	private float nextFloat() {
+		nextToken();
+		final int start = pos;
+		boolean negative = false;
+		if (s.charAt(pos) == '-' || s.charAt(pos) == '+') {
+			negative = s.charAt(pos) == '-';
+			pos++;
+		}
+		long mantissa = 0;
+		int nDecimals = -1;
+		boolean simple = true;
+		int nDigits = 0;
+		while (pos < close && !isDelimiter(s.charAt(pos))) {
+			char c = s.charAt(pos++);
+			if (c >= '0' && c <= '9') {
+				mantissa = mantissa * 10 + (c - '0');
+				nDigits++;
+				if (nDecimals >= 0) nDecimals++;
+				if (mantissa >= MAX_EXACT_MANTISSA) simple = false;
+			} else if (c == '.' && nDecimals < 0) {
+				nDecimals = 0;
+			} else {
+				simple = false; // an exponent, NaN, or garbage
+			}
+		}
+		if (simple && nDigits > 0 && nDecimals < POWERS_OF_TEN.length) {
+			float value = nDecimals > 0 ? mantissa / POWERS_OF_TEN[nDecimals] : mantissa;
+			return negative ? -value : value;
+		}
+		try {
+			return Float.parseFloat(s.subSequence(start, pos).toString());
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Bad number " + s.subSequence(start, pos), e);
+		}
+	}
+
+	private int nextInt() {
+		nextToken();
+		final int start = pos;
+		boolean negative = false;
+		if (s.charAt(pos) == '-' || s.charAt(pos) == '+') {
+			negative = s.charAt(pos) == '-';
+			pos++;
+		}
+		long value = 0;
+		int nDigits = 0;
+		while (pos < close && !isDelimiter(s.charAt(pos))) {
+			char c = s.charAt(pos++);
+			if (c < '0' || c > '9' || ++nDigits > 10) {
+				throw new IllegalArgumentException("Bad integer " + s.subSequence(start, Math.min(close, pos)));
+			}
+			value = value * 10 + (c - '0');
+		}
+		if (nDigits == 0 || value > Integer.MAX_VALUE) throw new IllegalArgumentException("Bad integer "
+				+ s.subSequence(start, pos));
+		return (int) (negative ? -value : value);
+	}
+
+	private Result newResult() {
+		int stop = lineStart;
+		while (stop < open && !Character.isWhitespace(s.charAt(stop))) stop++;
+		Result result = new Result();
+		result.setScopId(s.subSequence(lineStart, stop).toString());
+		pos = open;
+		return result;
+	}
+
+	private Result read13hw3() {
+		Result result = newResult();
+		Alignment alignment = new Alignment();
+		alignment.setInitialShift(nextInt());
+		alignment.setAlignLength(nextInt());
+		alignment.settScore(nextFloat());
+		alignment.setSymDZScore(nextFloat());
+		result.setAlignment(alignment);
+		return result;
+	}
+
+	private Result read15b() {
+		Result result = newResult();
+		Alignment alignment = new Alignment();
+		alignment.setInitialShift(nextInt());
+		alignment.setAlignLength(nextInt());
+		alignment.setnNonSelfAligned(nextInt());
+		alignment.settScore(nextFloat());
+		alignment.setSymDTmScore(nextFloat());
+		alignment.setSymDZScore(nextFloat());
+		result.setAlignment(alignment);
+		return result;
+	}
+
+}
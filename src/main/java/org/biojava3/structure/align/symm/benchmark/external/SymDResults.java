@@ -24,23 +24,20 @@ package org.biojava3.structure.align.symm.benchmark.external;
 
 import java.io.ByteArrayOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.IOException;
-import java.io.PrintStream;
-import java.util.ArrayList;
+import java.io.OutputStream;
 import java.util.List;
 
-import javax.xml.bind.JAXBContext;
 import javax.xml.bind.JAXBException;
-import javax.xml.bind.Marshaller;
-import javax.xml.bind.Unmarshaller;
 import javax.xml.bind.annotation.XmlAccessType;
 import javax.xml.bind.annotation.XmlAccessorType;
 import javax.xml.bind.annotation.XmlRootElement;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
-import org.biojava3.structure.align.symm.census2.Alignment;
+import org.biojava3.structure.align.symm.benchmark.JaxbPool;
+import org.biojava3.structure.align.symm.benchmark.ShardLoader;
+import org.biojava3.structure.align.symm.benchmark.ShardLoader.DuplicatePolicy;
 import org.biojava3.structure.align.symm.census2.Result;
 import org.biojava3.structure.align.symm.census2.Results;
 
@@ -54,20 +51,10 @@ import org.biojava3.structure.align.symm.census2.Results;
 @XmlAccessorType(XmlAccessType.PUBLIC_MEMBER)
 public class SymDResults extends Results {
 
-	private static JAXBContext jaxbContext;
-
 	private static final Logger logger = LogManager.getLogger(SymDResults.class.getName());
 
 	private static final long serialVersionUID = -6877332751979209323L;
 
-	static {
-		try {
-			jaxbContext = JAXBContext.newInstance(SymDResults.class);
-		} catch (Exception e) {
-			throw new RuntimeException(e); // fatal
-		}
-	}
-
 	/**
 	 * Example output:
 	 * 
@@ -77,27 +64,17 @@ public class SymDResults extends Results {
 	 * d1t3xa_  130 a.a. : Best(initial shift,N-aligned,T-score,Z-score)=( 106,   39,  18.998,   3.091)
 	 * </pre>
 	 * 
+	 * Only the last line is read, so {@code output} can be just that line.
+	 * 
 	 * @param output
 	 * @return
 	 */
 	public static Result fromOutput13hw3(String output) {
-		Result result = new Result();
 		try {
-			String[] lines = output.split("\n");
-			String line = lines[lines.length - 1];
-			String x = line.substring(line.lastIndexOf("(") + 1, line.length() - 1).trim();
-			String[] values = x.split("[\\s,]+");
-			result.setScopId(line.substring(0, line.indexOf(" ")));
-			Alignment alignment = new Alignment();
-			alignment.setInitialShift(Integer.parseInt(values[0]));
-			alignment.setAlignLength(Integer.parseInt(values[1]));
-			alignment.settScore(Float.parseFloat(values[2]));
-			alignment.setSymDZScore(Float.parseFloat(values[3]));
-			result.setAlignment(alignment);
+			return SymDOutputParser.parse13hw3(output);
 		} catch (RuntimeException e) {
 			throw new IllegalArgumentException("SymD returned strange output \"" + output + "\"", e);
 		}
-		return result;
 	}
 
 	/**
@@ -109,63 +86,67 @@ public class SymDResults extends Results {
 	 * 1WOP  364 a.a. : Best(initial shift, N-aligned, N-non-self-aligned, Tm, Tmpr, Z1)=( 109,  140,  140,  134.07,  0.3683,  10.66)
 	 * </pre>
 	 * 
+	 * Only the last line is read, so {@code output} can be just that line.
+	 * 
 	 * @param output
 	 * @return
 	 */
 	public static Result fromOutput15b(String output) {
-		Result result = new Result();
 		try {
-			String[] lines = output.split("\n");
-			String line = lines[lines.length - 1];
-			String x = line.substring(line.lastIndexOf("(") + 1, line.length() - 1).trim();
-			String[] values = x.split("[\\s,]+");
-			result.setScopId(line.substring(0, line.indexOf(" ")));
-			Alignment alignment = new Alignment();
-			alignment.setInitialShift(Integer.parseInt(values[0]));
-			alignment.setAlignLength(Integer.parseInt(values[1]));
-			alignment.setnNonSelfAligned(Integer.parseInt(values[2]));
-			alignment.settScore(Float.parseFloat(values[3]));
-			alignment.setSymDTmScore(Float.parseFloat(values[4]));
-			alignment.setSymDZScore(Float.parseFloat(values[5]));
-			result.setAlignment(alignment);
+			return SymDOutputParser.parse15b(output);
 		} catch (RuntimeException e) {
 			throw new IllegalArgumentException("SymD returned strange output \"" + output + "\"", e);
 		}
-		return result;
 	}
 
 	public static SymDResults fromXML(File file) throws IOException {
 
-		try {
-
-			Unmarshaller un = jaxbContext.createUnmarshaller();
-			FileInputStream fis = new FileInputStream(file);
-			Results results = (Results) un.unmarshal(fis);
+		Results results = JaxbPool.unmarshal(file, SymDResults.class, Results.class);
 
-			// due to a side effect by JAXB
-			List<Result> newData = new ArrayList<Result>(results.getData().size());
-			for (Result result : results.getData()) {
-				if (result != null)
-					newData.add(result);
-			}
-			results.setData(newData);
-
-			SymDResults symd = new SymDResults();
-			for (Result result : results.getData())
+		// due to a side effect by JAXB
+		SymDResults symd = new SymDResults();
+		for (Result result : results.getData()) {
+			if (result != null)
 				symd.add(result);
-
-			return symd;
-
-		} catch (JAXBException e) {
-			throw new IOException(e);
 		}
 
+		return symd;
+
 	}
 
+	/**
+	 * Loads the files concurrently, with one thread per processor, and keeps the first of any conflicting results.
+	 * 
+	 * @see #fromXML(File[], int, DuplicatePolicy)
+	 */
 	public static SymDResults fromXML(File[] files) throws IOException {
+		return fromXML(files, Runtime.getRuntime().availableProcessors(), DuplicatePolicy.KEEP_FIRST);
+	}
+
+	/**
+	 * Loads and merges several SymD results files. The results are in the order of {@code files}, and results with
+	 * the same SCOP Id are merged.
+	 * 
+	 * @param nThreads
+	 *            The maximum number of files to load at once
+	 * @param policy
+	 *            What to do with non-identical results that share a SCOP Id
+	 */
+	public static SymDResults fromXML(File[] files, int nThreads, DuplicatePolicy policy) throws IOException {
+		ShardLoader<Result> loader = new ShardLoader<Result>(nThreads, policy) {
+			@Override
+			protected String getId(Result entry) {
+				return entry.getScopId();
+			}
+
+			@Override
+			protected List<Result> load(File file) throws IOException {
+				return fromXML(file).getData();
+			}
+		};
 		SymDResults results = new SymDResults();
-		for (File file : files) {
-			results.getData().addAll(fromXML(file).getData());
+		for (Result result : loader.loadAll(files)) {
+			results.add(result);
 		}
 		return results;
 	}
@@ -178,18 +159,44 @@ public class SymDResults extends Results {
 	public String toXML() throws IOException {
 
 		ByteArrayOutputStream baos = new ByteArrayOutputStream();
-		PrintStream ps = new PrintStream(baos);
+		toXML(baos);
+		return baos.toString();
+
+	}
+
+	/**
+	 * Writes these results as indented XML to {@code file} without building the document in memory. The file is
+	 * replaced only once the write succeeds.
+	 * 
+	 * @param gzip
+	 *            Whether to gzip the output; {@link #fromXML(File)} reads either
+	 */
+	public void toXML(File file, boolean gzip) throws IOException {
+		toXML(file, gzip, true);
+	}
+
+	/**
+	 * Writes these results as XML to {@code file} without building the document in memory. The file is replaced only
+	 * once the write succeeds.
+	 * 
+	 * @param gzip
+	 *            Whether to gzip the output; {@link #fromXML(File)} reads either
+	 * @param formatted
+	 *            Whether to indent the output; compact output is considerably smaller
+	 */
+	public void toXML(File file, boolean gzip, boolean formatted) throws IOException {
+		JaxbPool.marshal(this, file, gzip, formatted);
+	}
 
+	/**
+	 * Writes these results as indented XML to {@code os}, which is left open.
+	 */
+	public void toXML(OutputStream os) throws IOException {
 		try {
-			Marshaller m = jaxbContext.createMarshaller();
-			m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
-			m.marshal(this, ps);
+			JaxbPool.getMarshaller(SymDResults.class, true).marshal(this, os);
 		} catch (JAXBException e) {
 			throw new IOException(e);
 		}
-
-		return baos.toString();
-
 	}
 
 }
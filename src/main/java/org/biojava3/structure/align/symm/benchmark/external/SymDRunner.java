@@ -1,24 +1,40 @@
 package org.biojava3.structure.align.symm.benchmark.external;
 
-import java.io.BufferedWriter;
 import java.io.File;
-import java.io.FileWriter;
 import java.io.IOException;
-import java.io.InputStream;
 import java.util.ArrayList;
 import java.util.Date;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
 
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.biojava.bio.structure.Structure;
 import org.biojava.bio.structure.StructureException;
-import org.biojava.bio.structure.align.model.AFPChain;
+import org.biojava.bio.structure.StructureTools;
 import org.biojava.bio.structure.align.util.AtomCache;
 import org.biojava.bio.structure.scop.ScopDatabase;
 import org.biojava.bio.structure.scop.ScopDomain;
 import org.biojava.bio.structure.scop.ScopFactory;
+import org.biojava3.structure.align.symm.benchmark.BenchmarkFiles;
+import org.biojava3.structure.align.symm.benchmark.Futures;
 import org.biojava3.structure.align.symm.benchmark.SampleBuilder;
+import org.biojava3.structure.align.symm.benchmark.external.SymDMetrics.DomainTiming;
+import org.biojava3.structure.align.symm.benchmark.external.SymDMetrics.Stage;
 import org.biojava3.structure.align.symm.census2.Result;
 import org.biojava3.structure.utils.FileUtils;
 
@@ -32,6 +48,11 @@ public class SymDRunner {
 	private static final Logger logger = LogManager.getLogger(SymDRunner.class.getName());
 
 	private static SymDResults getResultsFromPrevRun(File file) {
+		SymDResults results = readPrevOutput(file);
+		return results == null ? new SymDResults() : results;
+	}
+
+	private static SymDResults readPrevOutput(File file) {
 		if (file.exists() && file.length() > 0) {
 			try {
 				SymDResults results = SymDResults.fromXML(file);
@@ -48,25 +69,28 @@ public class SymDRunner {
 				}
 			}
 		}
-		return new SymDResults();
+		return null;
 	}
 
+	/**
+	 * Reads the TM-score from the FASTA file SymD left in the current directory, without caching it.
+	 *
+	 * @see SymDTmScorer#getTmScore(File, Structure)
+	 */
 	public static float getTmScoreFromFastaFile(String scopId, Structure structure) throws SymDException {
-		File fastaFile = new File(scopId + "-best.fasta");
+		SymDTmScorer scorer;
 		try {
-			AFPChain afpChain = SymDFasta.getAlignment(fastaFile);
-			if (afpChain == null)
-				throw new SymDException("AFPChain is null");
-			return (float) afpChain.getTMScore();
-		} catch (Exception e) {
-			throw new SymDException("The FASTA file was wrong or could not be converted to an AFPChain", e);
+			scorer = new SymDTmScorer(null);
+		} catch (IOException e) {
+			throw new SymDException("Could not create a TM-scorer", e);
 		}
+		return scorer.getTmScore(new File(scopId + SymDTmScorer.FASTA_SUFFIX), structure);
 	}
 
 	public static void main(String[] args) {
-		if (args.length > 3 || args.length > 4) {
+		if (args.length < 3 || args.length > 6) {
 			System.err.println("Usage: " + SymDResults.class.getSimpleName()
-					+ " SymD-path names-file output-file [1.5b]");
+					+ " SymD-path names-file output-file [1.5b] [n-threads] [timeout-seconds]");
 			return;
 		}
 		final String symDPath = args[0];
@@ -82,54 +106,102 @@ public class SymDRunner {
 				updated = true;
 		}
 		SymDRunner runner = new SymDRunner(cache, scop, symDPath, outputFile, updated);
+		runner.setJournaled(true);
+		if (args.length > 4) runner.setnThreads(Integer.parseInt(args[4]));
+		if (args.length > 5) runner.setTimeout(Long.parseLong(args[5]) * 1000L);
 		runner.run(namesFile);
 	}
 
 	/**
-	 * Useful because some processes won't produce input streams that can be
-	 * buffered (instead, they discard their output immediately).
+	 * Kills SymD processes that run for too long. Its thread is a daemon so it never keeps the JVM alive.
+	 */
+	private static final ScheduledExecutorService watchdog = Executors.newSingleThreadScheduledExecutor(new ThreadFactory() {
+		@Override
+		public Thread newThread(Runnable r) {
+			Thread thread = new Thread(r, "symd-watchdog");
+			thread.setDaemon(true);
+			return thread;
+		}
+	});
+
+	/**
+	 * The number of characters at the end of SymD's output to keep for error messages.
+	 */
+	private static final int OUTPUT_TAIL_LENGTH = 4096;
+
+	/**
+	 * Runs a command while another thread drains its output, so that the process can't block on a full pipe.
 	 * 
 	 * @param cmd
-	 * @return
+	 * @param dir
+	 *            The working directory, or null to inherit ours
+	 * @param timeout
+	 *            The wall-clock time in milliseconds after which the process is killed, or 0 for no limit
+	 * @return The finished pump, which holds the last line and the tail of the output
+	 * @throws SymDException
+	 *             If the process was killed because it timed out
 	 */
-	private static String runCmd(String[] cmd) {
-		Process process;
+	private static OutputPump runCmd(String[] cmd, File dir, long timeout) throws SymDException {
+		final Process process;
 		try {
-			process = new ProcessBuilder(cmd).redirectErrorStream(true).start();
+			process = new ProcessBuilder(cmd).directory(dir).redirectErrorStream(true).start();
 		} catch (IOException e) {
 			throw new RuntimeException("Could not create execution process", e);
 		}
-		final InputStream out = process.getInputStream();
-		final StringBuilder sb = new StringBuilder();
-		while (true) {
-			try {
-				process.waitFor();
-				break;
-			} catch (InterruptedException e) {
-				logger.warn(e);
-			}
+		final OutputPump pump = new OutputPump(process.getInputStream(), OUTPUT_TAIL_LENGTH);
+		pump.start();
+		final AtomicBoolean timedOut = new AtomicBoolean(false);
+		ScheduledFuture<?> kill = null;
+		if (timeout > 0) {
+			kill = watchdog.schedule(new Runnable() {
+				@Override
+				public void run() {
+					timedOut.set(true);
+					process.destroy();
+				}
+			}, timeout, TimeUnit.MILLISECONDS);
 		}
-
-		int c;
-		do {
-			try {
-				c = out.read();
-			} catch (IOException e) {
-				throw new RuntimeException(e);
-			}
-			if (c >= 0)
-				sb.append((char) c);
-		} while (c != -1);
-		return sb.toString();
+		try {
+			process.waitFor();
+			pump.join(); // the output ends when the process does
+		} catch (InterruptedException e) {
+			// we've been cancelled, so don't leave the process behind
+			process.destroy();
+			Thread.currentThread().interrupt();
+			throw new SymDException("Interrupted while waiting for " + cmd[cmd.length - 1]);
+		} finally {
+			if (kill != null) kill.cancel(false);
+		}
+		if (timedOut.get()) {
+			throw new SymDException("Killed SymD on " + cmd[cmd.length - 1] + " after " + timeout + "ms");
+		}
+		if (pump.getError() != null) {
+			throw new RuntimeException("Could not read the output of " + cmd[0], pump.getError());
+		}
+		return pump;
 	}
 
+	private Set<String> failed = new HashSet<String>();
+	private SymDJournal journal;
+	private SymDMetrics metrics;
+	private boolean isJournaled = false;
+	private int nRemaining = 0;
+	private int nThreads = 1;
+	private int nSkipped = 0;
 	private int printFrequency = 20;
+	private boolean retryFailed = true;
 	private boolean isUpdated;
-	private String symdPdbFilesDir;
+	private PdbStagingCache stagingCache;
 	private AtomCache cache;
 
 	private String symdPath;
 
+	private long timeout = 0;
+
+	private SymDTmScorer tmScorer;
+
+	private File workDir;
+
 	private File outputFile;
 
 	private ScopDatabase scop;
@@ -141,27 +213,45 @@ public class SymDRunner {
 		this.isUpdated = isUpdated;
 		this.cache = cache;
 		this.symdPath = symdPath;
-		symdPdbFilesDir = symdPdbFilesDir.substring(0, symdPdbFilesDir.lastIndexOf('/'));
+		File symdDir = new File(symdPath).getAbsoluteFile().getParentFile();
+		this.stagingCache = new PdbStagingCache(new File(symdDir, "pdb-staging"), PdbStagingCache.DEFAULT_MAX_BYTES);
 		this.outputFile = outputFile;
 		this.scop = scop;
 	}
 
+	/**
+	 * @return The number of domains the last call to {@link #runOnDomains(List)} ran SymD on
+	 */
+	public int getnRemaining() {
+		return nRemaining;
+	}
+
+	/**
+	 * @return The number of domains the last call to {@link #runOnDomains(List)} skipped because a previous run had
+	 *         already completed them (or failed on them, if not retrying failures)
+	 */
+	public int getnSkipped() {
+		return nSkipped;
+	}
+
+	/**
+	 * @return Per-stage timings of the last call to {@link #runOnDomains(List)}
+	 */
+	public SymDMetrics getMetrics() {
+		return metrics;
+	}
+
 	public double getTimeTaken() {
 		return timeTaken;
 	}
 
+	/**
+	 * Writes {@code results} straight to the output file, replacing it only once the write succeeds. The output is
+	 * gzipped if the output file name ends in {@code .gz}.
+	 */
 	public void printResults(SymDResults results) {
-		String xml;
-		try {
-			xml = results.toXML();
-		} catch (IOException e) {
-			throw new RuntimeException("Couldn't get XML results", e);
-		}
-		BufferedWriter bw;
 		try {
-			bw = new BufferedWriter(new FileWriter(outputFile));
-			bw.write(xml);
-			bw.close();
+			results.toXML(outputFile, BenchmarkFiles.isGzipName(outputFile));
 		} catch (IOException e) {
 			throw new RuntimeException("Couldn't write XML results to " + outputFile, e);
 		}
@@ -184,90 +274,426 @@ public class SymDRunner {
 
 	}
 
-	public SymDResults runOnDomains(List<ScopDomain> scopDomains) {
-		SymDResults results = getResultsFromPrevRun(outputFile);
-		long timeTaken = 0;
-		int i = 0;
-		int nSuccess = 0;
+	/**
+	 * Loads the results of a previous run from the output file and, if journaling, replays the journal on top of them.
+	 * Opens the journal for appending.
+	 */
+	private SymDResults getResultsFromPrevRun() {
+		if (!isJournaled) return getResultsFromPrevRun(outputFile);
+		SymDResults results = readPrevOutput(outputFile);
+		if (results == null) results = new SymDResults();
+		Set<String> scopIds = new HashSet<String>();
+		for (Result result : results.getData()) {
+			scopIds.add(result.getScopId());
+		}
+		try {
+			journal = new SymDJournal(SymDJournal.forOutput(outputFile));
+		} catch (IOException e) {
+			throw new RuntimeException("Could not open journal for " + outputFile, e);
+		}
+		// if we crashed after writing the output file but before deleting the journal, these overlap
+		for (Result result : journal.getReplayed()) {
+			if (scopIds.add(result.getScopId())) results.add(result);
+		}
+		failed.addAll(journal.getFailed());
+		return results;
+	}
+
+	/**
+	 * Writes the results to the output file and deletes the journal, which they now include. Failures aren't part of
+	 * the output, so they're kept in a fresh journal, except for domains that have since succeeded.
+	 */
+	private void compactJournal(SymDResults results) {
+		printResults(results);
+		for (Result result : results.getData()) {
+			failed.remove(result.getScopId());
+		}
+		try {
+			journal.delete();
+			if (!failed.isEmpty()) {
+				journal = new SymDJournal(journal.getFile());
+				for (String scopId : failed) {
+					journal.appendFailure(scopId);
+				}
+				journal.close();
+			}
+		} catch (IOException e) {
+			logger.warn("Could not compact journal " + journal.getFile(), e);
+		}
+		journal = null;
+	}
+
+	/**
+	 * Closes the journal without compacting it, for when a run ends early.
+	 */
+	private void closeJournal() {
+		try {
+			journal.close();
+		} catch (IOException e) {
+			logger.warn("Could not close journal " + journal.getFile(), e);
+		}
+		journal = null;
+	}
+
+	/**
+	 * Determines which domains still need to be run, given the results (and failures) of previous runs.
+	 */
+	private List<ScopDomain> getRemaining(List<ScopDomain> scopDomains, SymDResults results) {
+		Set<String> done = new HashSet<String>();
+		for (Result result : results.getData()) {
+			done.add(result.getScopId());
+		}
+		List<ScopDomain> remaining = new ArrayList<ScopDomain>();
+		int nDone = 0, nFailed = 0;
 		for (ScopDomain domain : scopDomains) {
+			if (done.contains(domain.getScopId())) {
+				nDone++;
+			} else if (!retryFailed && failed.contains(domain.getScopId())) {
+				nFailed++;
+			} else {
+				remaining.add(domain);
+				done.add(domain.getScopId()); // in case it's listed twice
+			}
+		}
+		nSkipped = nDone + nFailed;
+		nRemaining = remaining.size();
+		logger.info("Skipping " + nDone + " already-completed domains and " + nFailed + " previously failed domains; "
+				+ nRemaining + " remain");
+		return remaining;
+	}
+
+	private void journal(Result result) {
+		try {
+			journal.append(result);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not write to journal " + journal.getFile(), e);
+		}
+	}
+
+	private void journalFailure(String scopId) {
+		try {
+			journal.appendFailure(scopId);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not write to journal " + journal.getFile(), e);
+		}
+	}
+
+	/**
+	 * Runs SymD on each domain, skipping any that a previous run with the same output file already completed. Up to
+	 * {@link #setnThreads(int) nThreads} SymD processes run at once, each in its own working directory. Each result is
+	 * journaled as soon as its process finishes, but the results returned (and printed) are in the order of
+	 * {@code scopDomains}, regardless of which process finishes first.
+	 */
+	public SymDResults runOnDomains(List<ScopDomain> scopDomains) {
+		SymDResults results = getResultsFromPrevRun();
+		final List<ScopDomain> remaining = getRemaining(scopDomains, results);
+		final AtomicLong timeTaken = new AtomicLong(0);
+		final File base = workDir != null ? workDir : createTempDir();
+		final BlockingQueue<File> workDirs = createWorkDirs(base);
+		metrics = new SymDMetrics();
+		if (isUpdated && tmScorer == null) {
 			try {
-				Structure structure;
-				try {
-					structure = cache.getStructure(domain.getScopId());
-				} catch (StructureException e) {
-					throw new RuntimeException("Could not get Structure for domain " + domain.getScopId(), e);
-				} catch (IOException e) {
-					throw new RuntimeException("Could not create PDB file for domain " + domain.getScopId(), e);
-				}
-				final File file = new File(symdPdbFilesDir + domain.getScopId() + ".pdb");
-				if (!file.exists()) {
-					try {
-						BufferedWriter bw = new BufferedWriter(new FileWriter(file));
-						bw.write(structure.toPDB());
-						bw.close();
-					} catch (IOException e) {
-						throw new RuntimeException("Could not create PDB file for domain " + domain.getScopId(), e);
-					}
-				}
-				Result result;
-				try {
-					long startTime = System.currentTimeMillis();
-					if (isUpdated) {
-						result = runSymD15b(domain, structure, file.getPath());
-					} else {
-						result = runSymD13hw3(domain, structure, file.getPath());
+				tmScorer = new SymDTmScorer(new File(outputFile.getPath() + ".tmscores.tsv"));
+			} catch (IOException e) {
+				throw new RuntimeException("Could not read cached TM-scores", e);
+			}
+		}
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		try {
+
+			List<Future<Result>> futures = new ArrayList<Future<Result>>(remaining.size());
+			for (final ScopDomain domain : remaining) {
+				futures.add(pool.submit(new Callable<Result>() {
+					@Override
+					public Result call() throws SymDException, InterruptedException {
+						File dir = workDirs.take();
+						Result result;
+						try {
+							result = runOnDomain(domain, dir, timeTaken);
+						} catch (SymDException e) {
+							// if we were interrupted, the run was cancelled rather than SymD failing
+							if (isJournaled && !Thread.currentThread().isInterrupted()) journalFailure(domain.getScopId());
+							throw e;
+						} finally {
+							workDirs.put(dir);
+						}
+						// don't wait for the domains before it, which might be slow or hung
+						if (isJournaled) journal(result);
+						return result;
 					}
-					long endTime = System.currentTimeMillis();
-					timeTaken += endTime - startTime;
+				}));
+			}
+
+			int nSuccess = 0;
+			for (int i = 0; i < remaining.size(); i++) {
+				final String scopId = remaining.get(i).getScopId();
+				Result result = getResult(futures.get(i), scopId);
+				if (result == null) {
+					failed.add(scopId);
+				} else {
+					results.add(result);
+					failed.remove(scopId);
 					nSuccess++;
-				} catch (SymDException e) {
-					logger.error("SymD failed on " + domain.getScopId(), e);
-					continue;
 				}
-				results.add(result);
-			} finally {
-				i++;
+				if (!isJournaled && (i + 1) % printFrequency == 0) {
+					printResults(results);
+				}
 			}
-			if (i % printFrequency == 0) {
+
+			if (isJournaled) {
+				compactJournal(results);
+			} else {
 				printResults(results);
 			}
+			if (isUpdated) saveTmScores();
+			logger.info("Timings:\n" + metrics.getReport());
+			final File csvFile = new File(outputFile.getPath() + ".timings.csv");
+			try {
+				metrics.writeCsv(csvFile);
+			} catch (IOException e) {
+				logger.warn("Could not write timings to " + csvFile, e);
+			}
+			this.timeTaken = (double) timeTaken.get() / (double) nSuccess;
+			results.setMeanSecondsTaken(this.timeTaken);
+			return results;
+
+		} finally {
+			pool.shutdownNow();
+			if (journal != null) closeJournal();
+			if (workDir == null) deleteTree(base);
+		}
+	}
+
+	private void saveTmScores() {
+		if (tmScorer.getCacheFile() == null) return;
+		try {
+			tmScorer.save();
+		} catch (IOException e) {
+			logger.warn("Could not save cached TM-scores", e);
+		}
+	}
+
+	/**
+	 * @return A new directory to hold the working directories when none was {@link #setWorkDir(File) set}; deleted
+	 *         when the run ends
+	 */
+	private static File createTempDir() {
+		File base;
+		try {
+			base = File.createTempFile("symd", "");
+		} catch (IOException e) {
+			throw new RuntimeException("Could not create a working directory", e);
+		}
+		base.delete();
+		return base;
+	}
+
+	/**
+	 * Makes one working directory per thread under {@code base}, so that concurrent SymD processes don't overwrite
+	 * each other's output files.
+	 */
+	private BlockingQueue<File> createWorkDirs(File base) {
+		BlockingQueue<File> dirs = new ArrayBlockingQueue<File>(nThreads);
+		for (int i = 0; i < nThreads; i++) {
+			File dir = new File(base, "worker-" + i);
+			if (!dir.isDirectory() && !dir.mkdirs()) {
+				throw new RuntimeException("Could not create working directory " + dir);
+			}
+			dirs.add(dir);
+		}
+		logger.info("Running " + nThreads + " SymD processes at once in " + base);
+		return dirs;
+	}
+
+	private static void deleteTree(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				deleteTree(child);
+			}
+		}
+		if (file.exists() && !file.delete()) logger.warn("Could not delete " + file);
+	}
+
+	/**
+	 * Waits for a domain's result.
+	 * 
+	 * @return The result, or null if SymD failed on it
+	 */
+	private Result getResult(Future<Result> future, String scopId) {
+		try {
+			return Futures.getUnchecked(future);
+		} catch (ExecutionException e) {
+			if (e.getCause() instanceof SymDException) {
+				logger.error("SymD failed on " + scopId, e.getCause());
+				return null;
+			}
+			if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+			throw new RuntimeException("Could not run SymD on " + scopId, e.getCause());
+		}
+	}
+
+	/**
+	 * Runs SymD on a single domain in the working directory {@code dir}. Called concurrently.
+	 */
+	private Result runOnDomain(ScopDomain domain, File dir, AtomicLong timeTaken) throws SymDException {
+		final DomainTiming timing = metrics.newDomain(domain.getScopId());
+		long start = System.nanoTime();
+		Structure structure = getStructure(domain.getScopId());
+		timing.finish(Stage.FETCH, start);
+		timing.setnResidues(StructureTools.getAtomCAArray(structure).length);
+		final File file;
+		start = System.nanoTime();
+		try {
+			file = stagingCache.stage(domain.getScopId(), structure);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not create PDB file for domain " + domain.getScopId(), e);
+		}
+		timing.finish(Stage.PDB_WRITE, start);
+		try {
+			long startTime = System.currentTimeMillis();
+			Result result;
+			if (isUpdated) {
+				result = runSymD15b(domain, structure, file.getAbsolutePath(), dir, timing);
+			} else {
+				result = runSymD13hw3(domain, structure, file.getAbsolutePath(), dir, timing);
+			}
+			long endTime = System.currentTimeMillis();
+			timeTaken.addAndGet(endTime - startTime);
+			result.setScopId(domain.getScopId()); // don't depend on how SymD names the result
+			timing.succeed();
+			return result;
+		} finally {
+			stagingCache.release(file);
+		}
+	}
+
+	/**
+	 * Fetches the structure of a domain. Called concurrently.
+	 */
+	protected Structure getStructure(String scopId) {
+		try {
+			return cache.getStructure(scopId);
+		} catch (StructureException e) {
+			throw new RuntimeException("Could not get Structure for domain " + scopId, e);
+		} catch (IOException e) {
+			throw new RuntimeException("Could not get Structure for domain " + scopId, e);
 		}
-		printResults(results);
-		this.timeTaken = (double) timeTaken / (double) nSuccess;
-		results.setMeanSecondsTaken(this.timeTaken);
-		return results;
 	}
 
 	public Result runSymD13hw3(ScopDomain domain, Structure structure, String pdbFilePath) throws SymDException {
+		return runSymD13hw3(domain, structure, pdbFilePath, null);
+	}
+
+	/**
+	 * @param dir
+	 *            The working directory to run SymD in, or null for the current directory
+	 */
+	public Result runSymD13hw3(ScopDomain domain, Structure structure, String pdbFilePath, File dir) throws SymDException {
+		return runSymD13hw3(domain, structure, pdbFilePath, dir, null);
+	}
+
+	/**
+	 * @param timing
+	 *            Records the time SymD took, or null
+	 */
+	private Result runSymD13hw3(ScopDomain domain, Structure structure, String pdbFilePath, File dir, DomainTiming timing)
+			throws SymDException {
 		final String[] cmd = new String[] { symdPath, pdbFilePath };
-		final String output = runCmd(cmd); // waits for completion
+		final long start = System.nanoTime();
+		final OutputPump output = runCmd(cmd, dir, timeout); // waits for completion
+		if (timing != null) timing.finish(Stage.PROCESS, start);
 		try {
-			return SymDResults.fromOutput13hw3(output);
+			return SymDResults.fromOutput13hw3(output.getLastLine());
 		} catch (IllegalArgumentException e) {
-			throw new SymDException("SymD failed on " + pdbFilePath, e);
+			throw new SymDException("SymD failed on " + pdbFilePath + "; its output ended with:\n" + output.getTail(), e);
 		}
 	}
 
-	private Result runSymD15b(ScopDomain domain, Structure structure, String pdbFilePath) throws SymDException {
+	private Result runSymD15b(ScopDomain domain, Structure structure, String pdbFilePath, File dir, DomainTiming timing)
+			throws SymDException {
 		final String[] cmd = new String[] { symdPath, pdbFilePath };
-		final String output = runCmd(cmd); // waits for completion
+		long start = System.nanoTime();
+		final OutputPump output = runCmd(cmd, dir, timeout); // waits for completion
+		timing.finish(Stage.PROCESS, start);
 		Result result;
 		try {
-			result = SymDResults.fromOutput15b(output);
+			result = SymDResults.fromOutput15b(output.getLastLine());
 		} catch (IllegalArgumentException e) {
-			throw new SymDException("SymD failed on " + pdbFilePath, e);
+			throw new SymDException("SymD failed on " + pdbFilePath + "; its output ended with:\n" + output.getTail(), e);
 		}
+		start = System.nanoTime();
 		try {
-			float tmScore = getTmScoreFromFastaFile(domain.getScopId(), structure);
+			float tmScore = tmScorer.getTmScore(new File(dir, domain.getScopId() + SymDTmScorer.FASTA_SUFFIX), structure);
 			result.getAlignment().setTmScore(tmScore);
 		} catch (SymDException e) {
 			logger.error("Couldn't set TM-score for " + domain.getScopId(), e);
 		}
+		timing.finish(Stage.TM_SCORE, start);
 		return result;
 	}
 
+	/**
+	 * If set, each result is appended to a journal beside the output file as soon as it finishes, instead of the whole
+	 * output file being rewritten every {@link #setPrintFrequency(int) printFrequency} domains. The journal is written
+	 * into the output file at the end of the run, and is replayed if the run is restarted.
+	 * 
+	 * @see SymDJournal
+	 */
+	public void setJournaled(boolean isJournaled) {
+		this.isJournaled = isJournaled;
+	}
+
+	/**
+	 * Sets the number of SymD processes to run at once. Defaults to 1.
+	 */
+	public void setnThreads(int nThreads) {
+		if (nThreads < 1) throw new IllegalArgumentException("Need at least 1 thread");
+		this.nThreads = nThreads;
+	}
+
 	public void setPrintFrequency(int printFrequency) {
 		this.printFrequency = printFrequency;
 	}
 
+	/**
+	 * Sets whether to run SymD again on domains that it failed on in a previous run. Failures are only remembered
+	 * across runs when {@link #setJournaled(boolean) journaled}; otherwise they're always retried. Defaults to true.
+	 */
+	public void setRetryFailed(boolean retryFailed) {
+		this.retryFailed = retryFailed;
+	}
+
+	/**
+	 * Sets where the PDB files that SymD reads are written. Defaults to a {@code pdb-staging} directory beside SymD,
+	 * capped at {@link PdbStagingCache#DEFAULT_MAX_BYTES}; {@link PdbStagingCache#inTmpfs(long)} avoids the disk.
+	 */
+	public void setStagingCache(PdbStagingCache stagingCache) {
+		this.stagingCache = stagingCache;
+	}
+
+	/**
+	 * Sets how TM-scores are computed from SymD 1.5b's alignments. Defaults to a scorer whose cache is saved beside the
+	 * output file.
+	 */
+	public void setTmScorer(SymDTmScorer tmScorer) {
+		this.tmScorer = tmScorer;
+	}
+
+	/**
+	 * Sets the wall-clock time in milliseconds after which a SymD process is killed and its domain counted as failed.
+	 * Defaults to 0, meaning no limit.
+	 */
+	public void setTimeout(long timeout) {
+		this.timeout = timeout;
+	}
+
+	/**
+	 * Sets the directory under which each thread gets its own working directory (and leaves SymD's output files).
+	 * Defaults to a new temporary directory, which is deleted at the end of each run.
+	 */
+	public void setWorkDir(File workDir) {
+		this.workDir = workDir;
+	}
+
 }
@@ -0,0 +1,279 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileReader;
+import java.io.FilenameFilter;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava.bio.structure.Structure;
+import org.biojava.bio.structure.align.model.AFPChain;
+import org.biojava3.structure.align.symm.benchmark.BenchmarkFiles;
+import org.biojava3.structure.align.symm.benchmark.BenchmarkFiles.AtomicFileOutputStream;
+import org.biojava3.structure.align.symm.benchmark.Futures;
+import org.biojava3.structure.align.symm.census2.Result;
+
+/**
+ * Computes TM-scores from the {@code -best.fasta} alignments that SymD 1.5b writes, caching them by a hash of the FASTA
+ * file's contents. The cache can be saved to and loaded from a tab-separated file, so re-analysing the same alignments
+ * doesn't rescore them. Thread-safe.
+ *
+ * @author dmyerstu
+ */
+public class SymDTmScorer {
+
+	public static final String FASTA_SUFFIX = "-best.fasta";
+
+	private static final Logger logger = LogManager.getLogger(SymDTmScorer.class.getName());
+
+	private static final ThreadLocal<MessageDigest> digests = new ThreadLocal<MessageDigest>() {
+		@Override
+		protected MessageDigest initialValue() {
+			try {
+				return MessageDigest.getInstance("SHA-1");
+			} catch (NoSuchAlgorithmException e) {
+				throw new RuntimeException("SHA-1 is missing", e); // every JVM has it
+			}
+		}
+	};
+
+	public static void main(String[] args) throws IOException {
+		if (args.length < 2 || args.length > 4) {
+			System.err.println("Usage: " + SymDTmScorer.class.getSimpleName()
+					+ " fasta-dir symd-results-file [cache-file] [n-threads]");
+			return;
+		}
+		File fastaDir = new File(args[0]);
+		File resultsFile = new File(args[1]);
+		File cacheFile = args.length > 2 ? new File(args[2]) : null;
+		int nThreads = args.length > 3 ? Integer.parseInt(args[3]) : Runtime.getRuntime().availableProcessors();
+		SymDTmScorer scorer = new SymDTmScorer(cacheFile);
+		SymDResults results = SymDResults.fromXML(resultsFile);
+		scorer.applyTo(results, fastaDir, nThreads);
+		results.toXML(resultsFile, BenchmarkFiles.isGzipName(resultsFile));
+		if (cacheFile != null) scorer.save();
+	}
+
+	private static String hash(byte[] bytes) {
+		byte[] digest = digests.get().digest(bytes);
+		StringBuilder sb = new StringBuilder(2 * digest.length);
+		for (byte b : digest) {
+			sb.append(Character.forDigit((b >> 4) & 0xf, 16)).append(Character.forDigit(b & 0xf, 16));
+		}
+		return sb.toString();
+	}
+
+	private static byte[] readFully(File file) throws IOException {
+		InputStream is = new FileInputStream(file);
+		try {
+			ByteArrayOutputStream baos = new ByteArrayOutputStream((int) file.length());
+			byte[] buffer = new byte[8192];
+			int n;
+			while ((n = is.read(buffer)) != -1) {
+				baos.write(buffer, 0, n);
+			}
+			return baos.toByteArray();
+		} finally {
+			is.close();
+		}
+	}
+
+	private final File cacheFile;
+
+	private final ConcurrentMap<String, Float> scores = new ConcurrentHashMap<String, Float>();
+
+	/**
+	 * @param cacheFile
+	 *            A file of previously computed TM-scores to read, and to {@link #save()} to; or null to cache only in
+	 *            memory
+	 */
+	public SymDTmScorer(File cacheFile) throws IOException {
+		this.cacheFile = cacheFile;
+		if (cacheFile != null && cacheFile.exists()) {
+			BufferedReader br = new BufferedReader(new FileReader(cacheFile));
+			try {
+				String line;
+				while ((line = br.readLine()) != null) {
+					if (line.isEmpty() || line.startsWith("#")) continue;
+					int tab = line.indexOf('\t');
+					if (tab < 0) throw new IOException("Bad line in " + cacheFile + ": " + line);
+					scores.put(line.substring(0, tab), Float.parseFloat(line.substring(tab + 1)));
+				}
+			} finally {
+				br.close();
+			}
+			logger.info("Read " + scores.size() + " cached TM-scores from " + cacheFile);
+		}
+	}
+
+	/**
+	 * Sets the TM-score of each result in {@code results} that has a FASTA file in {@code fastaDir}, scoring the files
+	 * concurrently. Structures are fetched as needed.
+	 *
+	 * @return The number of results updated
+	 */
+	public int applyTo(SymDResults results, File fastaDir, int nThreads) throws IOException {
+		Map<String, Float> tmScores = scoreDirectory(fastaDir, nThreads);
+		int n = 0;
+		for (Result result : results.getData()) {
+			Float tmScore = tmScores.get(result.getScopId());
+			if (tmScore == null || result.getAlignment() == null) continue;
+			result.getAlignment().setTmScore(tmScore);
+			n++;
+		}
+		logger.info("Set " + n + " TM-scores from " + fastaDir);
+		return n;
+	}
+
+	/**
+	 * @return The file the cache is saved to, or null
+	 */
+	public File getCacheFile() {
+		return cacheFile;
+	}
+
+	public int getCacheSize() {
+		return scores.size();
+	}
+
+	/**
+	 * @param structure
+	 *            The structure SymD was run on, or null to fetch it if the score isn't cached
+	 */
+	public float getTmScore(File fastaFile, Structure structure) throws SymDException {
+		byte[] bytes;
+		try {
+			bytes = readFully(fastaFile);
+		} catch (IOException e) {
+			throw new SymDException("Could not read " + fastaFile, e);
+		}
+		final String key = hash(bytes);
+		Float tmScore = scores.get(key);
+		if (tmScore != null) return tmScore;
+		try {
+			AFPChain afpChain = SymDFasta.getAlignment(new ByteArrayInputStream(bytes), structure);
+			if (afpChain == null) throw new SymDException("AFPChain is null");
+			tmScore = (float) afpChain.getTMScore();
+		} catch (SymDException e) {
+			throw e;
+		} catch (Exception e) {
+			throw new SymDException("The FASTA file was wrong or could not be converted to an AFPChain", e);
+		}
+		scores.put(key, tmScore);
+		return tmScore;
+	}
+
+	/**
+	 * Writes the cache to the file it was read from, replacing it only once the write succeeds.
+	 */
+	public void save() throws IOException {
+		if (cacheFile == null) throw new IllegalStateException("No cache file");
+		Map<String, Float> sorted = new TreeMap<String, Float>(scores);
+		AtomicFileOutputStream afos = new AtomicFileOutputStream(cacheFile);
+		boolean done = false;
+		try {
+			BufferedWriter bw = new BufferedWriter(new OutputStreamWriter(afos, "UTF-8"));
+			bw.write("# SHA-1 of FASTA\tTM-score\n");
+			for (Map.Entry<String, Float> entry : sorted.entrySet()) {
+				bw.write(entry.getKey() + "\t" + entry.getValue() + "\n");
+			}
+			bw.close();
+			done = true;
+		} finally {
+			if (!done) afos.abort();
+		}
+		logger.info("Wrote " + sorted.size() + " TM-scores to " + cacheFile);
+	}
+
+	/**
+	 * Scores every {@code -best.fasta} file in {@code fastaDir} concurrently. Files that can't be scored are logged and
+	 * skipped.
+	 *
+	 * @return A map from the SCOP Id in each file's name to its TM-score, sorted by SCOP Id
+	 */
+	public Map<String, Float> scoreDirectory(File fastaDir, int nThreads) throws IOException {
+		File[] files = fastaDir.listFiles(new FilenameFilter() {
+			@Override
+			public boolean accept(File dir, String name) {
+				return name.endsWith(FASTA_SUFFIX);
+			}
+		});
+		if (files == null) throw new IOException("Could not list " + fastaDir);
+		ExecutorService pool = Executors.newFixedThreadPool(nThreads);
+		try {
+			Map<String, Future<Float>> futures = new TreeMap<String, Future<Float>>();
+			for (final File file : files) {
+				String scopId = file.getName().substring(0, file.getName().length() - FASTA_SUFFIX.length());
+				futures.put(scopId, pool.submit(new Callable<Float>() {
+					@Override
+					public Float call() throws SymDException {
+						return getTmScore(file, null);
+					}
+				}));
+			}
+			Map<String, Float> tmScores = new TreeMap<String, Float>();
+			for (Map.Entry<String, Future<Float>> entry : futures.entrySet()) {
+				Float tmScore = getScore(entry.getValue(), entry.getKey());
+				if (tmScore != null) tmScores.put(entry.getKey(), tmScore);
+			}
+			logger.info("Scored " + tmScores.size() + " of " + files.length + " alignments in " + fastaDir);
+			return tmScores;
+		} finally {
+			pool.shutdownNow();
+		}
+	}
+
+	/**
+	 * @return The score, or null if it couldn't be computed
+	 */
+	private Float getScore(Future<Float> future, String scopId) {
+		try {
+			return Futures.getUnchecked(future);
+		} catch (ExecutionException e) {
+			logger.error("Couldn't get TM-score for " + scopId, e.getCause());
+			return null;
+		}
+	}
+
+}
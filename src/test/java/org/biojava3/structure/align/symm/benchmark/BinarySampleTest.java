@@ -0,0 +1,59 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.junit.Test;
+
+/**
+ * A test for {@link BinarySample} and {@link MappedSample}.
+ * @author dmyerstu
+ */
+public class BinarySampleTest {
+
+	private static String RESOURCE_PATH = "src/test/resources/";
+
+	@Test
+	public void testRoundTrip() throws IOException {
+		Sample sample = Sample.fromXML(new File(RESOURCE_PATH + "census2/benchmark/benchmark1_expected.xml"));
+		File output = File.createTempFile("benchmark1_actual", ".bin");
+		output.deleteOnExit();
+		assertEquals(sample.size(), BinarySample.write(sample.getData(), output));
+		MappedSample mapped = new MappedSample(output);
+		assertEquals(sample.size(), mapped.size());
+		for (int i = 0; i < sample.size(); i++) {
+			Case c = sample.getData().get(i);
+			assertEquals(c.getScopId(), mapped.getScopId(i));
+			assertEquals(c.getKnownInfo(), mapped.getKnownInfo(i));
+			assertEquals((int) c.getOrder(), mapped.getOrder(i));
+			for (ScoreColumn column : ScoreColumn.values()) {
+				assertEquals((float) column.get(c.getResult()), mapped.getScore(column, i), 0);
+			}
+		}
+	}
+
+}
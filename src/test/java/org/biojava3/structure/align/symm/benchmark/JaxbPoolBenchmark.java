@@ -0,0 +1,92 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import java.io.ByteArrayOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.text.DecimalFormat;
+import java.text.NumberFormat;
+
+import javax.xml.bind.JAXBContext;
+import javax.xml.bind.JAXBException;
+import javax.xml.bind.Marshaller;
+
+/**
+ * A micro-benchmark comparing a new {@link Marshaller} per call (as {@link Sample} used to do) against the pooled
+ * Marshallers from {@link JaxbPool}, and formatted against compact output. Not run as part of the build.
+ * @author dmyerstu
+ */
+public class JaxbPoolBenchmark {
+
+	private static String RESOURCE_PATH = "src/test/resources/";
+
+	public static void main(String[] args) throws IOException, JAXBException {
+		final int n = args.length > 0 ? Integer.parseInt(args[0]) : 2000;
+		Sample sample = Sample.fromXML(new File(RESOURCE_PATH + "census2/benchmark/test_read.xml"));
+		JAXBContext context = JaxbPool.getContext(Sample.class);
+		NumberFormat nf = new DecimalFormat();
+		nf.setMaximumFractionDigits(1);
+
+		// warm up both paths so that we're not timing class loading
+		for (int i = 0; i < n; i++) {
+			createAndMarshal(context, sample);
+			poolAndMarshal(sample, true);
+		}
+
+		long start = System.nanoTime();
+		int size = 0;
+		for (int i = 0; i < n; i++) {
+			size = createAndMarshal(context, sample);
+		}
+		double created = (double) (System.nanoTime() - start) / n / 1000.0;
+
+		start = System.nanoTime();
+		for (int i = 0; i < n; i++) {
+			poolAndMarshal(sample, true);
+		}
+		double pooled = (double) (System.nanoTime() - start) / n / 1000.0;
+
+		int compactSize = poolAndMarshal(sample, false);
+
+		System.out.println("new Marshaller per call:\t" + nf.format(created) + " µs/call");
+		System.out.println("pooled Marshaller:\t" + nf.format(pooled) + " µs/call");
+		System.out.println("formatted size:\t" + size + " bytes");
+		System.out.println("compact size:\t" + compactSize + " bytes");
+	}
+
+	private static int createAndMarshal(JAXBContext context, Sample sample) throws JAXBException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		Marshaller m = context.createMarshaller();
+		m.setProperty(Marshaller.JAXB_FORMATTED_OUTPUT, Boolean.TRUE);
+		m.marshal(sample, baos);
+		return baos.size();
+	}
+
+	private static int poolAndMarshal(Sample sample, boolean formatted) throws IOException {
+		ByteArrayOutputStream baos = new ByteArrayOutputStream();
+		sample.toXML(baos, formatted);
+		return baos.size();
+	}
+
+}
@@ -0,0 +1,94 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Arrays;
+
+import org.biojava3.structure.align.symm.benchmark.comparison.AccuracyFinder;
+import org.biojava3.structure.align.symm.benchmark.comparison.ROCCurves;
+import org.biojava3.structure.align.symm.benchmark.comparison.order.GroupComparisonFactory;
+import org.biojava3.structure.align.symm.benchmark.comparison.order.OrderAccuracy;
+import org.jfree.data.xy.XYSeries;
+import org.junit.Test;
+
+/**
+ * Tests the evaluation classes on {@link SampleColumns}.
+ * @author dmyerstu
+ */
+public class SampleColumnsTest {
+
+	private static final String[] GROUPS = { "C1", "C2", "C3", "D2", "C1", "C4", "C1", "C2" };
+
+	private static final int[] ORDERS = { 1, 2, 1, 2, 3, 2, 0, 2 };
+
+	private static final double[] TM_SCORES = { 0.2, 0.6, 0.5, 0.5, 0.6, Double.NaN, 0.1, 0.3 };
+
+	private static SampleColumns getColumns() {
+		final int n = GROUPS.length;
+		int[] knownOrders = new int[n];
+		byte[] flags = new byte[n];
+		for (int i = 0; i < n; i++) {
+			KnownInfo known = KnownInfo.valueOf(GROUPS[i]);
+			knownOrders[i] = known.getOrder();
+			flags[i] = known.getFlags();
+		}
+		double[][] scores = new double[ScoreColumn.values().length][n];
+		for (double[] column : scores) {
+			Arrays.fill(column, Double.NaN);
+		}
+		scores[ScoreColumn.TM_SCORE.ordinal()] = TM_SCORES;
+		return new SampleColumns(null, knownOrders, flags, ORDERS, scores);
+	}
+
+	@Test
+	public void testAccuracy() {
+		AccuracyFinder finder = new AccuracyFinder(getColumns(), ScoreColumn.TM_SCORE, 0.4);
+		assertEquals(3, finder.getTp());
+		assertEquals(2, finder.getFn()); // C4 has no score
+		assertEquals(1, finder.getFp());
+		assertEquals(2, finder.getTn());
+	}
+
+	@Test
+	public void testOrderAccuracy() {
+		OrderAccuracy accuracy = new OrderAccuracy(getColumns(), ScoreColumn.TM_SCORE, 0.4,
+				GroupComparisonFactory.exact());
+		assertEquals(2, accuracy.getCorrect());
+		assertEquals(3, accuracy.getTotal());
+	}
+
+	@Test
+	public void testRoc() {
+		XYSeries series = ROCCurves.getRocPoints(getColumns(), ScoreColumn.TM_SCORE);
+		// the origin, then thresholds 0.6, 0.5, 0.3, 0.2, 0.1; C4 has no score
+		double[][] expected = { { 0, 0 }, { 1 / 3.0, 0.25 }, { 1 / 3.0, 0.75 }, { 1 / 3.0, 1 }, { 2 / 3.0, 1 }, { 1, 1 } };
+		assertEquals(expected.length, series.getItemCount());
+		for (int j = 0; j < expected.length; j++) {
+			assertEquals(expected[j][0], series.getX(j).doubleValue(), 0.0000001);
+			assertEquals(expected[j][1], series.getY(j).doubleValue(), 0.0000001);
+		}
+	}
+
+}
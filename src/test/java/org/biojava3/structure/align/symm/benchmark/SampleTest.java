@@ -24,9 +24,16 @@ package org.biojava3.structure.align.symm.benchmark;
 
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
 
+import java.io.ByteArrayInputStream;
 import java.io.File;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
 import org.biojava.bio.structure.scop.ScopFactory;
@@ -39,6 +46,24 @@ import org.junit.Test;
  */
 public class SampleTest {
 
+	/**
+	 * Remembers whether it's been closed.
+	 */
+	private static class TrackedStream extends ByteArrayInputStream {
+
+		private boolean closed = false;
+
+		public TrackedStream(String xml) {
+			super(xml.getBytes());
+		}
+
+		@Override
+		public void close() throws IOException {
+			closed = true;
+			super.close();
+		}
+	}
+
 	private static String RESOURCE_PATH = "src/test/resources/";
 	
 	@Before
@@ -58,6 +83,88 @@ public class SampleTest {
 		assertEquals("1ezd.A_40-62,A_68-144", c.getAlignedUnit());
 		assertEquals(4.74, c.getScoreList().getzScore(), 0.000001);
 		assertEquals(0.64949524, c.getAxis().getParallel(), 0.000001);
+		assertSame(KnownInfo.valueOf("D4"), c.getKnownInfo());
+		assertTrue(c.getKnownInfo().hasDihedralSymmetry());
+		assertTrue(c.getKnownInfo().hasEvenOrderSymmetry());
+	}
+
+	@Test
+	public void testIterate() throws IOException {
+		File file = new File(RESOURCE_PATH + "census2/benchmark/benchmark1_expected.xml");
+		List<Case> streamed = new ArrayList<Case>();
+		for (Case c : Sample.iterateXML(file)) {
+			streamed.add(c);
+		}
+		assertEquals(Sample.fromXML(file).getData(), streamed);
+	}
+
+	/**
+	 * A for-each loop has no reader to close, so the reader must close itself.
+	 */
+	@Test
+	public void testIterateCloses() throws IOException {
+		TrackedStream empty = new TrackedStream("<?xml version=\"1.0\"?><ns2:CensusResults xmlns:ns2=\"http://source.rcsb.org\"/>");
+		CaseReader reader = new CaseReader(empty, "empty");
+		assertFalse(reader.hasNext());
+		assertTrue(empty.closed);
+
+		TrackedStream malformed = new TrackedStream("<?xml version=\"1.0\"?><ns2:CensusResults xmlns:ns2=\"http://source.rcsb.org\"><data></data><data><knownInfo>");
+		try {
+			reader = new CaseReader(malformed, "malformed");
+			while (reader.hasNext()) {
+				reader.next();
+			}
+		} catch (IOException e) {
+			assertTrue(malformed.closed);
+			return;
+		} catch (RuntimeException e) {
+			assertTrue(malformed.closed);
+			return;
+		}
+		throw new AssertionError("Read a truncated file");
+	}
+
+	@Test
+	public void testWriteGzipped() throws IOException {
+		Sample sample = Sample.fromXML(new File(RESOURCE_PATH + "census2/benchmark/benchmark1_expected.xml"));
+		File output = File.createTempFile("benchmark1_actual", ".xml.gz");
+		output.deleteOnExit();
+		sample.toXML(output);
+		assertEquals(sample, Sample.fromXML(output));
+	}
+
+	@Test
+	public void testReadShards() throws IOException {
+		File file = new File(RESOURCE_PATH + "census2/benchmark/benchmark1_expected.xml");
+		File other = new File(RESOURCE_PATH + "census2/benchmark/test_read.xml");
+		Sample expected = Sample.fromXML(file);
+		expected.addAll(Sample.fromXML(other).getData());
+		Sample actual = Sample.fromXML(new File[] { file, other, file }, 2, ShardLoader.DuplicatePolicy.FAIL);
+		assertEquals(expected, actual);
+	}
+
+	/**
+	 * Changing the list from {@link Sample#getData()} must discard cached columns, even if its size stays the same.
+	 */
+	@Test
+	public void testCachedColumnsInvalidated() {
+		List<Case> cases = new ArrayList<Case>();
+		for (int i = 0; i < 3; i++) {
+			cases.add(new Case());
+		}
+		Sample sample = new Sample(cases);
+		double[] column = { 1, 2, 3 };
+		sample.putCachedColumn("x", column);
+		assertSame(column, sample.getCachedColumn("x"));
+		sample.getData().set(0, new Case());
+		assertNull(sample.getCachedColumn("x"));
+		sample.putCachedColumn("x", column);
+		assertSame(column, sample.getCachedColumn("x"));
+		Collections.reverse(sample.getData());
+		assertNull(sample.getCachedColumn("x"));
+		sample.putCachedColumn("x", column);
+		sample.clearCachedColumns(); // as after changing a Case in place
+		assertNull(sample.getCachedColumn("x"));
 	}
 
 }
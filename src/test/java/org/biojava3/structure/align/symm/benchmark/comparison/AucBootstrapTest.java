@@ -0,0 +1,92 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link AucBootstrap}.
+ * @author dmyerstu
+ */
+public class AucBootstrapTest {
+
+	/**
+	 * Positives score 0.9, 0.7, and 0.4; negatives 0.7, 0.3, and 0.2. The curve goes through (0, 1/3), (1/3, 2/3),
+	 * (1/3, 1), (2/3, 1), and (1, 1).
+	 */
+	private static final double[] SCORES = { 0.9, 0.7, 0.7, 0.4, 0.3, 0.2, Double.NaN };
+
+	private static final boolean[] POSITIVE = { true, true, false, true, false, false, true };
+
+	@Test
+	public void testEstimate() {
+		AucBootstrap bootstrap = new AucBootstrap(SCORES, POSITIVE, 1);
+		assertEquals(7.5 / 9, bootstrap.getPartialAuc(1, 10, 0.95, 0).getEstimate(), 0.0000001); // 1/2 for the tie
+		assertEquals(1.0 / 6, bootstrap.getPartialAuc(1.0 / 3, 10, 0.95, 0).getEstimate(), 0.0000001);
+		assertEquals(1.0 / 3, bootstrap.getPartialAuc(0.5, 10, 0.95, 0).getEstimate(), 0.0000001);
+	}
+
+	@Test
+	public void testNoNegatives() {
+		AucBootstrap bootstrap = new AucBootstrap(new double[] { 1, 2 }, new boolean[] { true, true }, 1);
+		assertTrue(Double.isNaN(bootstrap.getAuc(0).getEstimate()));
+	}
+
+	/**
+	 * -0.0 and 0.0 are the same score, so they tie.
+	 */
+	@Test
+	public void testNegativeZero() {
+		AucBootstrap bootstrap = new AucBootstrap(new double[] { -0.0, 0.0, 1, -1 }, new boolean[] { true, false, true,
+				false }, 1);
+		assertEquals(3.5 / 4, bootstrap.getPartialAuc(1, 10, 0.95, 0).getEstimate(), 0.0000001);
+	}
+
+	/**
+	 * The interval depends only on the seed.
+	 */
+	@Test
+	public void testSameOnAnyThreads() {
+		Random random = new Random(0);
+		double[] scores = new double[300];
+		boolean[] positive = new boolean[scores.length];
+		for (int i = 0; i < scores.length; i++) {
+			positive[i] = random.nextBoolean();
+			scores[i] = Math.round(10 * (random.nextGaussian() + (positive[i] ? 1 : 0))) / 10.0; // with ties
+		}
+		AucBootstrap.Interval expected = new AucBootstrap(scores, positive, 1).getPartialAuc(1, 1000, 0.95, 42);
+		assertTrue(expected.getLower() < expected.getEstimate() && expected.getEstimate() < expected.getUpper());
+		for (int nThreads : new int[] { 2, 3, 8 }) {
+			AucBootstrap.Interval interval = new AucBootstrap(scores, positive, nThreads).getPartialAuc(1, 1000, 0.95, 42);
+			assertEquals(expected.getEstimate(), interval.getEstimate(), 0);
+			assertEquals(expected.getLower(), interval.getLower(), 0);
+			assertEquals(expected.getUpper(), interval.getUpper(), 0);
+		}
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.Writer;
+import java.util.Arrays;
+import java.util.List;
+
+import org.biojava3.structure.align.symm.benchmark.Case;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
+import org.junit.Test;
+
+/**
+ * Tests {@link CompiledCriterion} on {@link SampleColumns}.
+ * @author dmyerstu
+ */
+public class CompiledCriterionTest {
+
+	private static String RESOURCE_PATH = "src/test/resources/";
+
+	private static SampleColumns getColumns() {
+		double[][] scores = new double[ScoreColumn.values().length][3];
+		for (double[] column : scores) {
+			Arrays.fill(column, Double.NaN);
+		}
+		scores[ScoreColumn.TM_SCORE.ordinal()] = new double[] { 0.1, 0.6, Double.NaN };
+		scores[ScoreColumn.RMSD.ordinal()] = new double[] { 1, Math.E, 2 };
+		return new SampleColumns(null, new int[] { 1, 3, 2 }, new byte[3], new int[] { 1, 3, 0 }, scores);
+	}
+
+	@Test
+	public void testConstantFolding() {
+		CompiledCriterion criterion = CompiledCriterion.compile("(1 + 2) * 3 - 2^3^2 / 256 + log(exp(1))");
+		assertTrue(criterion.isConstant());
+		assertEquals(8, criterion.value(null), 0.0000001);
+		assertFalse(CompiledCriterion.compile("2 * tm").isConstant());
+		assertTrue(Double.isNaN(CompiledCriterion.compile("pow(log(-1), 0)").value(null)));
+	}
+
+	@Test
+	public void testEvaluate() {
+		double[] values = CompiledCriterion.compile("tm + 0.5*hasorder(1) - log(rmsd)").evaluate(getColumns());
+		assertEquals(0.1 - 0.5, values[0], 0.0000001);
+		assertEquals(0.6 - 1, values[1], 0.0000001);
+		assertTrue(Double.isNaN(values[2])); // no TM-score
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testUnknownVariable() {
+		CompiledCriterion.compile("tm + foo");
+	}
+
+	/**
+	 * Scoring one result, a {@link Sample}, and {@link SampleColumns} must agree, including where the order is missing,
+	 * -1, or 0.
+	 */
+	@Test
+	public void testRowsAndColumnsAgree() throws IOException {
+		// the benchmark has missing orders and orders of -1; give one case an order of 0
+		File file = File.createTempFile("order0", ".xml");
+		try {
+			BufferedReader br = new BufferedReader(new FileReader(RESOURCE_PATH + "census2/benchmark/benchmark1_expected.xml"));
+			Writer writer = new FileWriter(file);
+			try {
+				boolean replaced = false;
+				String line;
+				while ((line = br.readLine()) != null) {
+					if (!replaced && line.contains("<order>6</order>")) {
+						line = line.replace("<order>6</order>", "<order>0</order>");
+						replaced = true;
+					}
+					writer.write(line + "\n");
+				}
+			} finally {
+				br.close();
+				writer.close();
+			}
+			Sample sample = Sample.fromXML(file);
+			SampleColumns columns = sample.toColumns();
+			final List<Case> cases = sample.getData();
+			int nNoOrder = 0;
+			for (Case c : cases) {
+				if (c.getOrder() == null || c.getOrder() < 1) nNoOrder++;
+			}
+			assertTrue(nNoOrder > 2);
+			for (String formula : new String[] { "order", "hasorder(1)", "tm * order", "pow(order, 0)" }) {
+				CompiledCriterion criterion = CompiledCriterion.compile(formula);
+				final double[] fromSample = criterion.evaluate(sample);
+				final double[] fromColumns = criterion.evaluate(columns);
+				for (int i = 0; i < cases.size(); i++) {
+					final String message = formula + " for " + cases.get(i).getScopId();
+					assertEquals(message, criterion.value(cases.get(i).getResult()), fromSample[i], 0);
+					assertEquals(message, fromSample[i], fromColumns[i], 0);
+				}
+			}
+		} finally {
+			file.delete();
+		}
+	}
+
+}
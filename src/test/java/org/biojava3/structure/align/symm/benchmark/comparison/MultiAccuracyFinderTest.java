@@ -0,0 +1,116 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.biojava3.structure.align.symm.benchmark.Case;
+import org.biojava3.structure.align.symm.benchmark.Sample;
+import org.biojava3.structure.align.symm.census3.CensusResult;
+import org.biojava3.structure.align.symm.census3.CensusSignificance;
+import org.junit.Test;
+
+/**
+ * Tests that {@link MultiAccuracyFinder} counts the same as {@link AccuracyFinder} run once per rule, on any number of
+ * threads.
+ * @author dmyerstu
+ */
+public class MultiAccuracyFinderTest {
+
+	private static String RESOURCE_PATH = "src/test/resources/";
+
+	/**
+	 * Throws for cases with no order, which both finders must skip.
+	 */
+	private static CensusSignificance evenOrder() {
+		return new CensusSignificance() {
+			@Override
+			public boolean isSignificant(CensusResult result) {
+				return result.getOrder() % 2 == 0;
+			}
+		};
+	}
+
+	private static CensusSignificance zScore(final double cutoff) {
+		return new CensusSignificance() {
+			@Override
+			public boolean isSignificant(CensusResult result) {
+				return result.getScoreList().getzScore() >= cutoff;
+			}
+		};
+	}
+
+	/**
+	 * Counts directly, without either finder.
+	 */
+	private static ConfusionMatrix count(Sample sample, CensusSignificance rule) {
+		long tp = 0, fp = 0, tn = 0, fn = 0;
+		for (Case c : sample.getData()) {
+			final boolean positive = c.getKnownInfo().hasRotationalSymmetry();
+			final boolean significant;
+			try {
+				significant = rule.isSignificant(c.getResult());
+			} catch (RuntimeException e) {
+				continue;
+			}
+			if (positive) {
+				if (significant) tp++;
+				else fn++;
+			} else {
+				if (significant) fp++;
+				else tn++;
+			}
+		}
+		return new ConfusionMatrix(tp, fp, tn, fn);
+	}
+
+	@Test
+	public void testSameAsAccuracyFinder() throws IOException {
+		Sample sample = Sample.fromXML(new File(RESOURCE_PATH + "census2/benchmark/benchmark1_expected.xml"));
+		CensusSignificance[] rules = { zScore(0), zScore(3.5), zScore(5), zScore(100), evenOrder() };
+
+		ConfusionMatrix[] expected = new ConfusionMatrix[rules.length];
+		for (int k = 0; k < rules.length; k++) {
+			expected[k] = count(sample, rules[k]);
+			AccuracyFinder finder = new AccuracyFinder(sample, rules[k]);
+			assertEquals(expected[k], new ConfusionMatrix(finder.getTp(), finder.getFp(), finder.getTn(), finder.getFn()));
+		}
+		assertTrue(expected[0].getTp() > 0 && expected[0].getFp() > 0);
+
+		for (int nThreads : new int[] { 1, 3, 8 }) {
+			ConfusionMatrix[] matrices = new MultiAccuracyFinder(rules).run(sample, nThreads);
+			for (int k = 0; k < rules.length; k++) {
+				assertEquals("rule " + k + " on " + nThreads + " threads", expected[k], matrices[k]);
+			}
+		}
+		ConfusionMatrix[] matrices = new MultiAccuracyFinder(rules).run(sample.getData());
+		for (int k = 0; k < rules.length; k++) {
+			assertEquals("rule " + k + " serially", expected[k], matrices[k]);
+		}
+	}
+
+}
@@ -0,0 +1,155 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.apache.commons.math3.distribution.NormalDistribution;
+import org.junit.Test;
+
+/**
+ * Tests {@link PairedRocComparison}.
+ * @author dmyerstu
+ */
+public class PairedRocComparisonTest {
+
+	private static final double[] A = { 0.9, 0.8, 0.7, 0.6, 0.55, 0.5, 0.4, 0.3, 0.2, 0.1 };
+
+	private static final double[] B = { 12, 3, 9, 1, 8, 2, 5, 4, 6, Double.NaN };
+
+	private static final boolean[] POSITIVE = { true, true, false, true, true, false, true, false, false, false };
+
+	/**
+	 * Scores with ties within and between the classes, and between the two criteria.
+	 */
+	private static final double[] TIED_A = { 3, 2, 2, 5, 1, 4, 4, 2, 3, 1, 2, 5, 3, 0, 1 };
+
+	private static final double[] TIED_B = { 0.5, 0.5, 0.9, 0.7, 0.2, 0.7, 0.1, 0.5, 0.3, 0.3, 0.5, 0.8, 0.2, 0.2, 0.6 };
+
+	private static final boolean[] TIED_POSITIVE = { true, false, true, true, false, true, true, false, true, false,
+			false, true, false, false, true };
+
+	/**
+	 * DeLong's test computed directly from the kernel, in O(n<sup>2</sup>) time.
+	 *
+	 * @return The difference in AUC, the standard error, and the p-value
+	 */
+	private static double[] deLong(double[] scoresA, double[] scoresB, boolean[] positive) {
+		int m = 0;
+		for (boolean p : positive) {
+			if (p) m++;
+		}
+		final int n = positive.length - m;
+		double[][] v10 = new double[2][m];
+		double[][] v01 = new double[2][n];
+		double[] aucs = new double[2];
+		for (int k = 0; k < 2; k++) {
+			final double[] scores = k == 0 ? scoresA : scoresB;
+			int i = 0;
+			for (int x = 0; x < scores.length; x++) {
+				if (!positive[x]) continue;
+				int j = 0;
+				for (int y = 0; y < scores.length; y++) {
+					if (positive[y]) continue;
+					final double psi = scores[x] > scores[y] ? 1 : scores[x] == scores[y] ? 0.5 : 0;
+					v10[k][i] += psi / n;
+					v01[k][j] += psi / m;
+					aucs[k] += psi / (m * n);
+					j++;
+				}
+				i++;
+			}
+		}
+		final double variance = (cov(v10[0], v10[0]) + cov(v10[1], v10[1]) - 2 * cov(v10[0], v10[1])) / m
+				+ (cov(v01[0], v01[0]) + cov(v01[1], v01[1]) - 2 * cov(v01[0], v01[1])) / n;
+		final double difference = aucs[0] - aucs[1];
+		final double se = Math.sqrt(variance);
+		final double p = 2 * new NormalDistribution().cumulativeProbability(-Math.abs(difference) / se);
+		return new double[] { difference, se, p };
+	}
+
+	private static double cov(double[] a, double[] b) {
+		double meanA = 0, meanB = 0;
+		for (int i = 0; i < a.length; i++) {
+			meanA += a[i] / a.length;
+			meanB += b[i] / b.length;
+		}
+		double sum = 0;
+		for (int i = 0; i < a.length; i++) {
+			sum += (a[i] - meanA) * (b[i] - meanB);
+		}
+		return sum / (a.length - 1);
+	}
+
+	@Test
+	public void testDeLongWithTies() {
+		PairedRocComparison.Result result = new PairedRocComparison(TIED_A, TIED_B, TIED_POSITIVE, 1).compare(0, 0);
+		final double[] expected = deLong(TIED_A, TIED_B, TIED_POSITIVE);
+		assertEquals(expected[0], result.getDifference(), 1e-12);
+		assertEquals(expected[1], result.getStandardError(), 1e-12);
+		assertEquals(expected[2], result.getDeLongP(), 1e-12);
+		// by hand: A wins 47.5 of the 56 pairs and B wins 44
+		assertEquals(47.5 / 56, result.getAucA(), 1e-12);
+		assertEquals(44.0 / 56, result.getAucB(), 1e-12);
+	}
+
+	/**
+	 * A separates the classes perfectly, and B scores them in an order unrelated to the class.
+	 */
+	@Test
+	public void testSeparated() {
+		final int n = 40;
+		double[] a = new double[n], b = new double[n];
+		boolean[] positive = new boolean[n];
+		for (int i = 0; i < n; i++) {
+			positive[i] = i % 2 == 0;
+			a[i] = positive[i] ? 100 + i : i;
+			b[i] = (i * 17) % n / 4;
+		}
+		PairedRocComparison.Result result = new PairedRocComparison(a, b, positive, 4).compare(2000, 7);
+		assertEquals(1, result.getAucA(), 0);
+		assertTrue("AUC(B) = " + result.getAucB(), Math.abs(result.getAucB() - 0.5) < 0.15);
+		assertTrue("permutation p = " + result.getPermutationP(), result.getPermutationP() < 0.01);
+		assertTrue("DeLong p = " + result.getDeLongP(), result.getDeLongP() < 0.01);
+		assertEquals(deLong(a, b, positive)[2], result.getDeLongP(), 1e-12);
+	}
+
+	@Test
+	public void testIdentical() {
+		PairedRocComparison.Result result = new PairedRocComparison(A, A, POSITIVE, 2).compare(100, 0);
+		assertEquals(0, result.getDifference(), 0);
+		assertEquals(1, result.getDeLongP(), 0);
+		assertEquals(1, result.getPermutationP(), 0);
+	}
+
+	@Test
+	public void testReproducible() {
+		PairedRocComparison.Result a = new PairedRocComparison(A, B, POSITIVE, 3).compare(1000, 42);
+		PairedRocComparison.Result b = new PairedRocComparison(A, B, POSITIVE, 1).compare(1000, 42);
+		assertEquals(9, a.getnPositives() + a.getnNegatives()); // the NaN is left out
+		assertEquals(a.getPermutationP(), b.getPermutationP(), 0);
+		assertEquals(a.getDeLongP(), b.getDeLongP(), 0);
+	}
+
+}
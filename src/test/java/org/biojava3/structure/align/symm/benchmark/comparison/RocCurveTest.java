@@ -0,0 +1,80 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link RocCurve}.
+ * @author dmyerstu
+ */
+public class RocCurveTest {
+
+	@Test
+	public void testTies() {
+		double[] scores = { 0.9, 0.5, 0.5, 0.5, 0.1, Double.NaN };
+		boolean[] positive = { true, true, false, true, false, true };
+		RocCurve curve = RocCurve.compute(scores, positive);
+		assertEquals(3, curve.getnPositives());
+		assertEquals(2, curve.getnNegatives());
+		assertEquals(4, curve.size()); // the origin and three distinct scores
+		assertEquals(Double.POSITIVE_INFINITY, curve.getThreshold(0), 0);
+		assertEquals(0.5, curve.getThreshold(2), 0);
+		assertEquals(3, curve.getTp(2));
+		assertEquals(1, curve.getFp(2));
+		assertEquals(1.0, curve.getFalsePositiveRate(3), 0);
+		assertEquals(1.0, curve.getTruePositiveRate(3), 0);
+	}
+
+	@Test
+	public void testAuc() {
+		double[] scores = { 0.9, 0.5, 0.5, 0.5, 0.1 };
+		boolean[] positive = { true, true, false, true, false };
+		RocCurve curve = RocCurve.compute(scores, positive);
+		assertEquals(5.0 / 6.0, curve.getAuc(), 0.0000001); // the tie at 0.5 counts half
+		assertEquals(0.125, curve.getPartialAuc(0.25), 0.0000001);
+		AucBootstrap.Interval interval = new AucBootstrap(scores, positive, 3).getPartialAuc(1, 500, 0.9, 1);
+		assertEquals(curve.getAuc(), interval.getEstimate(), 0.0000001);
+		AucBootstrap.Interval same = new AucBootstrap(scores, positive, 1).getPartialAuc(1, 500, 0.9, 1);
+		assertEquals(interval.getLower(), same.getLower(), 0); // doesn't depend on the number of threads
+		assertEquals(interval.getUpper(), same.getUpper(), 0);
+	}
+
+	@Test
+	public void testOrderIndependent() {
+		double[] scores = { 0.1, 0.5, 0.5, 0.5, 0.9 };
+		boolean[] positive = { false, true, false, true, true };
+		RocCurve a = RocCurve.compute(scores, positive);
+		double[] reversed = { 0.9, 0.5, 0.5, 0.5, 0.1 };
+		boolean[] reversedPositive = { true, true, false, true, false };
+		RocCurve b = RocCurve.compute(reversed, reversedPositive);
+		assertEquals(a.size(), b.size());
+		for (int i = 0; i < a.size(); i++) {
+			assertEquals(a.getTp(i), b.getTp(i));
+			assertEquals(a.getFp(i), b.getFp(i));
+		}
+	}
+
+}
@@ -0,0 +1,64 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import org.biojava3.structure.align.symm.benchmark.KnownInfo;
+import org.biojava3.structure.align.symm.benchmark.SampleColumns;
+import org.biojava3.structure.align.symm.benchmark.ScoreColumn;
+import org.biojava3.structure.align.symm.benchmark.comparison.StratifiedAccuracy.Stratum;
+import org.junit.Test;
+
+/**
+ * Tests {@link StratifiedAccuracy}.
+ * @author dmyerstu
+ */
+public class StratifiedAccuracyTest {
+
+	@Test
+	public void testStrata() {
+		String[] groups = { "C2", "C3", "D2", "H4", "C1", "C1", "C1" };
+		double[] scores = { 0.5, 0.3, 0.6, 0.45, 0.2, 0.35, 0.5 };
+		int[] knownOrders = new int[groups.length];
+		byte[] flags = new byte[groups.length];
+		for (int i = 0; i < groups.length; i++) {
+			KnownInfo info = KnownInfo.valueOf(groups[i]);
+			knownOrders[i] = info.getOrder();
+			flags[i] = info.getFlags();
+		}
+		SampleColumns columns = new SampleColumns(null, knownOrders, flags, new int[groups.length],
+				new double[ScoreColumn.values().length][groups.length]);
+		StratifiedAccuracy accuracy = new StratifiedAccuracy(columns, scores, 0.4);
+
+		assertEquals(new ConfusionMatrix(1, 1, 2, 1), accuracy.getMatrix(Stratum.CYCLIC));
+		assertEquals(new ConfusionMatrix(2, 1, 2, 1), accuracy.getMatrix(Stratum.ROTATIONAL));
+		assertEquals(new ConfusionMatrix(3, 1, 2, 0), accuracy.getMatrix(Stratum.EVEN)); // C2, D2, H4
+		assertEquals(new ConfusionMatrix(2, 1, 2, 0), accuracy.getMatrix(Stratum.ORDER_2));
+		assertEquals(1, accuracy.getAuc(Stratum.DIHEDRAL), 0);
+		assertEquals(1.0 / 3.0, accuracy.getAuc(Stratum.ODD), 0.0000001); // 0.3 against 0.2, 0.35, 0.5
+		assertTrue(Double.isNaN(accuracy.getAuc(Stratum.ORDER_8)));
+	}
+
+}
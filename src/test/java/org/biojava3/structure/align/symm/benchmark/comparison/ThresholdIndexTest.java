@@ -0,0 +1,73 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.comparison;
+
+import static org.junit.Assert.assertEquals;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link ThresholdIndex}.
+ * @author dmyerstu
+ */
+public class ThresholdIndexTest {
+
+	private static final double[] SCORES = { 0.9, 0.7, 0.7, 0.5, 0.4, 0.3, Double.NaN, 0.8 };
+
+	private static final Boolean[] POSITIVE = { true, true, false, true, false, false, true, null };
+
+	@Test
+	public void testMatrix() {
+		ThresholdIndex index = new ThresholdIndex(SCORES, POSITIVE);
+		assertEquals(4, index.getnPositives()); // the NaN counts, but never as significant
+		assertEquals(3, index.getnNegatives());
+		assertEquals(new ConfusionMatrix(2, 1, 2, 2), index.getMatrix(0.7));
+		assertEquals(new ConfusionMatrix(2, 1, 2, 2), index.getMatrix(0.6));
+		assertEquals(new ConfusionMatrix(0, 0, 3, 4), index.getMatrix(1));
+		assertEquals(new ConfusionMatrix(3, 3, 0, 1), index.getMatrix(Double.NEGATIVE_INFINITY));
+		assertEquals(2.0 / 3.0, index.getMatrix(0.7).getPrecision(), 0.0000001);
+		assertEquals(0.5, index.getMatrix(0.7).getRecall(), 0.0000001);
+	}
+
+	@Test
+	public void testFindThreshold() {
+		ThresholdIndex index = new ThresholdIndex(SCORES, POSITIVE);
+		assertEquals(0.5, index.findThreshold(ThresholdIndex.Objective.YOUDEN_J), 0); // J = 3/4 - 1/3
+		assertEquals(0.9, index.findThresholdForFpr(0.2), 0);
+		assertEquals(0.5, index.findThresholdForFpr(1.0 / 3.0), 0);
+	}
+
+	/**
+	 * -0.0 and 0.0 are the same cutoff.
+	 */
+	@Test
+	public void testNegativeZero() {
+		ThresholdIndex index = new ThresholdIndex(new double[] { -0.0, 0.0, 0.5, -0.5 }, new Boolean[] { true, false,
+				true, false });
+		assertEquals(3, index.getThresholds().length);
+		assertEquals(new ConfusionMatrix(2, 1, 1, 0), index.getMatrix(0));
+		assertEquals(new ConfusionMatrix(2, 1, 1, 0), index.getMatrix(-0.0));
+		assertEquals(new ConfusionMatrix(1, 0, 2, 1), index.getMatrix(0.25));
+	}
+
+}
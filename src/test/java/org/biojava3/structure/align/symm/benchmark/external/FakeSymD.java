@@ -0,0 +1,205 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.FileReader;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.io.PrintWriter;
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * A stand-in for the SymD executable, for testing {@link SymDRunner} where SymD isn't available. Reads a PDB file and
+ * prints output in the format of SymD 1.3hw3 or 1.5b, and for 1.5b writes a {@code -best.fasta} file to the working
+ * directory. The numbers are made up, but are the same every time for the same file.
+ * <p>
+ * Usage: {@code FakeSymD [--version 1.3hw3|1.5b] [--latency ms] [--failure-rate p] [--hang-rate p] [--seed n] pdb-file}
+ * <p>
+ * Whether a domain fails or hangs depends only on its name and the seed, so a domain that failed in one run fails in
+ * the next. Since {@link SymDRunner} runs an executable with just the PDB file as its argument, use
+ * {@link #writeScript(File, String...)} to make a wrapper.
+ *
+ * @author dmyerstu
+ */
+public class FakeSymD {
+
+	private static final Map<String, Character> ONE_LETTER_CODES = new HashMap<String, Character>();
+
+	static {
+		String[] threeLetter = { "ALA", "ARG", "ASN", "ASP", "CYS", "GLN", "GLU", "GLY", "HIS", "ILE", "LEU", "LYS",
+				"MET", "PHE", "PRO", "SER", "THR", "TRP", "TYR", "VAL" };
+		String oneLetter = "ARNDCQEGHILKMFPSTWYV";
+		for (int i = 0; i < threeLetter.length; i++) {
+			ONE_LETTER_CODES.put(threeLetter[i], oneLetter.charAt(i));
+		}
+	}
+
+	/**
+	 * @return Whether the fake will fail on the PDB file named {@code name}
+	 */
+	public static boolean fails(String name, long seed, double failureRate) {
+		return draw(name, seed, 1) < failureRate;
+	}
+
+	/**
+	 * @return Whether the fake will hang on the PDB file named {@code name}
+	 */
+	public static boolean hangs(String name, long seed, double hangRate) {
+		return draw(name, seed, 2) < hangRate;
+	}
+
+	public static void main(String[] args) throws IOException, InterruptedException {
+
+		String version = "1.5b";
+		long latency = 0;
+		double failureRate = 0;
+		double hangRate = 0;
+		long seed = 0;
+		String pdbPath = null;
+		for (int i = 0; i < args.length; i++) {
+			if (args[i].equals("--version")) {
+				version = args[++i];
+			} else if (args[i].equals("--latency")) {
+				latency = Long.parseLong(args[++i]);
+			} else if (args[i].equals("--failure-rate")) {
+				failureRate = Double.parseDouble(args[++i]);
+			} else if (args[i].equals("--hang-rate")) {
+				hangRate = Double.parseDouble(args[++i]);
+			} else if (args[i].equals("--seed")) {
+				seed = Long.parseLong(args[++i]);
+			} else {
+				pdbPath = args[i];
+			}
+		}
+		if (pdbPath == null) {
+			System.err.println("Usage: " + FakeSymD.class.getSimpleName()
+					+ " [--version 1.3hw3|1.5b] [--latency ms] [--failure-rate p] [--hang-rate p] [--seed n] pdb-file");
+			System.exit(2);
+		}
+
+		File pdbFile = new File(pdbPath);
+		String name = pdbFile.getName().replaceAll("\\.pdb$", "");
+
+		System.out.println("Program symd version " + version);
+		System.out.flush();
+		if (latency > 0) Thread.sleep(latency);
+		if (hangs(name, seed, hangRate)) {
+			Thread.sleep(Long.MAX_VALUE);
+		}
+
+		String sequence = readSequence(pdbFile);
+		int n = sequence.length();
+		System.out.println("Number of residues read from the input file is " + n + ".");
+		if (n == 0 || fails(name, seed, failureRate)) {
+			System.out.println("Error: could not find a symmetric alignment for " + name);
+			System.exit(1);
+		}
+
+		Random random = new Random(seed ^ name.hashCode());
+		int shift = 1 + random.nextInt(n);
+		int nAligned = Math.max(1, (int) (n * (0.3 + 0.6 * random.nextDouble())));
+		float tScore = nAligned * (0.2f + 0.7f * random.nextFloat());
+		float tmScore = tScore / n;
+		float zScore = 20 * random.nextFloat() - 2;
+		if (version.equals("1.3hw3")) {
+			System.out.printf(Locale.US, "%s  %d a.a. : Best(initial shift,N-aligned,T-score,Z-score)=( %d,   %d,  %.3f,   %.3f)%n",
+					name, n, shift, nAligned, tScore, zScore);
+		} else {
+			System.out.printf(Locale.US,
+					"%s  %d a.a. : Best(initial shift, N-aligned, N-non-self-aligned, Tm, Tmpr, Z1)=( %d,  %d,  %d,  %.2f,  %.4f,  %.2f)%n",
+					name, n, shift, nAligned, nAligned, tScore, tmScore, zScore);
+			writeFasta(new File(name + "-best.fasta"), name, sequence, shift);
+		}
+	}
+
+	/**
+	 * Writes an executable shell script that runs this class with {@code options} on the PDB file it's given, using
+	 * this JVM and classpath.
+	 */
+	public static File writeScript(File script, String... options) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		sb.append("#!/bin/sh\n");
+		sb.append("exec '").append(System.getProperty("java.home")).append("/bin/java' -cp '")
+				.append(System.getProperty("java.class.path")).append("' ").append(FakeSymD.class.getName());
+		for (String option : options) {
+			sb.append(" '").append(option).append("'");
+		}
+		sb.append(" \"$@\"\n");
+		FileWriter fw = new FileWriter(script);
+		fw.write(sb.toString());
+		fw.close();
+		if (!script.setExecutable(true)) throw new IOException("Could not make " + script + " executable");
+		return script;
+	}
+
+	private static double draw(String name, long seed, int salt) {
+		long h = seed * 0x9e3779b97f4a7c15L + name.hashCode() * 31L + salt;
+		h ^= h >>> 33;
+		h *= 0xff51afd7ed558ccdL;
+		h ^= h >>> 33;
+		h *= 0xc4ceb9fe1a85ec53L;
+		h ^= h >>> 33;
+		return (h >>> 11) * 0x1.0p-53;
+	}
+
+	/**
+	 * @return The one-letter codes of the residues with CA atoms, in order
+	 */
+	private static String readSequence(File pdbFile) throws IOException {
+		StringBuilder sb = new StringBuilder();
+		BufferedReader br = new BufferedReader(new FileReader(pdbFile));
+		try {
+			String line;
+			while ((line = br.readLine()) != null) {
+				if (line.startsWith("ENDMDL")) break;
+				if (!line.startsWith("ATOM") || line.length() < 20) continue;
+				if (!line.substring(12, 16).trim().equals("CA")) continue;
+				Character c = ONE_LETTER_CODES.get(line.substring(17, 20));
+				sb.append(c == null ? 'X' : c);
+			}
+		} finally {
+			br.close();
+		}
+		return sb.toString();
+	}
+
+	/**
+	 * Writes the sequence aligned against itself shifted by {@code shift}, in the format SymD uses.
+	 */
+	private static void writeFasta(File file, String name, String sequence, int shift) throws IOException {
+		int n = sequence.length();
+		String permuted = sequence.substring(shift % n) + sequence.substring(0, shift % n);
+		PrintWriter pw = new PrintWriter(new FileWriter(file));
+		pw.print(">" + name + "-original, is=" + shift + " (best)\n");
+		pw.print(sequence + "\n");
+		pw.print(">" + name + "-permuted  is=" + (-shift) + " (best)\n");
+		pw.print(permuted + "\n");
+		pw.close();
+	}
+
+}
@@ -0,0 +1,110 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.util.Random;
+
+import org.junit.Test;
+
+/**
+ * Tests {@link LatencyHistogram}.
+ * @author dmyerstu
+ */
+public class LatencyHistogramTest {
+
+	/**
+	 * Each value must fall between the highest values of the bucket before its own and of its own, and the bucket must
+	 * be no wider than 1/128 of the value.
+	 */
+	private static void checkBucket(long value) {
+		final int bucket = LatencyHistogram.bucketOf(value);
+		final long highest = LatencyHistogram.highestValueIn(bucket);
+		assertTrue(value + " is above its bucket", value <= highest);
+		if (bucket > 0) {
+			final long lowest = LatencyHistogram.highestValueIn(bucket - 1) + 1;
+			assertTrue(value + " is below its bucket", lowest <= value);
+			assertTrue(value + " is in a bucket that's too wide", highest - lowest <= Math.max(0, value / 128));
+		}
+	}
+
+	@Test
+	public void testBuckets() {
+		for (long value = 0; value < 1 << 16; value++) {
+			checkBucket(value);
+		}
+		for (int shift = 7; shift < 63; shift++) { // either side of each power of two
+			checkBucket((1L << shift) - 1);
+			checkBucket(1L << shift);
+			checkBucket((1L << shift) + 1);
+		}
+		Random random = new Random(0);
+		for (int i = 0; i < 100000; i++) {
+			checkBucket((random.nextLong() >>> 1) >>> random.nextInt(63));
+		}
+		checkBucket(Long.MAX_VALUE);
+		new LatencyHistogram().record(Long.MAX_VALUE); // the last bucket exists
+	}
+
+	@Test
+	public void testExactPercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		for (int value = 100; value >= 1; value--) {
+			histogram.record(value);
+		}
+		assertEquals(100, histogram.getCount());
+		assertEquals(50.5, histogram.getMean(), 0);
+		assertEquals(1, histogram.getValueAtPercentile(0));
+		assertEquals(50, histogram.getValueAtPercentile(50));
+		assertEquals(51, histogram.getValueAtPercentile(50.5));
+		assertEquals(99, histogram.getValueAtPercentile(99));
+		assertEquals(100, histogram.getValueAtPercentile(100));
+	}
+
+	@Test
+	public void testApproximatePercentiles() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		final long scale = 1000003; // like nanoseconds
+		for (int i = 1; i <= 1000; i++) {
+			histogram.record(i * scale);
+		}
+		for (int percentile = 1; percentile <= 100; percentile++) {
+			final long exact = percentile * 10 * scale;
+			final long value = histogram.getValueAtPercentile(percentile);
+			assertTrue(percentile + "th percentile " + value + " is below " + exact, value >= exact);
+			assertTrue(percentile + "th percentile " + value + " is too far above " + exact, value <= exact + exact / 128);
+		}
+		assertEquals(1000 * scale, histogram.getValueAtPercentile(100)); // capped at the maximum
+		assertEquals(1000 * scale, histogram.getMax());
+	}
+
+	@Test
+	public void testEmpty() {
+		LatencyHistogram histogram = new LatencyHistogram();
+		assertEquals(0, histogram.getValueAtPercentile(50));
+		assertTrue(Double.isNaN(histogram.getMean()));
+	}
+
+}
@@ -0,0 +1,132 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+
+import org.biojava.bio.structure.Structure;
+import org.biojava.bio.structure.io.PDBFileReader;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests the least-recently-used eviction of {@link PdbStagingCache}, and that it never evicts a pinned file.
+ * @author dmyerstu
+ */
+public class PdbStagingCacheTest {
+
+	private static String RESOURCE_PATH = "src/test/resources/";
+
+	private static final String[] SCOP_IDS = { "d1gmwa2", "d1q90a3", "d3cira3" };
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private File dir;
+
+	private Structure[] structures;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = File.createTempFile("pdb-staging", "");
+		dir.delete();
+		PDBFileReader reader = new PDBFileReader();
+		structures = new Structure[SCOP_IDS.length];
+		for (int i = 0; i < SCOP_IDS.length; i++) {
+			structures[i] = reader.getStructure(RESOURCE_PATH + "census2/benchmark/" + SCOP_IDS[i] + ".pdb");
+		}
+	}
+
+	@After
+	public void tearDown() {
+		delete(dir);
+	}
+
+	/**
+	 * With a cap of 1 byte, every file is over the cap, so only the pins keep them.
+	 */
+	@Test
+	public void testPinnedNotEvicted() throws IOException {
+		PdbStagingCache cache = new PdbStagingCache(dir, 1);
+		File a = cache.stage(SCOP_IDS[0], structures[0]);
+		File b = cache.stage(SCOP_IDS[1], structures[1]);
+		assertEquals("d1gmwa2.pdb", a.getName());
+		assertTrue(a.exists());
+		assertTrue(b.exists());
+		assertEquals(a.length() + b.length(), cache.getTotalBytes());
+
+		// a is least recently used, but it's still pinned, so b goes first
+		cache.release(b);
+		assertTrue(a.exists());
+		assertFalse(b.exists());
+		assertFalse(b.getParentFile().exists());
+		assertEquals(a.length(), cache.getTotalBytes());
+
+		// pinned twice, so it takes two releases
+		assertEquals(a, cache.stage(SCOP_IDS[0], structures[0]));
+		cache.release(a);
+		assertTrue(a.exists());
+		cache.release(a);
+		assertFalse(a.exists());
+		assertEquals(0, cache.getTotalBytes());
+	}
+
+	/**
+	 * The order of use survives a restart, through the modification times.
+	 */
+	@Test
+	public void testLeastRecentlyUsedEvicted() throws IOException {
+		PdbStagingCache cache = new PdbStagingCache(dir, Long.MAX_VALUE);
+		File[] files = new File[structures.length];
+		for (int i = 0; i < files.length; i++) {
+			files[i] = cache.stage(SCOP_IDS[i], structures[i]);
+			cache.release(files[i]);
+			files[i].setLastModified(1000000L * (i + 1)); // a, b, c
+		}
+
+		cache = new PdbStagingCache(dir, Long.MAX_VALUE);
+		assertEquals(files[0], cache.stage(SCOP_IDS[0], structures[0]));
+		cache.release(files[0]); // now b, c, a
+
+		final long maxBytes = files[0].length() + files[2].length();
+		cache = new PdbStagingCache(dir, maxBytes);
+		assertTrue(files[0].exists());
+		assertFalse(files[1].exists());
+		assertTrue(files[2].exists());
+		assertEquals(maxBytes, cache.getTotalBytes());
+	}
+
+}
@@ -0,0 +1,138 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+import org.biojava3.structure.align.symm.census2.Result;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Tests replaying a {@link SymDJournal}, including one cut off in the middle of a record.
+ * @author dmyerstu
+ */
+public class SymDJournalTest {
+
+	private File file;
+
+	@Before
+	public void setUp() throws IOException {
+		file = File.createTempFile("symd", ".journal");
+		file.delete();
+	}
+
+	@After
+	public void tearDown() {
+		file.delete();
+	}
+
+	private static Result result(String scopId) {
+		Result result = new Result();
+		result.setScopId(scopId);
+		return result;
+	}
+
+	private static Set<String> set(String... scopIds) {
+		Set<String> set = new HashSet<String>();
+		for (String scopId : scopIds) {
+			set.add(scopId);
+		}
+		return set;
+	}
+
+	/**
+	 * Writes two complete records, then {@code tail} as though the run had been killed while appending a third.
+	 * @return The length of the complete records
+	 */
+	private long writeWithTail(byte[] tail) throws IOException {
+		SymDJournal journal = new SymDJournal(file);
+		journal.append(result("d1a"));
+		journal.appendFailure("d2b");
+		journal.close();
+		final long validLength = file.length();
+		FileOutputStream out = new FileOutputStream(file, true);
+		try {
+			out.write(tail);
+		} finally {
+			out.close();
+		}
+		return validLength;
+	}
+
+	@Test
+	public void testReplay() throws IOException {
+		writeWithTail(new byte[0]);
+		SymDJournal journal = new SymDJournal(file);
+		journal.close();
+		assertEquals(1, journal.getReplayed().size());
+		assertEquals("d1a", journal.getReplayed().get(0).getScopId());
+		assertEquals(set("d2b"), journal.getFailed());
+	}
+
+	@Test
+	public void testTruncatedRecord() throws IOException {
+		// a failure record that claims 10 bytes but only has 3
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+		DataOutputStream tail = new DataOutputStream(bytes);
+		tail.writeByte(2);
+		tail.writeInt(10);
+		tail.writeBytes("d3c");
+		tail.close();
+		final long validLength = writeWithTail(bytes.toByteArray());
+
+		SymDJournal journal = new SymDJournal(file);
+		assertEquals(validLength, file.length());
+		assertEquals(1, journal.getReplayed().size());
+		assertEquals(set("d2b"), journal.getFailed());
+
+		// records appended after the truncation must still be readable
+		journal.appendFailure("d4d");
+		journal.close();
+		journal = new SymDJournal(file);
+		journal.close();
+		assertEquals(1, journal.getReplayed().size());
+		assertEquals(set("d2b", "d4d"), journal.getFailed());
+	}
+
+	@Test
+	public void testTruncatedLength() throws IOException {
+		// cut off partway through the length of a result record
+		final long validLength = writeWithTail(new byte[] { 1, 0, 0 });
+		SymDJournal journal = new SymDJournal(file);
+		journal.close();
+		assertEquals(validLength, file.length());
+		assertEquals(1, journal.getReplayed().size());
+		assertEquals(set("d2b"), journal.getFailed());
+	}
+
+}
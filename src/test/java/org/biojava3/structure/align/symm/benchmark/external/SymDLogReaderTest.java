@@ -0,0 +1,86 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import static org.junit.Assert.assertEquals;
+
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+
+import org.biojava3.structure.align.symm.census2.Result;
+import org.junit.Test;
+
+/**
+ * Tests {@link SymDLogReader} on small tarballs of logs. The tarballs hold a directory entry; a log longer than the
+ * tail that's kept; a log whose path needs a GNU long-name record; a 1.3hw3 log; and a log cut off before its result.
+ * No entry is a multiple of the block size, so each is padded.
+ * @author dmyerstu
+ */
+public class SymDLogReaderTest {
+
+	private static final String LOGS_PATH = "src/test/resources/census2/benchmark/symd-logs/";
+
+	/**
+	 * Sorted by the full path of the log, so the one with the long name comes first.
+	 */
+	private static final String[] EXPECTED = { "d1gmwa2", "d1q90a3", "d1t3xa_", "d3cira3" };
+
+	private static void check(SymDResults results) {
+		assertEquals(EXPECTED.length, results.size());
+		for (int i = 0; i < EXPECTED.length; i++) {
+			assertEquals(EXPECTED[i], results.getData().get(i).getScopId());
+		}
+		Result d1q90a3 = results.getData().get(1);
+		assertEquals(-3, (int) d1q90a3.getAlignment().getInitialShift());
+		assertEquals(0.6903f, d1q90a3.getAlignment().getTmpr(), 0);
+		assertEquals(18.998f, results.getData().get(2).getAlignment().getAlternateTm(), 0);
+	}
+
+	@Test
+	public void testTar() throws IOException {
+		check(new SymDLogReader(1).read(new File(LOGS_PATH + "symd-logs.tar")));
+	}
+
+	@Test
+	public void testTarGz() throws IOException {
+		check(new SymDLogReader(3).read(new File(LOGS_PATH + "symd-logs.tar.gz")));
+	}
+
+	/**
+	 * The last entry ends partway through its data.
+	 */
+	@Test(expected = EOFException.class)
+	public void testTruncated() throws IOException {
+		new SymDLogReader(2).read(new File(LOGS_PATH + "symd-logs-truncated.tar"));
+	}
+
+	/**
+	 * The same log was appended to the tarball twice.
+	 */
+	@Test(expected = IOException.class)
+	public void testDuplicate() throws IOException {
+		new SymDLogReader(2).read(new File(LOGS_PATH + "symd-logs-duplicate.tar"));
+	}
+
+}
@@ -0,0 +1,172 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import static org.junit.Assert.assertEquals;
+
+import java.util.Locale;
+import java.util.Random;
+
+import org.biojava3.structure.align.symm.census2.Alignment;
+import org.biojava3.structure.align.symm.census2.Result;
+import org.junit.Test;
+
+/**
+ * Tests {@link SymDOutputParser}, including that its float parsing agrees exactly with {@link Float#parseFloat(String)}.
+ * @author dmyerstu
+ */
+public class SymDOutputParserTest {
+
+	/**
+	 * From the documentation of {@link SymDResults}.
+	 */
+	private static final String LINE_13HW3 = "d1t3xa_  130 a.a. : Best(initial shift,N-aligned,T-score,Z-score)=( 106,   39,  18.998,   3.091)";
+
+	private static final String LINE_15B = "1WOP  364 a.a. : Best(initial shift, N-aligned, N-non-self-aligned, Tm, Tmpr, Z1)=( 109,  140,  140,  134.07,  0.3683,  10.66)";
+
+	/**
+	 * The result line SymD 1.5b prints, from the format string in the symd executable.
+	 */
+	private static String line15b(String scopId, int nResidues, int shift, int nAligned, int nNonSelf, float tm,
+			float tmpr, float z) {
+		return String.format(Locale.US, "%s %4d a.a. : Best(initial shift, N-aligned, N-non-self-aligned, Tm, Tmpr, Z1)=(%4d, %4d, %4d, %7.2f, %7.4f, %6.2f)",
+				scopId, nResidues, shift, nAligned, nNonSelf, tm, tmpr, z);
+	}
+
+	/**
+	 * Asserts that the floats are the same, bit for bit.
+	 */
+	private static void assertSame(String token, Float actual) {
+		assertEquals(token, Float.floatToIntBits(Float.parseFloat(token)), Float.floatToIntBits(actual));
+	}
+
+	/**
+	 * @return A number as SymD might print it, or in a form it wouldn't (which takes the slow path)
+	 */
+	private static String randomToken(Random random) {
+		switch (random.nextInt(6)) {
+		case 0:
+			return String.format(Locale.US, "%.2f", (random.nextDouble() - 0.5) * 2000);
+		case 1:
+			return String.format(Locale.US, "%.4f", random.nextDouble());
+		case 2:
+			return String.format(Locale.US, "%.3f", (random.nextDouble() - 0.5) * 200);
+		case 3: { // any digits, with the point anywhere, including more than a float can hold exactly
+			StringBuilder sb = new StringBuilder();
+			if (random.nextBoolean()) sb.append(random.nextBoolean() ? '-' : '+');
+			final int nDigits = 1 + random.nextInt(12);
+			final int point = random.nextInt(nDigits + 1);
+			for (int i = 0; i < nDigits; i++) {
+				if (i == point) sb.append('.');
+				sb.append((char) ('0' + random.nextInt(10)));
+			}
+			return sb.toString();
+		}
+		case 4:
+			return Float.toString(Float.intBitsToFloat(random.nextInt()) % 1e6f);
+		default:
+			return String.format(Locale.US, "%.3e", (random.nextDouble() - 0.5) * 1e5);
+		}
+	}
+
+	@Test
+	public void testFloatsMatchParseFloat() {
+		Random random = new Random(0);
+		for (int i = 0; i < 100000; i++) {
+			final String a = randomToken(random), b = randomToken(random);
+			Result result = SymDOutputParser.parse13hw3("d1abca_  100 a.a. : Best(initial shift,N-aligned,T-score,Z-score)=( 1, 2, "
+					+ a + ", " + b + ")");
+			assertSame(a, result.getAlignment().getAlternateTm());
+			assertSame(b, result.getAlignment().getzScore());
+		}
+	}
+
+	@Test
+	public void testEdgeCases() {
+		final String[] tokens = { "0", "-0.0", "0.0000", "16777215", "16777216", "16777217", "1677721.7", "0.1", "0.3",
+				"5.", ".5", "-.25", "+3.5", "0.0000000001", "12345.678901", "1e3", "NaN" };
+		for (String token : tokens) {
+			Result result = SymDOutputParser.parse13hw3("x 1 a.a. : Best(...)=( 1, 2, " + token + ", 0)");
+			assertSame(token, result.getAlignment().getAlternateTm());
+		}
+	}
+
+	@Test
+	public void test13hw3() {
+		Result result = SymDOutputParser.parse("Program symd version 1.3hw3\nNumber of residues read from the input file is 130.\n"
+				+ LINE_13HW3 + "\n");
+		assertEquals("d1t3xa_", result.getScopId());
+		Alignment alignment = result.getAlignment();
+		assertEquals(106, (int) alignment.getInitialShift());
+		assertEquals(39, (int) alignment.getAlignLength());
+		assertEquals(18.998f, alignment.getAlternateTm(), 0);
+		assertEquals(3.091f, alignment.getzScore(), 0);
+	}
+
+	@Test
+	public void test15b() {
+		Result result = SymDOutputParser.parse15b(LINE_15B);
+		assertEquals("1WOP", result.getScopId());
+		Alignment alignment = result.getAlignment();
+		assertEquals(109, (int) alignment.getInitialShift());
+		assertEquals(140, (int) alignment.getAlignLength());
+		assertEquals(140, (int) alignment.getnNonSelfAligned());
+		assertEquals(134.07f, alignment.getAlternateTm(), 0);
+		assertEquals(0.3683f, alignment.getTmpr(), 0);
+		assertEquals(10.66f, alignment.getzScore(), 0);
+	}
+
+	/**
+	 * Reproduces symd_expected_result.xml from the lines SymD 1.5b would have printed.
+	 */
+	@Test
+	public void test15bExpectedResults() {
+		final String[] scopIds = { "d1q90a3", "d1gmwa2", "d3cira3" };
+		final int[][] ints = { { -3, 40, 40 }, { 29, 45, 45 }, { -82, 23, 23 } };
+		final float[][] floats = { { 31.06f, 0.6903f, 17.57f }, { 38.22f, 0.5621f, 8.77f }, { 17.23f, 0.1795f, 2.8f } };
+		for (int i = 0; i < scopIds.length; i++) {
+			String line = line15b(scopIds[i], 100, ints[i][0], ints[i][1], ints[i][2], floats[i][0], floats[i][1],
+					floats[i][2]);
+			Result result = SymDOutputParser.parse(line);
+			assertEquals(scopIds[i], result.getScopId());
+			Alignment alignment = result.getAlignment();
+			assertEquals(ints[i][0], (int) alignment.getInitialShift());
+			assertEquals(ints[i][1], (int) alignment.getAlignLength());
+			assertEquals(ints[i][2], (int) alignment.getnNonSelfAligned());
+			assertEquals(floats[i][0], alignment.getAlternateTm(), 0);
+			assertEquals(floats[i][1], alignment.getTmpr(), 0);
+			assertEquals(floats[i][2], alignment.getzScore(), 0);
+		}
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testWrongVersion() {
+		SymDOutputParser.parse15b(LINE_13HW3);
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNoResult() {
+		SymDOutputParser.parse("Program symd version 1.5b\nNumber of residues read from the input file is 364.\n");
+	}
+
+}
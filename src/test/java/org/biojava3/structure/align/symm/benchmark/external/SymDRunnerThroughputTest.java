@@ -0,0 +1,226 @@
+/*
+ *                    BioJava development code
+ *
+ * This code may be freely distributed and modified under the
+ * terms of the GNU Lesser General Public Licence.  This should
+ * be distributed with the code.  If you do not have a copy,
+ * see:
+ *
+ *      http://www.gnu.org/copyleft/lesser.html
+ *
+ * Copyright for this code is held jointly by the individual
+ * authors.  These should be listed in @author doc comments.
+ *
+ * For more information on the BioJava project and its aims,
+ * or to join the biojava-l mailing list, visit the home page
+ * at:
+ *
+ *      http://www.biojava.org/
+ *
+ * Created on 2026-10-18
+ *
+ */
+package org.biojava3.structure.align.symm.benchmark.external;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.biojava.bio.structure.Structure;
+import org.biojava.bio.structure.align.util.AtomCache;
+import org.biojava.bio.structure.io.PDBFileReader;
+import org.biojava.bio.structure.scop.ScopDomain;
+import org.biojava3.structure.align.symm.benchmark.SampleBuilder;
+import org.biojava3.structure.align.symm.census2.Result;
+import org.junit.After;
+import org.junit.Assume;
+import org.junit.Before;
+import org.junit.Test;
+
+/**
+ * Drives {@link SymDRunner} end-to-end against {@link FakeSymD}, through real processes. A throughput test on a few
+ * dozen domains always runs, with no time limit; the full 1000-domain one only runs with {@code -Dsymd.e2e=true}, and
+ * its time limit in seconds is {@code symd.e2e.maxSeconds}.
+ * @author dmyerstu
+ */
+public class SymDRunnerThroughputTest {
+
+	/**
+	 * Supplies every domain with one of the test PDB files, so we don't need SCOP or the network.
+	 */
+	private static class FakeRunner extends SymDRunner {
+
+		private final Structure[] structures;
+
+		public FakeRunner(File symd, File outputFile, Structure[] structures) {
+			super(new AtomCache(), null, symd.getPath(), outputFile, true);
+			this.structures = structures;
+		}
+
+		@Override
+		protected Structure getStructure(String scopId) {
+			return structures[(scopId.hashCode() & 0x7fffffff) % structures.length];
+		}
+	}
+
+	private static final Logger logger = LogManager.getLogger(SymDRunnerThroughputTest.class.getName());
+
+	private static final String NAMES_FILE = "src/main/resources/domain_symm_benchmark_names.list";
+
+	private static final String[] PDB_FILES = { "1WOP.pdb", "d1gmwa2.pdb", "d1q90a3.pdb", "d3cira3.pdb", "d3ejba1.pdb" };
+
+	private static String RESOURCE_PATH = "src/test/resources/";
+
+	private static final long SEED = 1;
+
+	private static void delete(File file) {
+		File[] children = file.listFiles();
+		if (children != null) {
+			for (File child : children) {
+				delete(child);
+			}
+		}
+		file.delete();
+	}
+
+	private static List<ScopDomain> getDomains(int n) throws IOException {
+		List<String> names = SampleBuilder.getNames(new File(NAMES_FILE));
+		List<ScopDomain> domains = new ArrayList<ScopDomain>();
+		for (String name : names.subList(0, Math.min(n, names.size()))) {
+			ScopDomain domain = new ScopDomain();
+			domain.setScopId(name);
+			domains.add(domain);
+		}
+		return domains;
+	}
+
+	/**
+	 * @return The SCOP Ids of the domains that FakeSymD won't fail on, in order
+	 */
+	private static List<String> getExpected(List<ScopDomain> domains, double failureRate) {
+		List<String> expected = new ArrayList<String>();
+		for (ScopDomain domain : domains) {
+			if (!FakeSymD.fails(domain.getScopId(), SEED, failureRate)) expected.add(domain.getScopId());
+		}
+		return expected;
+	}
+
+	private static List<String> getScopIds(SymDResults results) {
+		List<String> scopIds = new ArrayList<String>();
+		for (Result result : results.getData()) {
+			scopIds.add(result.getScopId());
+		}
+		return scopIds;
+	}
+
+	private File dir;
+
+	private Structure[] structures;
+
+	@Before
+	public void setUp() throws IOException {
+		dir = File.createTempFile("symd-e2e", "");
+		dir.delete();
+		dir.mkdirs();
+		PDBFileReader reader = new PDBFileReader();
+		structures = new Structure[PDB_FILES.length];
+		for (int i = 0; i < PDB_FILES.length; i++) {
+			structures[i] = reader.getStructure(RESOURCE_PATH + "census2/benchmark/" + PDB_FILES[i]);
+		}
+	}
+
+	@After
+	public void tearDown() {
+		delete(dir);
+	}
+
+	@Test
+	public void testResume() throws IOException {
+		final double failureRate = 0.1;
+		File symd = FakeSymD.writeScript(new File(dir, "symd"), "--failure-rate", String.valueOf(failureRate), "--seed",
+				String.valueOf(SEED));
+		File output = new File(dir, "symd.xml");
+		List<ScopDomain> domains = getDomains(40);
+
+		FakeRunner first = new FakeRunner(symd, output, structures);
+		first.setnThreads(4);
+		first.setJournaled(true);
+		first.setRetryFailed(false);
+		SymDResults results = first.runOnDomains(domains.subList(0, 20));
+		assertEquals(getExpected(domains.subList(0, 20), failureRate), getScopIds(results));
+		assertTrue(new File(output.getPath() + ".timings.csv").exists());
+
+		FakeRunner second = new FakeRunner(symd, output, structures);
+		second.setnThreads(4);
+		second.setJournaled(true);
+		second.setRetryFailed(false);
+		results = second.runOnDomains(domains);
+		assertEquals(20, second.getnSkipped());
+		assertEquals(20, second.getnRemaining());
+		assertEquals(getExpected(domains, failureRate), getScopIds(results));
+		assertEquals(getScopIds(results), getScopIds(SymDResults.fromXML(output)));
+	}
+
+	@Test
+	public void testTimeout() throws IOException {
+		File symd = FakeSymD.writeScript(new File(dir, "symd"), "--hang-rate", "1");
+		FakeRunner runner = new FakeRunner(symd, new File(dir, "symd.xml"), structures);
+		runner.setnThreads(4);
+		runner.setTimeout(2000);
+		long start = System.currentTimeMillis();
+		SymDResults results = runner.runOnDomains(getDomains(4));
+		long wallTime = System.currentTimeMillis() - start;
+		assertEquals(0, results.size());
+		assertTrue("Took " + wallTime + "ms to kill 4 hung processes", wallTime < 15000);
+	}
+
+	/**
+	 * 1000 domains at 50ms each; only with {@code -Dsymd.e2e=true}.
+	 */
+	@Test
+	public void testFullThroughput() throws IOException {
+		Assume.assumeTrue(Boolean.getBoolean("symd.e2e"));
+		final long maxMillis = Long.getLong("symd.e2e.maxSeconds", 600) * 1000;
+		final long wallTime = runThroughput(Integer.MAX_VALUE, 50);
+		assertTrue("Took " + wallTime + "ms", wallTime < maxMillis);
+	}
+
+	@Test
+	public void testThroughput() throws IOException {
+		runThroughput(30, 0);
+	}
+
+	/**
+	 * Runs the first {@code nDomains} domains at {@code latency} ms each and checks the results and the metrics.
+	 * @return The wall time in milliseconds
+	 */
+	private long runThroughput(int nDomains, int latency) throws IOException {
+		final double failureRate = 0.02;
+		File symd = FakeSymD.writeScript(new File(dir, "symd"), "--latency", String.valueOf(latency),
+				"--failure-rate", String.valueOf(failureRate), "--seed", String.valueOf(SEED));
+		FakeRunner runner = new FakeRunner(symd, new File(dir, "symd.xml"), structures);
+		runner.setnThreads(Runtime.getRuntime().availableProcessors());
+		runner.setJournaled(true);
+		runner.setTimeout(60000);
+		List<ScopDomain> domains = getDomains(nDomains);
+		long start = System.currentTimeMillis();
+		SymDResults results = runner.runOnDomains(domains);
+		long wallTime = System.currentTimeMillis() - start;
+		logger.info(runner.getMetrics().getReport());
+		List<String> expected = getExpected(domains, failureRate);
+		assertEquals(expected, getScopIds(results));
+		SymDMetrics metrics = runner.getMetrics();
+		assertEquals(domains.size(), metrics.getHistogram(SymDMetrics.Stage.FETCH).getCount());
+		assertTrue(metrics.getHistogram(SymDMetrics.Stage.PROCESS).getCount() >= expected.size());
+		assertTrue(metrics.getDomainsPerMinute() > 0);
+		logger.info("Took " + wallTime + "ms for " + domains.size() + " domains");
+		return wallTime;
+	}
+
+}